@@ -0,0 +1,354 @@
+package domain;
+
+import java.util.Arrays;
+
+import utils.BadParameterException;
+import utils.NameArena;
+import utils.NullParameterException;
+
+/**
+ * A column-oriented store of Employees. Instead of keeping an Employee and a Timecard object per Employee, the store keeps each field in its own
+ * array, so a payroll scan over the whole store reads only primitive arrays. Names are kept as Latin-1 byte slices in a NameArena rather than as
+ * Strings. Employees are handed out as lightweight read-only views.<br>
+ * Rows are kept in the order the Employees were added and never move, so a view stays valid for the life of the store.<br>
+ * Usage example:
+ * 
+ * <pre>
+ * ColumnarEmployeeStore myStore = new ColumnarEmployeeStore(myDepartment);
+ * double totalPay = myStore.getTotalWeeklyPay();
+ * EmployeeView myView = myStore.getView(myStore.getRow(5000));
+ * </pre>
+ * 
+ * @author Christopher Hield
+ * @see domain.Department
+ * @see domain.EmployeeView
+ * @since Version 1.8
+ *
+ */
+public class ColumnarEmployeeStore {
+
+	/**
+	 * The number of rows currently in the store.
+	 * 
+	 * @see #size()
+	 */
+	private int size;
+
+	/**
+	 * The Employee ID of each row.
+	 */
+	private int[] employeeIds;
+
+	/**
+	 * The names of each row: the First name in slot 2 * row and the Last name in slot 2 * row + 1.
+	 */
+	private NameArena names;
+
+	/**
+	 * The Hourly Rate of each row.
+	 */
+	private double[] hourlyRates;
+
+	/**
+	 * The hours worked by each row, packed as returned by Timecard.getPackedHours().
+	 * 
+	 * @see #getHoursByDay(int, int)
+	 */
+	private int[] packedHours;
+
+	/**
+	 * The Weekly Hours of each row, the sum of its hours by day.
+	 */
+	private int[] weeklyHours;
+
+	/**
+	 * Whether each row holds a Sales Employee.
+	 */
+	private boolean[] salesEmployees;
+
+	/**
+	 * The Sales amount needed to earn by commission of each row. Only meaningful for Sales Employee rows.
+	 */
+	private double[] salesAmountsNeeded;
+
+	/**
+	 * The Weekly Sales Total of each row. Only meaningful for Sales Employee rows.
+	 */
+	private double[] weeklySalesTotals;
+
+	/**
+	 * Index of the rows by Employee ID. Slot {@code id - Employee.MIN_ID} holds the row of that Employee plus one, or zero if the Employee is not in
+	 * the store.
+	 * 
+	 * @see #getRow(int)
+	 */
+	private final int[] rowIndex = new int[Employee.MAX_ID - Employee.MIN_ID + 1];
+
+	/**
+	 * Constructor for an empty store, presized for the expected number of Employees.
+	 * 
+	 * @param expectedSize
+	 *            The number of Employees the store is expected to hold
+	 * @throws BadParameterException
+	 *             If the expected number of Employees is less than zero
+	 * @see #ColumnarEmployeeStore(Department)
+	 */
+	public ColumnarEmployeeStore(int expectedSize) throws BadParameterException {
+		if (expectedSize < 0) {
+			throw new BadParameterException("Invalid expected number of employees: " + expectedSize);
+		}
+		allocate(expectedSize);
+	}
+
+	/**
+	 * Constructor for a store holding all the Employees of the provided Department, in Employee ID order.
+	 * 
+	 * @param d
+	 *            The Department whose Employees will be stored
+	 * @see #ColumnarEmployeeStore(int)
+	 */
+	public ColumnarEmployeeStore(Department d) {
+		allocate(d.getNumInDepartment());
+		for (Employee e : d.getEmployeeList()) {
+			appendRow(e);
+		}
+	}
+
+	/**
+	 * Allocates every column with the provided capacity.
+	 * 
+	 * @param capacity
+	 *            The number of rows each column can hold
+	 */
+	private void allocate(int capacity) {
+		employeeIds = new int[capacity];
+		try {
+			names = new NameArena(Employee.MAX_NAME_LENGTH, 2 * capacity);
+		} catch (BadParameterException e) {
+			throw new IllegalStateException(e); // The arguments are always valid
+		}
+		hourlyRates = new double[capacity];
+		packedHours = new int[capacity];
+		weeklyHours = new int[capacity];
+		salesEmployees = new boolean[capacity];
+		salesAmountsNeeded = new double[capacity];
+		weeklySalesTotals = new double[capacity];
+	}
+
+	/**
+	 * Grows every column, doubling its capacity, so that at least one more row fits. The NameArena grows on its own.
+	 */
+	private void grow() {
+		int capacity = Math.max(2 * employeeIds.length, 16);
+		employeeIds = Arrays.copyOf(employeeIds, capacity);
+		hourlyRates = Arrays.copyOf(hourlyRates, capacity);
+		packedHours = Arrays.copyOf(packedHours, capacity);
+		weeklyHours = Arrays.copyOf(weeklyHours, capacity);
+		salesEmployees = Arrays.copyOf(salesEmployees, capacity);
+		salesAmountsNeeded = Arrays.copyOf(salesAmountsNeeded, capacity);
+		weeklySalesTotals = Arrays.copyOf(weeklySalesTotals, capacity);
+	}
+
+	/**
+	 * Adds the provided Employee to the store as a new row. Sales Employees keep their sales fields.
+	 * 
+	 * @param e
+	 *            The Employee to be added
+	 * @throws NullParameterException
+	 *             If the Employee is null
+	 * @throws BadParameterException
+	 *             If an Employee with the same ID is already in the store
+	 * @see #getRow(int)
+	 */
+	public void add(Employee e) throws NullParameterException, BadParameterException {
+		if (e == null) {
+			throw new NullParameterException("Null Employee sent to add!");
+		}
+		if (getRow(e.getEmployeeId()) >= 0) {
+			throw new BadParameterException("Employee ID already in store: " + e.getEmployeeId());
+		}
+		appendRow(e);
+	}
+
+	/**
+	 * Copies the fields of the provided Employee into a new row at the end of every column.
+	 * 
+	 * @param e
+	 *            The Employee to be copied, whose ID is not in the store yet
+	 */
+	private void appendRow(Employee e) {
+		if (size == employeeIds.length) {
+			grow();
+		}
+		int row = size++;
+		employeeIds[row] = e.getEmployeeId();
+		names.add(e.getFirstName());
+		names.add(e.getLastName());
+		hourlyRates[row] = e.getHourlyRate();
+		packedHours[row] = e.getTimecard().getPackedHours();
+		weeklyHours[row] = e.getTimecard().getWeeklyHours();
+		if (e instanceof SalesEmployee) {
+			salesEmployees[row] = true;
+			salesAmountsNeeded[row] = ((SalesEmployee) e).getSalesAmountNeeded();
+			weeklySalesTotals[row] = ((SalesEmployee) e).getWeeklySalesTotal();
+		}
+		rowIndex[e.getEmployeeId() - Employee.MIN_ID] = row + 1;
+	}
+
+	/**
+	 * Returns the number of Employees in the store.
+	 * 
+	 * @return Returns the number of Employees in the store
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the row of the Employee matching the provided Employee-Id.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee to be found
+	 * @return Returns the row of the Employee, or -1 if the Employee is not in the store
+	 * @see #getView(int)
+	 */
+	public int getRow(int id) {
+		if (id < Employee.MIN_ID || id > Employee.MAX_ID) {
+			return -1;
+		}
+		return rowIndex[id - Employee.MIN_ID] - 1;
+	}
+
+	/**
+	 * Returns a read-only view of the Employee in the provided row.
+	 * 
+	 * @param row
+	 *            The row of the Employee
+	 * @return Returns a read-only view of the Employee in the row
+	 * @throws BadParameterException
+	 *             If the row is less than zero, or more or equal than the number of Employees in the store
+	 * @see #getRow(int)
+	 */
+	public EmployeeView getView(int row) throws BadParameterException {
+		checkRow(row);
+		return new RowView(row);
+	}
+
+	/**
+	 * Returns the number of hours the Employee in the provided row worked on the provided day.
+	 * 
+	 * @param row
+	 *            The row of the Employee
+	 * @param day
+	 *            Day of the Week starting from 0
+	 * @return Returns the number of hours for the given row and day
+	 * @throws BadParameterException
+	 *             If the row is not in the store, or the day is less than zero, or more or equal than NUM_DAYS
+	 */
+	public int getHoursByDay(int row, int day) throws BadParameterException {
+		checkRow(row);
+		if (day < 0 || day >= Timecard.NUM_DAYS) {
+			throw new BadParameterException("Bad day value passed to getHoursByDay: " + day);
+		}
+		return Timecard.hoursOf(packedHours[row], day);
+	}
+
+	/**
+	 * Returns the sum of the Weekly Pay of every Employee in the store, each rounded to cents as Department.getTotalWeeklyPay() does. The sum is a
+	 * single scan over the primitive columns.
+	 * 
+	 * @return Returns the sum of the Weekly Pay of every Employee in the store
+	 * @see #getTotalWeeklyPayCents()
+	 */
+	public double getTotalWeeklyPay() {
+		return getTotalWeeklyPayCents() / 100.0;
+	}
+
+	/**
+	 * Returns the sum of the Weekly Pay in cents of every Employee in the store. The sum is a single scan over the primitive columns.
+	 * 
+	 * @return Returns the sum of the Weekly Pay in cents of every Employee in the store
+	 * @see domain.Employee#getWeeklyPayCents()
+	 */
+	public long getTotalWeeklyPayCents() {
+		long total = 0;
+		for (int row = 0; row < size; row++) {
+			total += Math.round(weeklyPay(row) * 100);
+		}
+		return total;
+	}
+
+	/**
+	 * Checks that the provided row is in the store.
+	 * 
+	 * @param row
+	 *            The row to be checked
+	 * @throws BadParameterException
+	 *             If the row is less than zero, or more or equal than the number of Employees in the store
+	 */
+	private void checkRow(int row) throws BadParameterException {
+		if (row < 0 || row >= size) {
+			throw new BadParameterException("Bad row value passed to ColumnarEmployeeStore: " + row);
+		}
+	}
+
+	/**
+	 * Returns the Weekly Pay of the Employee in the provided row, computed exactly as Employee.getWeeklyPay() and SalesEmployee.getWeeklyPay() do.
+	 * 
+	 * @param row
+	 *            The row of the Employee
+	 * @return Returns the Weekly Pay of the Employee in the row
+	 */
+	private double weeklyPay(int row) {
+		if (salesEmployees[row] && weeklySalesTotals[row] >= salesAmountsNeeded[row]) {
+			return weeklySalesTotals[row] * SalesEmployee.BONUS_MULTIPLIER;
+		}
+		return weeklyHours[row] * hourlyRates[row];
+	}
+
+	/**
+	 * A read-only view of one row of the store.
+	 */
+	private final class RowView implements EmployeeView {
+
+		/**
+		 * The row this view reads from.
+		 */
+		private final int row;
+
+		/**
+		 * Constructor for a view of the provided row.
+		 * 
+		 * @param rowIn
+		 *            The row this view reads from
+		 */
+		private RowView(int rowIn) {
+			row = rowIn;
+		}
+
+		@Override
+		public String getFirstName() {
+			return names.get(2 * row);
+		}
+
+		@Override
+		public String getLastName() {
+			return names.get(2 * row + 1);
+		}
+
+		@Override
+		public int getEmployeeId() {
+			return employeeIds[row];
+		}
+
+		@Override
+		public double getHourlyRate() {
+			return hourlyRates[row];
+		}
+
+		@Override
+		public double getWeeklyPay() {
+			return weeklyPay(row);
+		}
+	}
+}
@@ -0,0 +1,385 @@
+package domain;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+/**
+ * A thread-safe Department that can be read and updated from many threads at once.<br>
+ * Lookups by Employee ID read a shared atomic ID index and take no lock. The sorted employee list is split into NUM_STRIPES stripes, each covering
+ * a contiguous range of Employee IDs and guarded by its own lock, so writers working on different ID ranges do not wait for each other. The
+ * maximum number of Employees is enforced exactly under concurrent adds.<br>
+ * Usage example:
+ * 
+ * <pre>
+ * ConcurrentDepartment myDepartment = new ConcurrentDepartment("Intake", 5000);
+ * myDepartment.addEmployee(myEmployee); // From any thread
+ * </pre>
+ * 
+ * @author Christopher Hield
+ * @see domain.Department
+ * @see domain.Employee
+ * @since Version 1.8
+ *
+ */
+public class ConcurrentDepartment {
+
+	/**
+	 * The number of ID ranges the employee list is split into, each with its own lock ({@value})
+	 */
+	public static final int NUM_STRIPES = 16;
+
+	/**
+	 * The number of Employee IDs covered by each stripe.
+	 */
+	private static final int STRIPE_WIDTH = (Employee.MAX_ID - Employee.MIN_ID + NUM_STRIPES) / NUM_STRIPES;
+
+	/**
+	 * The name of the Department.
+	 * 
+	 * @see #getDepartmentName()
+	 */
+	private final String departmentName;
+
+	/**
+	 * The maximum number of Employees this Department will accept.
+	 * 
+	 * @see #getMaxEmployees()
+	 */
+	private final int maxEmployees;
+
+	/**
+	 * The number of Employees in the Department. It is only incremented while holding the lock of the stripe the Employee is added to, after the
+	 * Employee is known to be new, so it never goes over maxEmployees.
+	 * 
+	 * @see #getNumInDepartment()
+	 */
+	private final AtomicInteger numEmployees = new AtomicInteger();
+
+	/**
+	 * Index of the Department's Employees by Employee ID. The Employee with ID {@code id} is stored in slot {@code id - Employee.MIN_ID}; empty
+	 * slots are null. Written only while holding the lock of the Employee's stripe, read without locking.
+	 * 
+	 * @see #getEmployee(int)
+	 */
+	private final AtomicReferenceArray<Employee> employeeIndex = new AtomicReferenceArray<>(
+			Employee.MAX_ID - Employee.MIN_ID + 1);
+
+	/**
+	 * The stripes of the employee list, in Employee ID order.
+	 */
+	private final Stripe[] stripes = new Stripe[NUM_STRIPES];
+
+	/**
+	 * Constructor for the Department - needs a non-null and non-empty "String" name parameter. It accepts at most Department.MAX_EMP Employees.
+	 * 
+	 * @param dName
+	 *            The department's name
+	 * @throws NullParameterException
+	 *             If the name parameter is null
+	 * @throws BadParameterException
+	 *             If the name parameter is an empty String
+	 * @see #ConcurrentDepartment(String, int)
+	 */
+	public ConcurrentDepartment(String dName) throws NullParameterException, BadParameterException {
+		this(dName, Department.MAX_EMP);
+	}
+
+	/**
+	 * Constructor for the Department with its own maximum number of Employees.
+	 * 
+	 * @param dName
+	 *            The department's name
+	 * @param maxEmp
+	 *            The maximum number of Employees the Department will accept, or Department.UNLIMITED_EMP
+	 * @throws NullParameterException
+	 *             If the name parameter is null
+	 * @throws BadParameterException
+	 *             If the name parameter is an empty String, or the maximum number of Employees is less or equal to zero
+	 */
+	public ConcurrentDepartment(String dName, int maxEmp) throws NullParameterException, BadParameterException {
+		if (dName == null) {
+			throw new NullParameterException("Null value passed in for departmentName");
+		}
+		if (dName.isEmpty()) {
+			throw new BadParameterException("Invalid Department Name: " + dName);
+		}
+		if (maxEmp <= 0) {
+			throw new BadParameterException("Invalid max. number of employees: " + maxEmp);
+		}
+		departmentName = dName;
+		maxEmployees = maxEmp;
+		for (int i = 0; i < NUM_STRIPES; i++) {
+			stripes[i] = new Stripe();
+		}
+	}
+
+	/**
+	 * Returns the name of the Department.
+	 * 
+	 * @return Returns the name of the Department
+	 */
+	public String getDepartmentName() {
+		return departmentName;
+	}
+
+	/**
+	 * Returns the maximum number of Employees this Department will accept.
+	 * 
+	 * @return Returns the maximum number of Employees this Department will accept
+	 */
+	public int getMaxEmployees() {
+		return maxEmployees;
+	}
+
+	/**
+	 * Adds the provided Employee to the Department. A frozen Employee is shared as it is; any other is copied and the copy is frozen.
+	 * 
+	 * @param e
+	 *            The Employee to be added
+	 * @throws NullParameterException
+	 *             If the Employee is null
+	 * @throws BadParameterException
+	 *             If the Department has no room to add the Employee, or an Employee with the same ID is already in the Department
+	 * @see #addEmployee(SalesEmployee)
+	 * @see #removeEmployee(int)
+	 */
+	public void addEmployee(Employee e) throws NullParameterException, BadParameterException {
+		if (e == null) {
+			throw new NullParameterException("Null Employee sent to addEmployee!");
+		}
+		insertEmployee(e.isFrozen() && e.getClass() == Employee.class ? e : Department.frozen(new Employee(e)));
+	}
+
+	/**
+	 * Adds the provided Sales Employee to the Department. A frozen Sales Employee is shared as it is; any other is copied and the copy is frozen.
+	 * 
+	 * @param e
+	 *            The Sales Employee to be added
+	 * @throws NullParameterException
+	 *             If the Sales Employee is null
+	 * @throws BadParameterException
+	 *             If the Department has no room to add the Sales Employee, or an Employee with the same ID is already in the Department
+	 * @see #addEmployee(Employee)
+	 * @see #removeEmployee(int)
+	 */
+	public void addEmployee(SalesEmployee e) throws NullParameterException, BadParameterException {
+		if (e == null) {
+			throw new NullParameterException("Null Employee sent to addEmployee!");
+		}
+		insertEmployee(e.isFrozen() ? e : Department.frozen(new SalesEmployee(e)));
+	}
+
+	/**
+	 * Adds the provided Employee or Sales Employee to the Department without copying it. Ownership of the Employee passes to the Department, which
+	 * freezes it. The Employee is frozen before the Department checks it, so it stays frozen even if it is rejected.
+	 * 
+	 * @param e
+	 *            The Employee to be adopted
+	 * @throws NullParameterException
+	 *             If the Employee is null
+	 * @throws BadParameterException
+	 *             If the Department has no room to add the Employee, or an Employee with the same ID is already in the Department
+	 * @see domain.Department#adoptEmployee(Employee)
+	 */
+	public void adoptEmployee(Employee e) throws NullParameterException, BadParameterException {
+		if (e == null) {
+			throw new NullParameterException("Null Employee sent to adoptEmployee!");
+		}
+		e.freeze();
+		insertEmployee(e);
+	}
+
+	/**
+	 * Inserts the provided Employee into its stripe at its sorted position and into the ID index, under the stripe's write lock.
+	 * 
+	 * @param e
+	 *            The Employee to be inserted, already copied by the caller
+	 * @throws BadParameterException
+	 *             If the Department has no room to add the Employee, or an Employee with the same ID is already in the Department
+	 */
+	private void insertEmployee(Employee e) throws BadParameterException {
+		int slot = e.getEmployeeId() - Employee.MIN_ID;
+		Stripe stripe = stripes[slot / STRIPE_WIDTH];
+		stripe.lock.writeLock().lock();
+		try {
+			if (employeeIndex.get(slot) != null) {
+				throw new BadParameterException("Employee ID already in Department: " + e.getEmployeeId());
+			}
+			int n;
+			do {
+				n = numEmployees.get();
+				if (n >= getMaxEmployees()) {
+					throw new BadParameterException(
+							"This Department is already at the max. number of employees: " + getMaxEmployees());
+				}
+			} while (!numEmployees.compareAndSet(n, n + 1));
+			stripe.employees.insert(e);
+			employeeIndex.set(slot, e);
+		} finally {
+			stripe.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes the Employee matching the provided Employee-Id from the Department.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee to be removed
+	 * @return Returns the removed Employee or null if Employee not found
+	 * @see #addEmployee(Employee)
+	 * @see #addEmployee(SalesEmployee)
+	 */
+	public Employee removeEmployee(int id) {
+		if (id < Employee.MIN_ID || id > Employee.MAX_ID) {
+			return null;
+		}
+		int slot = id - Employee.MIN_ID;
+		Stripe stripe = stripes[slot / STRIPE_WIDTH];
+		stripe.lock.writeLock().lock();
+		try {
+			Employee emp = employeeIndex.get(slot);
+			if (emp == null) {
+				return null;
+			}
+			employeeIndex.set(slot, null);
+			stripe.employees.removeAt(stripe.employees.search(id));
+			numEmployees.decrementAndGet();
+			return emp;
+		} finally {
+			stripe.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns the Employee matching the provided Employee-Id, without locking. The returned Employee is frozen.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee to be returned
+	 * @return Returns the Employee with the provided ID or null if Employee not found
+	 * @see #isInDepartment(int)
+	 */
+	public Employee getEmployee(int id) {
+		if (id < Employee.MIN_ID || id > Employee.MAX_ID) {
+			return null;
+		}
+		return employeeIndex.get(id - Employee.MIN_ID);
+	}
+
+	/**
+	 * Checks, without locking, whether or not an Employee with the provided ID is currently in the Department.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee to be checked
+	 * @return Returns True if the Employee is in the Department, False if not
+	 * @see #getEmployee(int)
+	 */
+	public boolean isInDepartment(int id) {
+		return getEmployee(id) != null;
+	}
+
+	/**
+	 * Returns the number of Employees currently in the Department, without locking.
+	 * 
+	 * @return Returns the number of Employees currently in the Department
+	 */
+	public int getNumInDepartment() {
+		return numEmployees.get();
+	}
+
+	/**
+	 * Returns an immutable snapshot of the Department's employee list, sorted by Employee ID. The read locks of all the stripes are held together
+	 * only long enough to share their storage, so the snapshot is a consistent point-in-time view of the whole Department and writers are blocked
+	 * for O(NUM_STRIPES) whatever its size; the stripes are concatenated after the locks are released.
+	 * 
+	 * @return Returns an immutable snapshot of the Department's employee list
+	 * @see DepartmentSnapshot
+	 */
+	public DepartmentSnapshot snapshot() {
+		Employee[][] shared = new Employee[NUM_STRIPES][];
+		int[] sizes = new int[NUM_STRIPES];
+		int i = 0;
+		try {
+			for (; i < NUM_STRIPES; i++) {
+				stripes[i].lock.readLock().lock();
+			}
+			for (int s = 0; s < NUM_STRIPES; s++) {
+				shared[s] = stripes[s].employees.share();
+				sizes[s] = stripes[s].employees.size();
+			}
+		} finally {
+			while (--i >= 0) {
+				stripes[i].lock.readLock().unlock();
+			}
+		}
+
+		int total = 0;
+		for (int size : sizes) {
+			total += size;
+		}
+		Employee[] elements = new Employee[total];
+		int pos = 0;
+		for (int s = 0; s < NUM_STRIPES; s++) {
+			System.arraycopy(shared[s], 0, elements, pos, sizes[s]);
+			pos += sizes[s];
+		}
+		long payCents = 0;
+		for (Employee e : elements) {
+			payCents += e.getWeeklyPayCents();
+		}
+		return new DepartmentSnapshot(getDepartmentName(), elements, total, Department.DEFAULT_PARALLEL_THRESHOLD, payCents);
+	}
+
+	/**
+	 * Returns a report with all the information about the department, in the same format as Department.toString().
+	 * 
+	 * @return Returns a report with all the information about the department
+	 * @see #writeReport(Appendable)
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		try {
+			writeReport(sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); // A StringBuilder never throws IOException
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Writes a report with all the information about the department to the provided Appendable, in the same format as Department.writeReport().
+	 * The report is written from a snapshot, so it is a consistent view of the whole Department and writing it holds no lock.
+	 * 
+	 * @param out
+	 *            The Appendable the report is written to
+	 * @throws IOException
+	 *             If writing to the Appendable fails
+	 * @see #snapshot()
+	 */
+	public void writeReport(Appendable out) throws IOException {
+		snapshot().writeReport(out);
+	}
+
+	/**
+	 * One ID range of the employee list with its lock.
+	 */
+	private static final class Stripe {
+
+		/**
+		 * The lock guarding the Employees of this stripe.
+		 */
+		private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+		/**
+		 * The Employees of this stripe, sorted by Employee ID. Its storage is shared with snapshots while holding the read lock; the flag this sets
+		 * is only read under the write lock, which is acquired after every such read lock is released.
+		 */
+		private final SortedEmployees employees = new SortedEmployees(0);
+	}
+}
@@ -1,11 +1,23 @@
 
 package domain;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import utils.BadParameterException;
 import utils.NullParameterException;
+import utils.ReportBuffer;
 
 /**
  * The Department class represents a Department that could include Employees.<br>
@@ -13,6 +25,7 @@ import utils.NullParameterException;
  * 
  * <pre>
  * Department myDepartment = new DePartment("Advising");
+ * Department myDepartment = new Department("Payroll", Department.UNLIMITED_EMP, 5000);
  * </pre>
  * 
  * @author Christopher Hield
@@ -33,19 +46,119 @@ public class Department {
 	private String departmentName;
 
 	/**
-	 * The maximum number of Employees that will be accepted ({@value})
+	 * The maximum number of Employees that will be accepted by default ({@value})
 	 */
 	public static final int MAX_EMP = 20;
 
 	/**
-	 * The ArrayList employeeList represents the Department's employee list.
+	 * The maximum number of Employees for a Department with no limit of its own ({@value}). Such a Department is only bounded by the range of
+	 * Employee IDs.
+	 */
+	public static final int UNLIMITED_EMP = Integer.MAX_VALUE;
+
+	/**
+	 * The maximum number of Employees this Department will accept.
+	 * 
+	 * @see #getMaxEmployees()
+	 */
+	private final int maxEmployees;
+
+	/**
+	 * The employeeList represents the Department's employee list, sorted by Employee ID. Its storage is shared copy-on-write with the snapshots
+	 * taken from it.
 	 * 
 	 * @see #getEmployeeList()
+	 * @see #snapshot()
 	 * @see #addEmployee(Employee)
 	 * @see #addEmployee(SalesEmployee)
 	 * @see #removeEmployee(int)
 	 */
-	private final ArrayList<Employee> employeeList = new ArrayList<>(0);
+	private final SortedEmployees employeeList;
+
+	/**
+	 * Index of the Department's Employees by Employee ID, kept in step with the employee list. The Employee with ID {@code id} is stored in slot
+	 * {@code id - Employee.MIN_ID}; empty slots are null.
+	 * 
+	 * @see #getEmployee(int)
+	 * @see #isInDepartment(int)
+	 * @see #removeEmployee(int)
+	 */
+	private final Employee[] employeeIndex = new Employee[Employee.MAX_ID - Employee.MIN_ID + 1];
+
+	/**
+	 * The default number of Employees at or below which the payroll summary is computed sequentially ({@value})
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 2048;
+
+	/**
+	 * The number of Employees at or below which the payroll summary is computed sequentially. Larger Departments are split into fork/join tasks
+	 * of at most this many Employees.
+	 * 
+	 * @see #getParallelThreshold()
+	 * @see #setParallelThreshold(int)
+	 * @see #getPayrollSummary()
+	 */
+	private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+	/**
+	 * The journal every change to the Department is recorded in before it is applied, or null if the Department is not journaled.
+	 * 
+	 * @see DepartmentJournal
+	 */
+	private DepartmentJournal journal;
+
+	/**
+	 * The Organization the Department belongs to, or null. The Organization's index of Employee IDs is kept in step with the employee list.
+	 * 
+	 * @see #getOrganization()
+	 * @see Organization
+	 */
+	private Organization organization;
+
+	/**
+	 * The sum of the Weekly Pay in cents of the Employees, kept up to date as Employees are added and removed. The Employees are frozen, so their
+	 * pay can not change while they are counted.
+	 * 
+	 * @see #getTotalWeeklyPayCents()
+	 * @see #count(Employee, int)
+	 */
+	private long totalWeeklyPayCents;
+
+	/**
+	 * The sum of the Weekly Hours of the Employees, kept up to date as Employees are added and removed.
+	 * 
+	 * @see #getTotalWeeklyHours()
+	 */
+	private long totalWeeklyHours;
+
+	/**
+	 * The number of Sales Employees, kept up to date as Employees are added and removed.
+	 * 
+	 * @see #getNumSalesEmployees()
+	 */
+	private int numSalesEmployees;
+
+	/**
+	 * The number of Sales Employees earning by commission, kept up to date as Employees are added and removed.
+	 * 
+	 * @see #getNumCommissionQualified()
+	 */
+	private int numCommissionQualified;
+
+	/**
+	 * The secondary indexes by Hourly Rate and by name, kept up to date as Employees are added and removed, or null if the Department is not
+	 * indexed.
+	 * 
+	 * @see #setIndexed(boolean)
+	 */
+	private SecondaryIndexes indexes;
+
+	/**
+	 * The Employees ranked by Weekly Pay, kept up to date as Employees are added and removed.
+	 * 
+	 * @see #topByPay(int)
+	 */
+	private final PayRanking payRanking = new PayRanking();
 
 	/**
 	 * Constructor for the Department - needs a non-null and non-empty "String" name parameter.
@@ -59,7 +172,52 @@ public class Department {
 	 * @see #setDepartmentName(String)
 	 */
 	public Department(String dName) throws NullParameterException, BadParameterException {
+		this(dName, MAX_EMP);
+	}
+
+	/**
+	 * Constructor for the Department with its own maximum number of Employees.
+	 * 
+	 * @param dName
+	 *            The department's name
+	 * @param maxEmp
+	 *            The maximum number of Employees the Department will accept, or UNLIMITED_EMP
+	 * @throws NullParameterException
+	 *             If the name parameter is null
+	 * @throws BadParameterException
+	 *             If the name parameter is an empty String, or the maximum number of Employees is less or equal to zero
+	 * @see #Department(String, int, int)
+	 */
+	public Department(String dName, int maxEmp) throws NullParameterException, BadParameterException {
+		this(dName, maxEmp, 0);
+	}
+
+	/**
+	 * Constructor for the Department with its own maximum number of Employees, which presizes its storage for the expected number of Employees.
+	 * 
+	 * @param dName
+	 *            The department's name
+	 * @param maxEmp
+	 *            The maximum number of Employees the Department will accept, or UNLIMITED_EMP
+	 * @param expectedSize
+	 *            The number of Employees the Department is expected to hold, or zero if unknown
+	 * @throws NullParameterException
+	 *             If the name parameter is null
+	 * @throws BadParameterException
+	 *             If the name parameter is an empty String, the maximum number of Employees is less or equal to zero, or the expected number of
+	 *             Employees is less than zero
+	 * @see #Department(String, int)
+	 */
+	public Department(String dName, int maxEmp, int expectedSize) throws NullParameterException, BadParameterException {
 		setDepartmentName(dName);
+		if (maxEmp <= 0) {
+			throw new BadParameterException("Invalid max. number of employees: " + maxEmp);
+		}
+		if (expectedSize < 0) {
+			throw new BadParameterException("Invalid expected number of employees: " + expectedSize);
+		}
+		maxEmployees = maxEmp;
+		employeeList = new SortedEmployees(Math.min(expectedSize, maxEmp));
 	}
 
 	/**
@@ -95,63 +253,380 @@ public class Department {
 	}
 
 	/**
-	 * Returns the Department's list of Employees.
+	 * Returns the maximum number of Employees this Department will accept.
+	 * 
+	 * @return Returns the maximum number of Employees this Department will accept
+	 */
+	public int getMaxEmployees() {
+		return maxEmployees;
+	}
+
+	/**
+	 * Returns the number of Employees at or below which the payroll summary is computed sequentially.
+	 * 
+	 * @return Returns the sequential threshold of the payroll summary
+	 * @see #setParallelThreshold(int)
+	 */
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	/**
+	 * Sets the number of Employees at or below which the payroll summary is computed sequentially.
+	 * 
+	 * @param threshold
+	 *            The sequential threshold of the payroll summary
+	 * @throws BadParameterException
+	 *             If the threshold is less or equal to zero
+	 * @see #getPayrollSummary()
+	 */
+	public void setParallelThreshold(int threshold) throws BadParameterException {
+		if (threshold <= 0) {
+			throw new BadParameterException("Invalid parallel threshold: " + threshold);
+		}
+		parallelThreshold = threshold;
+	}
+
+	/**
+	 * Returns whether the Department keeps secondary indexes by Hourly Rate and by name.
+	 * 
+	 * @return Returns True if the Department is indexed, False if not
+	 * @see #setIndexed(boolean)
+	 */
+	public boolean isIndexed() {
+		return indexes != null;
+	}
+
+	/**
+	 * Turns the secondary indexes by Hourly Rate and by name on or off. Turning them on builds them from the current Employees; from then on
+	 * every add and remove updates them, and employeesByHourlyRate, employeesByLastName and employeesByFirstName answer by binary search instead
+	 * of a scan of every Employee. The results are the same either way.
+	 * 
+	 * @param indexed
+	 *            True to keep the indexes, False to drop them
+	 * @see #employeesByHourlyRate(double, double)
+	 * @see #employeesByLastName(String)
+	 * @see #employeesByFirstName(String)
+	 */
+	public void setIndexed(boolean indexed) {
+		if (indexed == isIndexed()) {
+			return;
+		}
+		indexes = indexed ? new SecondaryIndexes(getEmployeeList()) : null;
+	}
+
+	/**
+	 * Attaches the provided journal to the Department, or detaches the current one.
+	 * 
+	 * @param journalIn
+	 *            The journal changes are recorded in from now on, or null
+	 * @see DepartmentJournal#open(java.nio.file.Path, String, int)
+	 */
+	void setJournal(DepartmentJournal journalIn) {
+		journal = journalIn;
+	}
+
+	/**
+	 * Returns the Organization the Department belongs to.
+	 * 
+	 * @return Returns the Organization of the Department, null if the Department is not in an Organization
+	 * @see domain.Organization#addDepartment(Department)
+	 */
+	public Organization getOrganization() {
+		return organization;
+	}
+
+	/**
+	 * Attaches the Department to the provided Organization, or detaches it with null.
+	 * 
+	 * @param organizationIn
+	 *            The Organization the Department now belongs to, or null
+	 */
+	void setOrganization(Organization organizationIn) {
+		organization = organizationIn;
+	}
+
+	/**
+	 * Returns the Department's list of Employees, sorted by Employee ID.
 	 * 
 	 * @return Returns the Department's list of Employees
 	 */
-	private ArrayList<Employee> getEmployeeList() {
+	SortedEmployees getEmployeeList() {
 		return employeeList;
 	}
 
 	/**
-	 * Adds the provided Employee to the Department's employee list.
+	 * Adds the provided Employee to the Department's employee list. A frozen Employee is shared as it is; any other is copied and the copy is
+	 * frozen, so the Employees in the Department never change.
 	 * 
 	 * @param e
 	 *            The Employee to be added
 	 * @throws NullParameterException
 	 *             If the Employee is null
 	 * @throws BadParameterException
-	 *             If the Department has no room to add the Employee
+	 *             If the Department has no room to add the Employee, or an Employee with the same ID is already in the Department or its
+	 *             Organization
 	 * @see #addEmployee(SalesEmployee)
+	 * @see #adoptEmployee(Employee)
 	 * @see #removeEmployee(int)
 	 * @see #isInDepartment(int)
 	 */
 	public void addEmployee(Employee e) throws NullParameterException, BadParameterException {
-		if (e == null) {
-			throw new NullParameterException("Null Employee sent to addEmployee!");
+		checkAdd(e, "addEmployee");
+		if (e.isFrozen() && e.getClass() == Employee.class) {
+			insertEmployee(e);
+		} else {
+			insertEmployee(frozen(new Employee(e)));
 		}
-		if (getEmployeeList().size() >= MAX_EMP) {
-			throw new BadParameterException("This Department is already at the max. number of employees: " + MAX_EMP);
-		}
-		getEmployeeList().add(new Employee(e));
-		Collections.sort(getEmployeeList());
 	}
 
 	/**
-	 * Adds the provided Sales Employee to the Department's employee list.
+	 * Adds the provided Sales Employee to the Department's employee list. A frozen Sales Employee is shared as it is; any other is copied and the
+	 * copy is frozen.
 	 * 
 	 * @param e
 	 *            The Sales Employee to be added
 	 * @throws NullParameterException
 	 *             If the Sales Employee is null
 	 * @throws BadParameterException
-	 *             If the Department has no room to add the Sales Employee
+	 *             If the Department has no room to add the Sales Employee, or an Employee with the same ID is already in the Department or its
+	 *             Organization
 	 * @see #addEmployee(Employee)
 	 * @see #removeEmployee(int)
 	 * @see #isInDepartment(int)
 	 */
 	public void addEmployee(SalesEmployee e) throws NullParameterException, BadParameterException {
+		checkAdd(e, "addEmployee");
+		insertEmployee(e.isFrozen() ? e : frozen(new SalesEmployee(e))); // Insert a SalesEmployee copy unless it can be shared
+	}
+
+	/**
+	 * Adds the provided Employee or Sales Employee to the Department's employee list without copying it. Ownership of the Employee passes to the
+	 * Department: the Employee is frozen, so it can still be read by the caller but no longer changed. Meant for callers handing over an Employee
+	 * they have just created, such as bulk loaders.
+	 * 
+	 * @param e
+	 *            The Employee to be adopted
+	 * @throws NullParameterException
+	 *             If the Employee is null
+	 * @throws BadParameterException
+	 *             If the Department has no room to add the Employee, or an Employee with the same ID is already in the Department or its
+	 *             Organization
+	 * @see #addEmployee(Employee)
+	 * @see domain.Employee#freeze()
+	 */
+	public void adoptEmployee(Employee e) throws NullParameterException, BadParameterException {
+		checkAdd(e, "adoptEmployee");
+		e.freeze();
+		insertEmployee(e);
+	}
+
+	/**
+	 * Checks that the provided Employee can be added to the Department.
+	 * 
+	 * @param e
+	 *            The Employee to be added
+	 * @param method
+	 *            The name of the calling method, for the exception message
+	 * @throws NullParameterException
+	 *             If the Employee is null
+	 * @throws BadParameterException
+	 *             If the Department has no room to add the Employee, an Employee with the same ID is already in the Department or its
+	 *             Organization, or the Weekly Pay of the Employee would overflow the total weekly pay
+	 */
+	private void checkAdd(Employee e, String method) throws NullParameterException, BadParameterException {
 		if (e == null) {
-			throw new NullParameterException("Null Employee sent to addEmployee!");
+			throw new NullParameterException("Null Employee sent to " + method + "!");
+		}
+		if (getEmployeeList().size() >= getMaxEmployees()) {
+			throw new BadParameterException(
+					"This Department is already at the max. number of employees: " + getMaxEmployees());
+		}
+		if (isInDepartment(e.getEmployeeId())) {
+			throw new BadParameterException("Employee ID already in Department: " + e.getEmployeeId());
+		}
+		if (organization != null && organization.isInOrganization(e.getEmployeeId())) {
+			throw new BadParameterException("Employee ID already in Organization: " + e.getEmployeeId());
+		}
+		addPayCents(totalWeeklyPayCents, e);
+	}
+
+	/**
+	 * Adds the Weekly Pay of the provided Employee to the provided total weekly pay, both in cents, checking that the sum is exact.
+	 * 
+	 * @param totalCents
+	 *            The total weekly pay in cents
+	 * @param e
+	 *            The Employee whose Weekly Pay is added
+	 * @return Returns the new total weekly pay in cents
+	 * @throws BadParameterException
+	 *             If the Weekly Pay of the Employee is too large to be counted in cents, or the total would overflow
+	 */
+	private static long addPayCents(long totalCents, Employee e) throws BadParameterException {
+		if (!(e.getWeeklyPay() * 100 < 0x1p63)) {
+			throw new BadParameterException("Invalid weekly pay: " + e.getWeeklyPay());
+		}
+		try {
+			return Math.addExact(totalCents, e.getWeeklyPayCents());
+		} catch (ArithmeticException x) {
+			throw new BadParameterException("Total weekly pay would overflow with Employee ID: " + e.getEmployeeId());
+		}
+	}
+
+	/**
+	 * Freezes the provided Employee and returns it.
+	 * 
+	 * @param e
+	 *            The Employee to be frozen
+	 * @return Returns the frozen Employee
+	 */
+	static <T extends Employee> T frozen(T e) {
+		e.freeze();
+		return e;
+	}
+
+	/**
+	 * Adds all the provided Employees to the Department's employee list. Sales Employees are added as Sales Employees. Frozen Employees are
+	 * shared as they are and the others are copied and frozen, so bulk loaders can skip the copies by freezing what they hand over. Either every
+	 * Employee is added or, if any of them is invalid, none is.
+	 * 
+	 * @param employees
+	 *            The Employees to be added
+	 * @throws NullParameterException
+	 *             If the collection or any Employee in it is null
+	 * @throws BadParameterException
+	 *             If the Department has no room to add all the Employees, an Employee ID is repeated or already in the Department or its
+	 *             Organization, or the Weekly Pay of the Employees would overflow the total weekly pay
+	 * @see #addEmployee(Employee)
+	 * @see #addEmployee(SalesEmployee)
+	 */
+	public void addAll(Collection<? extends Employee> employees) throws NullParameterException, BadParameterException {
+		if (employees == null) {
+			throw new NullParameterException("Null collection sent to addAll!");
+		}
+		if (employees.size() > getMaxEmployees() - getEmployeeList().size()) {
+			throw new BadParameterException("This Department has no room for " + employees.size()
+					+ " more employees, max. number of employees: " + getMaxEmployees());
+		}
+
+		ArrayList<Employee> copies = new ArrayList<>(employees.size());
+		for (Employee e : employees) {
+			if (e == null) {
+				throw new NullParameterException("Null Employee sent to addAll!");
+			}
+			if (e.isFrozen()) {
+				copies.add(e);
+			} else {
+				copies.add(frozen(e instanceof SalesEmployee ? new SalesEmployee((SalesEmployee) e) : new Employee(e)));
+			}
+		}
+		Collections.sort(copies);
+		long payCents = totalWeeklyPayCents;
+		for (int i = 0; i < copies.size(); i++) {
+			int id = copies.get(i).getEmployeeId();
+			if (isInDepartment(id) || (i > 0 && copies.get(i - 1).getEmployeeId() == id)) {
+				throw new BadParameterException("Employee ID already in Department: " + id);
+			}
+			if (organization != null && organization.isInOrganization(id)) {
+				throw new BadParameterException("Employee ID already in Organization: " + id);
+			}
+			payCents = addPayCents(payCents, copies.get(i));
+		}
+
+		mergeEmployees(copies);
+	}
+
+	/**
+	 * Merges the provided sorted Employees into the sorted employee list in a single backwards pass, and records them in the ID index. The caller
+	 * must already have checked that none of the IDs is in the Department.
+	 * 
+	 * @param sorted
+	 *            The Employees to be merged, already copied and sorted by the caller
+	 * @see #addAll(Collection)
+	 */
+	private void mergeEmployees(ArrayList<Employee> sorted) {
+		if (journal != null) {
+			journal.logBatch(sorted);
+		}
+		getEmployeeList().merge(sorted);
+		for (Employee e : sorted) {
+			employeeIndex[e.getEmployeeId() - Employee.MIN_ID] = e;
+			count(e, 1);
+		}
+		if (indexes != null) {
+			indexes.addAll(sorted);
+		}
+		for (Employee e : sorted) {
+			payRanking.add(e);
+		}
+		if (organization != null) {
+			for (Employee e : sorted) {
+				organization.register(e.getEmployeeId(), this);
+			}
 		}
-		if (getEmployeeList().size() >= MAX_EMP) {
-			throw new BadParameterException("This Department is already at the max. number of employees: " + MAX_EMP);
+		if (journal != null) {
+			journal.changeApplied();
 		}
+	}
+
+	/**
+	 * Inserts the provided Employee into the employee list at its sorted position, found by binary search over the Employee IDs, and records it
+	 * in the ID index. The caller must already have checked that the ID is not in the Department.
+	 * 
+	 * @param e
+	 *            The Employee to be inserted, already copied by the caller
+	 * @see #addEmployee(Employee)
+	 * @see #addEmployee(SalesEmployee)
+	 */
+	private void insertEmployee(Employee e) {
+		if (journal != null) {
+			journal.logAdd(e);
+		}
+		getEmployeeList().insert(e);
+		employeeIndex[e.getEmployeeId() - Employee.MIN_ID] = e;
+		count(e, 1);
+		if (indexes != null) {
+			indexes.add(e);
+		}
+		payRanking.add(e);
+		if (organization != null) {
+			organization.register(e.getEmployeeId(), this);
+		}
+		if (journal != null) {
+			journal.changeApplied();
+		}
+	}
 
-		SalesEmployee ee = new SalesEmployee(e); // Create a SalesEmployee copy
-		getEmployeeList().add(ee);
-		Collections.sort(getEmployeeList());
+	/**
+	 * Adds the provided Employee to the running totals, or takes it out of them.
+	 * 
+	 * @param e
+	 *            The frozen Employee added or removed
+	 * @param sign
+	 *            1 if the Employee is added, -1 if it is removed
+	 */
+	private void count(Employee e, int sign) {
+		totalWeeklyPayCents += sign * e.getWeeklyPayCents();
+		totalWeeklyHours += sign * e.getWeeklyHours();
+		if (e instanceof SalesEmployee) {
+			numSalesEmployees += sign;
+			if (((SalesEmployee) e).isCommissionQualified()) {
+				numCommissionQualified += sign;
+			}
+		}
+	}
 
+	/**
+	 * Adds or replaces the provided Employee while a journal is replayed. The maximum number of Employees is not enforced, because replaying
+	 * records already contained in the snapshot can go over it before the Department reaches its final state.
+	 * 
+	 * @param e
+	 *            The frozen Employee read from the journal
+	 * @see DepartmentJournal
+	 */
+	void replayAdd(Employee e) {
+		removeEmployee(e.getEmployeeId());
+		insertEmployee(e);
 	}
 
 	/**
@@ -165,14 +640,43 @@ public class Department {
 	 * @see #isInDepartment(int)
 	 */
 	public Employee removeEmployee(int id) {
-		for (Employee e : getEmployeeList()) {
-			if (e.getEmployeeId() == id) {
-				Employee emp = e;
-				getEmployeeList().remove(e);
-				return emp;
-			}
+		Employee emp = getEmployee(id);
+		if (emp == null) {
+			return null;
+		}
+		if (journal != null) {
+			journal.logRemove(id);
+		}
+		employeeIndex[id - Employee.MIN_ID] = null;
+		getEmployeeList().removeAt(getEmployeeList().search(id)); // The list is kept sorted by ID
+		count(emp, -1);
+		if (indexes != null) {
+			indexes.remove(emp);
 		}
-		return null;
+		payRanking.remove(emp);
+		if (organization != null) {
+			organization.unregister(id);
+		}
+		if (journal != null) {
+			journal.changeApplied();
+		}
+		return emp;
+	}
+
+	/**
+	 * Returns the Employee matching the provided Employee-Id. The returned Employee is frozen; change a copy of it and add the copy back instead.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee to be returned
+	 * @return Returns the Employee with the provided ID or null if Employee not found
+	 * @see #isInDepartment(int)
+	 * @see #removeEmployee(int)
+	 */
+	public Employee getEmployee(int id) {
+		if (id < Employee.MIN_ID || id > Employee.MAX_ID) {
+			return null;
+		}
+		return employeeIndex[id - Employee.MIN_ID];
 	}
 
 	/**
@@ -184,14 +688,212 @@ public class Department {
 	 * @see #addEmployee(Employee)
 	 * @see #addEmployee(SalesEmployee)
 	 * @see #removeEmployee(int)
+	 * @see #getEmployee(int)
 	 */
 	public boolean isInDepartment(int id) {
-		for (Employee e : getEmployeeList()) {
-			if (e.getEmployeeId() == id) {
-				return true;
-			}
+		return getEmployee(id) != null;
+	}
+
+	/**
+	 * Returns the Employee with the lowest ID greater or equal to the provided ID, found by binary search.
+	 * 
+	 * @param id
+	 *            The Employee ID
+	 * @return Returns the Employee with the lowest ID of at least id, null if there is none
+	 * @see #floorEmployee(int)
+	 */
+	public Employee ceilingEmployee(int id) {
+		int pos = getEmployeeList().ceilingIndex(id);
+		return pos < getEmployeeList().size() ? getEmployeeList().get(pos) : null;
+	}
+
+	/**
+	 * Returns the Employee with the highest ID less or equal to the provided ID, found by binary search.
+	 * 
+	 * @param id
+	 *            The Employee ID
+	 * @return Returns the Employee with the highest ID of at most id, null if there is none
+	 * @see #ceilingEmployee(int)
+	 */
+	public Employee floorEmployee(int id) {
+		int pos = getEmployeeList().higherIndex(id) - 1;
+		return pos >= 0 ? getEmployeeList().get(pos) : null;
+	}
+
+	/**
+	 * Returns the Employees with IDs from the provided lowest ID to the provided highest ID, both included. The range is found by two binary
+	 * searches and copied, so the cost is O(log N + range) and the list is not affected by later changes to the Department.
+	 * 
+	 * @param lo
+	 *            The lowest Employee ID of the range
+	 * @param hi
+	 *            The highest Employee ID of the range
+	 * @return Returns a new list of the Employees in the range, sorted by Employee ID, empty if lo is more than hi
+	 * @see domain.DepartmentSnapshot#employeesInIdRange(int, int)
+	 */
+	public List<Employee> employeesInIdRange(int lo, int hi) {
+		int from = getEmployeeList().ceilingIndex(lo);
+		return new ArrayList<>(getEmployeeList().subList(from, Math.max(from, getEmployeeList().higherIndex(hi))));
+	}
+
+	/**
+	 * Returns the Employees with IDs less than the provided ID. The range is found by binary search and copied, so the cost is O(log N + range)
+	 * and the list is not affected by later changes to the Department. For a view that copies nothing, use snapshot().headList(int).
+	 * 
+	 * @param toId
+	 *            The Employee ID the list stops before
+	 * @return Returns a new list of the Employees with IDs less than toId, sorted by Employee ID
+	 * @see domain.DepartmentSnapshot#headList(int)
+	 * @see #tailList(int)
+	 */
+	public List<Employee> headList(int toId) {
+		return new ArrayList<>(getEmployeeList().subList(0, getEmployeeList().ceilingIndex(toId)));
+	}
+
+	/**
+	 * Returns the Employees with IDs greater or equal to the provided ID. The range is found by binary search and copied, so the cost is
+	 * O(log N + range) and the list is not affected by later changes to the Department. For a view that copies nothing, use
+	 * snapshot().tailList(int).
+	 * 
+	 * @param fromId
+	 *            The Employee ID the list starts at
+	 * @return Returns a new list of the Employees with IDs of at least fromId, sorted by Employee ID
+	 * @see domain.DepartmentSnapshot#tailList(int)
+	 * @see #headList(int)
+	 */
+	public List<Employee> tailList(int fromId) {
+		return new ArrayList<>(getEmployeeList().subList(getEmployeeList().ceilingIndex(fromId), getEmployeeList().size()));
+	}
+
+	/**
+	 * Returns a page of at most the provided number of Employees with IDs greater than the provided ID. The next page starts after the ID of the
+	 * last Employee of this one; the first page starts after any ID below Employee.MIN_ID. The page is found by binary search and copied, so
+	 * paging through the Department costs O(log N + page) per page, and Employees added or removed between pages are seen or skipped according
+	 * to their IDs.
+	 * 
+	 * @param afterId
+	 *            The Employee ID the page starts after
+	 * @param limit
+	 *            The maximum number of Employees in the page
+	 * @return Returns a new list of the Employees in the page, sorted by Employee ID, empty after the last page
+	 * @throws BadParameterException
+	 *             If the maximum number of Employees is less than one
+	 * @see domain.DepartmentSnapshot#page(int, int)
+	 */
+	public List<Employee> page(int afterId, int limit) throws BadParameterException {
+		if (limit < 1) {
+			throw new BadParameterException("Invalid page size: " + limit);
+		}
+		int from = getEmployeeList().higherIndex(afterId);
+		return new ArrayList<>(getEmployeeList().subList(from, from + Math.min(getEmployeeList().size() - from, limit)));
+	}
+
+	/**
+	 * Returns the Employees with an Hourly Rate from the provided lowest rate to the provided highest rate, both included. The cost is
+	 * O(log N + results) if the Department is indexed, and one scan of every Employee and a sort of the matches if not.
+	 * 
+	 * @param lo
+	 *            The lowest Hourly Rate of the range
+	 * @param hi
+	 *            The highest Hourly Rate of the range
+	 * @return Returns a new list of the Employees in the range, sorted by Hourly Rate then Employee ID, empty if lo is more than hi
+	 * @throws BadParameterException
+	 *             If either rate is not a number
+	 * @see #setIndexed(boolean)
+	 */
+	public List<Employee> employeesByHourlyRate(double lo, double hi) throws BadParameterException {
+		if (Double.isNaN(lo) || Double.isNaN(hi)) {
+			throw new BadParameterException("Bad Hourly Rate range passed to employeesByHourlyRate: " + lo + " to " + hi);
 		}
-		return false;
+		return indexes != null ? indexes.byHourlyRate(lo, hi) : SecondaryIndexes.scanHourlyRate(getEmployeeList(), lo, hi);
+	}
+
+	/**
+	 * Returns the Employees with a Last Name starting with the provided prefix, case sensitive. The cost is O(log N + results) if the Department
+	 * is indexed, and one scan of every Employee and a sort of the matches if not.
+	 * 
+	 * @param prefix
+	 *            The prefix of the Last Name
+	 * @return Returns a new list of the Employees found, sorted by Last Name then Employee ID
+	 * @throws NullParameterException
+	 *             If the prefix is null
+	 * @see #setIndexed(boolean)
+	 */
+	public List<Employee> employeesByLastName(String prefix) throws NullParameterException {
+		if (prefix == null) {
+			throw new NullParameterException("Null prefix sent to employeesByLastName!");
+		}
+		return indexes != null ? indexes.byLastName(prefix) : SecondaryIndexes.scanName(getEmployeeList(), prefix, true);
+	}
+
+	/**
+	 * Returns the Employees with a First Name starting with the provided prefix, case sensitive. The cost is O(log N + results) if the Department
+	 * is indexed, and one scan of every Employee and a sort of the matches if not.
+	 * 
+	 * @param prefix
+	 *            The prefix of the First Name
+	 * @return Returns a new list of the Employees found, sorted by First Name then Employee ID
+	 * @throws NullParameterException
+	 *             If the prefix is null
+	 * @see #setIndexed(boolean)
+	 */
+	public List<Employee> employeesByFirstName(String prefix) throws NullParameterException {
+		if (prefix == null) {
+			throw new NullParameterException("Null prefix sent to employeesByFirstName!");
+		}
+		return indexes != null ? indexes.byFirstName(prefix) : SecondaryIndexes.scanName(getEmployeeList(), prefix, false);
+	}
+
+	/**
+	 * Returns the highest paid Employees of the Department, from a ranking by Weekly Pay kept up to date as Employees are added and removed, so
+	 * the cost is O(log N + n) and nothing is sorted. Employees with the same Weekly Pay, in cents, are ranked by Employee ID.
+	 * 
+	 * @param n
+	 *            The number of Employees wanted
+	 * @return Returns a new list of the n highest paid Employees, highest first, or all of them if the Department has fewer
+	 * @throws BadParameterException
+	 *             If the number of Employees is less than zero
+	 * @see #rankOf(int)
+	 */
+	public List<Employee> topByPay(int n) throws BadParameterException {
+		if (n < 0) {
+			throw new BadParameterException("Invalid number of Employees passed to topByPay: " + n);
+		}
+		return payRanking.top(n);
+	}
+
+	/**
+	 * Returns the rank by Weekly Pay of the Employee with the provided ID: 1 for the highest paid Employee of the Department, up to the number of
+	 * Employees for the lowest paid. Employees with the same Weekly Pay, in cents, are ranked by Employee ID. The cost is O(log N).
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee
+	 * @return Returns the rank of the Employee, -1 if the Employee is not in the Department
+	 * @see #topByPay(int)
+	 */
+	public int rankOf(int id) {
+		Employee e = getEmployee(id);
+		return e == null ? -1 : payRanking.countBefore(e.getWeeklyPayCents(), id) + 1;
+	}
+
+	/**
+	 * Returns the percentile rank by Weekly Pay of the Employee with the provided ID: the percentage of the Department's Employees paid less,
+	 * counting those paid the same, the Employee included, as half. The cost is O(log N).
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee
+	 * @return Returns the percentile rank of the Employee, between 0 and 100, or -1 if the Employee is not in the Department
+	 * @see #rankOf(int)
+	 */
+	public double percentileOf(int id) {
+		Employee e = getEmployee(id);
+		if (e == null) {
+			return -1;
+		}
+		int paidMore = payRanking.countBefore(e.getWeeklyPayCents(), Integer.MIN_VALUE);
+		int paidLess = payRanking.size() - payRanking.countBefore(e.getWeeklyPayCents(), Integer.MAX_VALUE);
+		int paidSame = payRanking.size() - paidMore - paidLess;
+		return 100.0 * (paidLess + paidSame / 2.0) / payRanking.size();
 	}
 
 	/**
@@ -204,24 +906,224 @@ public class Department {
 		return getEmployeeList().size();
 	}
 
+	/**
+	 * Returns an immutable snapshot of the Department's employee list, sorted by Employee ID. The snapshot shares the Department's storage, so
+	 * taking it is O(1) whatever the size of the Department; the next change to the Department copies its storage first and leaves the snapshot
+	 * as it was.<br>
+	 * The snapshot must be taken by the thread changing the Department, but can then be handed to and read by any number of threads while the
+	 * Department keeps changing. The Employees in it are frozen, so the snapshot is immutable all the way down.
+	 * 
+	 * @return Returns an immutable snapshot of the Department's employee list
+	 * @see DepartmentSnapshot
+	 */
+	public DepartmentSnapshot snapshot() {
+		return new DepartmentSnapshot(getDepartmentName(), getEmployeeList().share(), getEmployeeList().size(),
+				getParallelThreshold(), getTotalWeeklyPayCents());
+	}
+
+	/**
+	 * Returns the sum of the Weekly Pay of every Employee in the Department, each rounded to cents. The sum is kept up to date as Employees are
+	 * added and removed, so reading it is O(1).
+	 * 
+	 * @return Returns the sum of the Weekly Pay of every Employee in the Department
+	 * @see #getTotalWeeklyPayCents()
+	 * @see #getPayrollSummary()
+	 */
+	public double getTotalWeeklyPay() {
+		return totalWeeklyPayCents / 100.0;
+	}
+
+	/**
+	 * Returns the sum of the Weekly Pay in cents of every Employee in the Department. The sum is kept in whole cents, so it stays exact however
+	 * many Employees are added and removed. Reading it is O(1).
+	 * 
+	 * @return Returns the sum of the Weekly Pay in cents of every Employee in the Department
+	 * @see domain.Employee#getWeeklyPayCents()
+	 */
+	public long getTotalWeeklyPayCents() {
+		return totalWeeklyPayCents;
+	}
+
+	/**
+	 * Returns the sum of the Weekly Hours of every Employee in the Department. Reading it is O(1).
+	 * 
+	 * @return Returns the sum of the Weekly Hours of every Employee in the Department
+	 */
+	public long getTotalWeeklyHours() {
+		return totalWeeklyHours;
+	}
+
+	/**
+	 * Returns the number of Sales Employees in the Department. Reading it is O(1).
+	 * 
+	 * @return Returns the number of Sales Employees in the Department
+	 * @see #getNumInDepartment()
+	 */
+	public int getNumSalesEmployees() {
+		return numSalesEmployees;
+	}
+
+	/**
+	 * Returns the number of Sales Employees in the Department who meet their Sales Amount Needed and earn by commission. Reading it is O(1).
+	 * 
+	 * @return Returns the number of Sales Employees earning by commission
+	 * @see domain.SalesEmployee#isCommissionQualified()
+	 */
+	public int getNumCommissionQualified() {
+		return numCommissionQualified;
+	}
+
+	/**
+	 * Returns the payroll summary of the Department: count, total, minimum, maximum and mean Weekly Pay, and total Weekly Hours, for regular
+	 * Employees and Sales Employees. Departments larger than the parallel threshold are summarized with a fork/join reduction.
+	 * 
+	 * @return Returns the payroll summary of the Department
+	 * @see #setParallelThreshold(int)
+	 */
+	public PayrollSummary getPayrollSummary() {
+		PayrollTask task = new PayrollTask(getEmployeeList(), 0, getEmployeeList().size(), getParallelThreshold());
+		if (getEmployeeList().size() <= getParallelThreshold()) {
+			return task.compute();
+		}
+		return ForkJoinPool.commonPool().invoke(task);
+	}
+
 	/**
 	 * Returns a report with all the information about the department. It includes Department's name, and Employee's information.
 	 * 
 	 * @return Returns a report with all the information about the department. It includes Department's name, and Employee's information
+	 * @see #writeReport(Appendable)
 	 */
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		sb.append(String.format("Department: %s\n", getDepartmentName()));
-		for (int i = 0; i < ("Department: " + getDepartmentName()).length(); i++) {
-			sb.append("-");
+		try {
+			writeReport(sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); // A StringBuilder never throws IOException
 		}
-		sb.append("\nEmployees:\n");
-		for (Employee e : getEmployeeList()) {
-			sb.append(e + "\n");
+		return sb.toString();
+	}
+
+	/**
+	 * Writes a report with all the information about the department to the provided Appendable, line by line, without building the report or any
+	 * Employee's report in memory first. The report is the same as the one returned by toString().
+	 * 
+	 * @param out
+	 *            The Appendable the report is written to
+	 * @throws IOException
+	 *             If writing to the Appendable fails
+	 * @see #writeReport(Writer)
+	 */
+	public void writeReport(Appendable out) throws IOException {
+		writeReport(out, getDepartmentName(), getEmployeeList());
+	}
+
+	/**
+	 * Writes the report of a Department with the provided name and Employees to the provided Appendable. Shared by Department and the classes
+	 * reporting in the same format.
+	 * 
+	 * @param out
+	 *            The Appendable the report is written to
+	 * @param dName
+	 *            The name of the Department
+	 * @param employees
+	 *            The Employees of the Department, in report order
+	 * @throws IOException
+	 *             If writing to the Appendable fails
+	 * @see DepartmentSnapshot#writeReport(Appendable)
+	 */
+	static void writeReport(Appendable out, String dName, List<Employee> employees) throws IOException {
+		ReportBuffer buf = ReportBuffer.acquire(out);
+		try {
+			buf.append("Department: ").append(dName).append('\n');
+			buf.repeat('-', "Department: ".length() + dName.length());
+			buf.append("\nEmployees:\n");
+			for (Employee e : employees) {
+				e.writeReport(buf);
+				buf.append('\n');
+			}
+			buf.flush();
+		} finally {
+			buf.release();
 		}
+	}
 
-		return sb.toString();
+	/**
+	 * Writes a report with all the information about the department to the provided Writer, and flushes it. The report is the same as the one
+	 * returned by toString().
+	 * 
+	 * @param out
+	 *            The Writer the report is written to
+	 * @throws IOException
+	 *             If writing to the Writer fails
+	 * @see #writeReport(Appendable)
+	 */
+	public void writeReport(Writer out) throws IOException {
+		writeReport((Appendable) out);
+		out.flush();
+	}
+
+	/**
+	 * Saves the Department to the provided OutputStream in a compact, versioned binary format: the name, the maximum number of Employees, and
+	 * every Employee with its type, ID, names, Hourly Rate, packed hours and sales fields, followed by a checksum. The stream is not flushed or
+	 * closed.
+	 * 
+	 * @param out
+	 *            The OutputStream the Department is saved to
+	 * @throws IOException
+	 *             If writing to the OutputStream fails
+	 * @see #readFrom(InputStream)
+	 * @see #writeTo(WritableByteChannel)
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		writeTo(Channels.newChannel(out));
+	}
 
+	/**
+	 * Saves the Department to the provided channel, such as a FileChannel, in the same format as writeTo(OutputStream). The channel is not
+	 * closed.
+	 * 
+	 * @param out
+	 *            The channel the Department is saved to
+	 * @throws IOException
+	 *             If writing to the channel fails
+	 * @see #readFrom(ReadableByteChannel)
+	 */
+	public void writeTo(WritableByteChannel out) throws IOException {
+		DepartmentCodec.write(snapshot(), getMaxEmployees(), out);
+	}
+
+	/**
+	 * Loads a Department saved by writeTo from the provided InputStream. The stream is not closed, and is read no further than the end of the
+	 * Department, so it can go on with other data. Every field is read on its own, so an unbuffered stream is best wrapped in a
+	 * BufferedInputStream, which is then read on from.
+	 * 
+	 * @param in
+	 *            The InputStream the Department is loaded from
+	 * @return Returns the Department loaded
+	 * @throws IOException
+	 *             If reading from the InputStream fails, or it does not hold a valid saved Department
+	 * @see #writeTo(OutputStream)
+	 */
+	public static Department readFrom(InputStream in) throws IOException {
+		return readFrom(Channels.newChannel(in));
+	}
+
+	/**
+	 * Loads a Department saved by writeTo from the provided channel, such as a FileChannel. Every value is checked and the checksum must match, so
+	 * a damaged or truncated file is rejected. The Employees are built straight from the checked values and added without being copied. The
+	 * channel is not closed and is left right after the end of the Department: a SeekableByteChannel is read in large blocks and moved back,
+	 * any other channel is read no further than the Department.
+	 * 
+	 * @param in
+	 *            The channel the Department is loaded from
+	 * @return Returns the Department loaded
+	 * @throws IOException
+	 *             If reading from the channel fails, or it does not hold a valid saved Department
+	 * @see #writeTo(WritableByteChannel)
+	 */
+	public static Department readFrom(ReadableByteChannel in) throws IOException {
+		return DepartmentCodec.read(in);
 	}
 }
@@ -0,0 +1,470 @@
+package domain;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+import utils.BadParameterException;
+import utils.NamePool;
+import utils.NullParameterException;
+
+/**
+ * The compact binary format a Department is saved in and loaded back from. All numbers are big-endian.
+ * 
+ * <pre>
+ * int     MAGIC
+ * short   VERSION
+ * int     length of the Department name, followed by the name in UTF-8
+ * int     maximum number of Employees
+ * int     number of Employees, followed by one record per Employee in Employee ID order:
+ *   byte    EMPLOYEE_TAG or SALES_EMPLOYEE_TAG
+ *   short   Employee ID
+ *   byte    length of the First name, followed by the name in UTF-8
+ *   byte    length of the Last name, followed by the name in UTF-8
+ *   double  Hourly Rate
+ *   int     hours packed as returned by Timecard.getPackedHours()
+ *   double  Sales amount needed, Sales Employees only
+ *   double  Weekly Sales Total, Sales Employees only
+ * int     CRC32 of every byte above
+ * </pre>
+ * 
+ * Records are written to and read from one reusable NIO buffer. Reading allocates no objects per field: ASCII names are interned through the
+ * NamePool straight from the buffer, and Employees are built from the checked values without running their setters.
+ * 
+ * @author Christopher Hield
+ * @see domain.Department#writeTo(WritableByteChannel)
+ * @see domain.Department#readFrom(ReadableByteChannel)
+ * @since Version 1.8
+ *
+ */
+final class DepartmentCodec {
+
+	/**
+	 * The first four bytes of a saved Department, "ECDP" ({@value})
+	 */
+	static final int MAGIC = 0x45434450;
+
+	/**
+	 * The version of the format written ({@value})
+	 */
+	static final short VERSION = 1;
+
+	/**
+	 * The tag of a regular Employee record ({@value})
+	 */
+	static final byte EMPLOYEE_TAG = 0;
+
+	/**
+	 * The tag of a Sales Employee record ({@value})
+	 */
+	static final byte SALES_EMPLOYEE_TAG = 1;
+
+	/**
+	 * The size of the buffer records are written to and read from ({@value})
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * The most bytes a UTF-8 name of MAX_NAME_LENGTH chars can take.
+	 */
+	private static final int MAX_NAME_BYTES = 3 * Employee.MAX_NAME_LENGTH;
+
+	/**
+	 * The most bytes an Employee record can take.
+	 */
+	static final int MAX_RECORD_SIZE = 1 + 2 + 2 * (1 + MAX_NAME_BYTES) + 8 + 4 + 8 + 8;
+
+	/**
+	 * The size of the header that follows the Department name.
+	 */
+	private static final int COUNTS_SIZE = 4 + 4;
+
+	/**
+	 * The most bytes the UTF-8 Department name can take, so that the whole header fits in the buffer.
+	 */
+	static final int MAX_DEPARTMENT_NAME_BYTES = BUFFER_SIZE - (4 + 2 + 4) - COUNTS_SIZE;
+
+	/**
+	 * Private constructor, the class only has static methods.
+	 */
+	private DepartmentCodec() {}
+
+	/**
+	 * Writes the provided snapshot to the provided channel in the binary format.
+	 * 
+	 * @param snapshot
+	 *            The Employees to be written
+	 * @param maxEmployees
+	 *            The maximum number of Employees of the Department
+	 * @param out
+	 *            The channel the Department is written to
+	 * @throws IOException
+	 *             If writing to the channel fails, or the Department name is longer than MAX_DEPARTMENT_NAME_BYTES in UTF-8
+	 */
+	static void write(DepartmentSnapshot snapshot, int maxEmployees, WritableByteChannel out) throws IOException {
+		byte[] name = snapshot.getDepartmentName().getBytes(StandardCharsets.UTF_8);
+		if (name.length > MAX_DEPARTMENT_NAME_BYTES) {
+			throw new IOException("Department name too long to save: " + name.length + " bytes");
+		}
+		ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+		CRC32 crc = new CRC32();
+		buf.putInt(MAGIC).putShort(VERSION).putInt(name.length).put(name);
+		buf.putInt(maxEmployees).putInt(snapshot.size());
+
+		for (int i = 0; i < snapshot.size(); i++) {
+			if (buf.remaining() < MAX_RECORD_SIZE) {
+				drain(buf, crc, out);
+			}
+			putEmployee(buf, snapshot.get(i));
+		}
+		drain(buf, crc, out);
+		buf.putInt((int) crc.getValue());
+		drain(buf, null, out);
+	}
+
+	/**
+	 * Writes the record of the provided Employee to the buffer, which must have at least MAX_RECORD_SIZE bytes remaining.
+	 * 
+	 * @param buf
+	 *            The buffer the record is written to
+	 * @param e
+	 *            The Employee to be written
+	 */
+	static void putEmployee(ByteBuffer buf, Employee e) {
+		boolean sales = e instanceof SalesEmployee;
+		buf.put(sales ? SALES_EMPLOYEE_TAG : EMPLOYEE_TAG);
+		buf.putShort((short) e.getEmployeeId());
+		putName(buf, e.getFirstName());
+		putName(buf, e.getLastName());
+		buf.putDouble(e.getHourlyRate());
+		buf.putInt(e.getTimecard().getPackedHours());
+		if (sales) {
+			buf.putDouble(((SalesEmployee) e).getSalesAmountNeeded());
+			buf.putDouble(((SalesEmployee) e).getWeeklySalesTotal());
+		}
+	}
+
+	/**
+	 * Reads and checks the record of one Employee from a buffer holding the whole record.
+	 * 
+	 * @param buf
+	 *            The heap buffer the record is read from, in read mode
+	 * @return Returns the frozen Employee read
+	 * @throws IOException
+	 *             If the record is not valid or not complete
+	 */
+	static Employee getEmployee(ByteBuffer buf) throws IOException {
+		return readEmployee(new Input(buf));
+	}
+
+	/**
+	 * Writes a length byte and the UTF-8 bytes of the provided name to the buffer. ASCII names, the common case, are written char by char without
+	 * encoding them first.
+	 * 
+	 * @param buf
+	 *            The buffer the name is written to
+	 * @param name
+	 *            The name, at most MAX_NAME_LENGTH chars
+	 */
+	private static void putName(ByteBuffer buf, String name) {
+		int length = name.length();
+		for (int i = 0; i < length; i++) {
+			if (name.charAt(i) >= 0x80) {
+				byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+				buf.put((byte) bytes.length).put(bytes);
+				return;
+			}
+		}
+		buf.put((byte) length);
+		for (int i = 0; i < length; i++) {
+			buf.put((byte) name.charAt(i));
+		}
+	}
+
+	/**
+	 * Writes the buffered bytes to the channel, adding them to the checksum, and clears the buffer.
+	 * 
+	 * @param buf
+	 *            The buffer to be drained
+	 * @param crc
+	 *            The checksum of the bytes written so far, or null if the bytes are not checksummed
+	 * @param out
+	 *            The channel the bytes are written to
+	 * @throws IOException
+	 *             If writing to the channel fails
+	 */
+	private static void drain(ByteBuffer buf, CRC32 crc, WritableByteChannel out) throws IOException {
+		buf.flip();
+		if (crc != null) {
+			crc.update(buf.array(), buf.arrayOffset(), buf.limit());
+		}
+		while (buf.hasRemaining()) {
+			out.write(buf);
+		}
+		buf.clear();
+	}
+
+	/**
+	 * Reads a Department in the binary format from the provided channel. Every value is checked as it is read, and the checksum is checked at the
+	 * end, so a damaged or truncated file is rejected instead of producing a wrong Department.<br>
+	 * Only the bytes of the Department are consumed, so the channel can go on with other data. A SeekableByteChannel is read in large blocks and
+	 * moved back to the end of the Department afterwards; any other channel is read exactly as far as the lengths in the format require.
+	 * 
+	 * @param in
+	 *            The channel the Department is read from
+	 * @return Returns the Department read
+	 * @throws IOException
+	 *             If reading from the channel fails, or the bytes read are not a valid saved Department
+	 */
+	static Department read(ReadableByteChannel in) throws IOException {
+		Input input = new Input(in);
+		input.require(4 + 2 + 4);
+		ByteBuffer buf = input.buf;
+		if (buf.getInt() != MAGIC) {
+			throw new IOException("Not a saved Department: bad magic number");
+		}
+		short version = buf.getShort();
+		if (version != VERSION) {
+			throw new IOException("Unsupported saved Department version: " + version);
+		}
+		int nameLength = buf.getInt();
+		if (nameLength <= 0 || nameLength > MAX_DEPARTMENT_NAME_BYTES) {
+			throw new IOException("Bad Department name length in saved Department: " + nameLength);
+		}
+		input.require(nameLength + COUNTS_SIZE);
+		String name = new String(buf.array(), buf.arrayOffset() + buf.position(), nameLength, StandardCharsets.UTF_8);
+		buf.position(buf.position() + nameLength);
+		int maxEmployees = buf.getInt();
+		int count = buf.getInt();
+		if (count < 0 || count > Employee.MAX_ID - Employee.MIN_ID + 1 || count > maxEmployees) {
+			throw new IOException("Bad number of employees in saved Department: " + count);
+		}
+
+		Department d;
+		try {
+			d = new Department(name, maxEmployees, count);
+		} catch (NullParameterException | BadParameterException e) {
+			throw new IOException("Bad Department in saved Department: " + e.getMessage(), e);
+		}
+		ArrayList<Employee> employees = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			employees.add(readEmployee(input));
+		}
+		input.checkCrc();
+		input.giveBack();
+
+		try {
+			d.addAll(employees);
+		} catch (NullParameterException | BadParameterException e) {
+			throw new IOException("Bad Employee in saved Department: " + e.getMessage(), e);
+		}
+		return d;
+	}
+
+	/**
+	 * Reads and checks one Employee record.
+	 * 
+	 * @param input
+	 *            The input the record is read from
+	 * @return Returns the frozen Employee read
+	 * @throws IOException
+	 *             If reading fails, or the record is not valid
+	 */
+	private static Employee readEmployee(Input input) throws IOException {
+		input.require(1 + 2 + 1);
+		ByteBuffer buf = input.buf;
+		byte tag = buf.get();
+		if (tag != EMPLOYEE_TAG && tag != SALES_EMPLOYEE_TAG) {
+			throw new IOException("Bad employee type in saved Department: " + tag);
+		}
+		int id = buf.getShort();
+		if (!Employee.isValidEmployeeId(id)) {
+			throw new IOException("Bad employee ID in saved Department: " + id);
+		}
+		String firstName = readName(input, id);
+		String lastName = readName(input, id);
+		input.require(tag == SALES_EMPLOYEE_TAG ? 8 + 4 + 8 + 8 : 8 + 4);
+		double hourlyRate = buf.getDouble();
+		if (!Employee.isValidHourlyRate(hourlyRate)) {
+			throw new IOException("Bad hourly rate in saved Department for employee: " + id);
+		}
+		Timecard timecard;
+		try {
+			timecard = Timecard.fromPackedHours(buf.getInt());
+		} catch (BadParameterException e) {
+			throw new IOException("Bad hours in saved Department for employee: " + id, e);
+		}
+
+		Employee e;
+		if (tag == SALES_EMPLOYEE_TAG) {
+			double salesNeeded = buf.getDouble();
+			double weeklyTotal = buf.getDouble();
+			if (!SalesEmployee.isValidSalesAmount(salesNeeded) || !SalesEmployee.isValidSalesAmount(weeklyTotal)) {
+				throw new IOException("Bad sales amounts in saved Department for employee: " + id);
+			}
+			e = new SalesEmployee(firstName, lastName, id, hourlyRate, timecard, salesNeeded, weeklyTotal);
+		} else {
+			e = new Employee(firstName, lastName, id, hourlyRate, timecard);
+		}
+		e.freeze();
+		return e;
+	}
+
+	/**
+	 * Reads and checks a name written by putName, interning it through the shared NamePool.
+	 * 
+	 * @param input
+	 *            The input the name is read from
+	 * @param id
+	 *            The Employee ID of the record, for the exception message
+	 * @return Returns the interned name
+	 * @throws IOException
+	 *             If reading fails, or the name is not valid
+	 */
+	private static String readName(Input input, int id) throws IOException {
+		input.require(1);
+		ByteBuffer buf = input.buf;
+		int length = buf.get() & 0xFF;
+		if (length == 0 || length > MAX_NAME_BYTES) {
+			throw new IOException("Bad name length in saved Department for employee: " + id);
+		}
+		input.require(length);
+		byte[] bytes = buf.array();
+		int offset = buf.arrayOffset() + buf.position();
+		buf.position(buf.position() + length);
+		for (int i = offset; i < offset + length; i++) {
+			if (bytes[i] < 0) {
+				String name = new String(bytes, offset, length, StandardCharsets.UTF_8);
+				if (!Employee.isValidName(name)) {
+					throw new IOException("Bad name in saved Department for employee: " + id);
+				}
+				return NamePool.shared().intern(name);
+			}
+		}
+		if (length > Employee.MAX_NAME_LENGTH) {
+			throw new IOException("Bad name in saved Department for employee: " + id);
+		}
+		return NamePool.shared().intern(bytes, offset, length); // ASCII, no String is built if the name is pooled
+	}
+
+	/**
+	 * A channel being read through a reusable buffer, checksumming every byte consumed.
+	 */
+	private static final class Input {
+
+		/**
+		 * The channel being read, or null if the buffer holds the whole input.
+		 */
+		private final ReadableByteChannel in;
+
+		/**
+		 * Whether the channel can be moved back, and so read ahead of the bytes needed.
+		 */
+		private final boolean seekable;
+
+		/**
+		 * The buffer, in read mode: the bytes between position and limit have been read from the channel but not consumed.
+		 */
+		private final ByteBuffer buf;
+
+		/**
+		 * The checksum of the bytes consumed so far, up to checked.
+		 */
+		private final CRC32 crc = new CRC32();
+
+		/**
+		 * The position in the buffer up to which the consumed bytes have been added to the checksum.
+		 */
+		private int checked;
+
+		/**
+		 * Constructor for an input reading the provided channel.
+		 * 
+		 * @param inIn
+		 *            The channel to be read
+		 */
+		private Input(ReadableByteChannel inIn) {
+			in = inIn;
+			seekable = inIn instanceof SeekableByteChannel;
+			buf = ByteBuffer.allocate(BUFFER_SIZE);
+			buf.flip();
+		}
+
+		/**
+		 * Constructor for an input reading only the provided buffer.
+		 * 
+		 * @param bufIn
+		 *            The heap buffer holding the whole input, in read mode
+		 */
+		private Input(ByteBuffer bufIn) {
+			in = null;
+			seekable = false;
+			buf = bufIn;
+		}
+
+		/**
+		 * Makes sure the buffer holds at least the provided number of unconsumed bytes, reading more from the channel if needed. A channel that can
+		 * not be moved back is read no further than the bytes needed.
+		 * 
+		 * @param n
+		 *            The number of bytes needed, at most the size of the buffer
+		 * @throws IOException
+		 *             If reading fails, or the channel ends first
+		 */
+		private void require(int n) throws IOException {
+			if (buf.remaining() >= n) {
+				return;
+			}
+			if (in == null) {
+				throw new EOFException("Saved Department is truncated");
+			}
+			crc.update(buf.array(), buf.arrayOffset() + checked, buf.position() - checked);
+			buf.compact();
+			checked = 0;
+			if (!seekable) {
+				buf.limit(n);
+			}
+			while (buf.position() < n) {
+				if (in.read(buf) < 0) {
+					throw new EOFException("Saved Department is truncated");
+				}
+			}
+			buf.flip();
+		}
+
+		/**
+		 * Reads the checksum at the end of the input and compares it with the checksum of the bytes consumed.
+		 * 
+		 * @throws IOException
+		 *             If reading fails, or the checksums differ
+		 */
+		private void checkCrc() throws IOException {
+			crc.update(buf.array(), buf.arrayOffset() + checked, buf.position() - checked);
+			checked = buf.position();
+			require(4);
+			if (buf.getInt() != (int) crc.getValue()) {
+				throw new IOException("Saved Department is damaged: bad checksum");
+			}
+		}
+
+		/**
+		 * Moves a seekable channel back over the bytes read ahead but not consumed, so it is left right after the end of the input.
+		 * 
+		 * @throws IOException
+		 *             If moving the channel fails
+		 */
+		private void giveBack() throws IOException {
+			if (seekable && buf.hasRemaining()) {
+				SeekableByteChannel channel = (SeekableByteChannel) in;
+				channel.position(channel.position() - buf.remaining());
+				buf.position(buf.limit());
+			}
+		}
+	}
+}
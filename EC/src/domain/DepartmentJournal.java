@@ -0,0 +1,689 @@
+package domain;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+/**
+ * An append-only journal that makes a Department durable. Every change to the Department (added and removed Employees) is appended to a journal
+ * file before it is applied in memory, and the Department is periodically compacted into a full snapshot in the format of Department.writeTo, after
+ * which the journal starts over. On start-up, open() rebuilds the Department from the last snapshot plus the journal tail. The in-memory
+ * Department stays the source of truth for reads.<br>
+ * Records are committed in groups: they are buffered and written with a single fsync when groupCommitSize records are pending, when the buffer
+ * fills up, or when commit() is called, so bursts of changes cost one fsync per group instead of one per change. Changes made since the last
+ * commit are lost if the process dies. Each record carries a CRC32 checksum, and a torn or damaged tail left by a crash is cut off during
+ * recovery. The Employees added together with Department.addAll are framed as one batch, which recovery replays whole or not at all.<br>
+ * An I/O error while committing automatically is thrown from the Department method that triggered it as an UncheckedIOException, and that change
+ * is not applied in memory. It may or may not have reached the journal, except for a batch, which is rolled back, so after such an error the
+ * journal should be closed and the Department opened again. An I/O error while compacting automatically is thrown the same way, after the change has been applied in memory.<br>
+ * Like Department, a journal must only be used from one thread at a time.<br>
+ * Usage example:
+ * 
+ * <pre>
+ * try (DepartmentJournal myJournal = DepartmentJournal.open(myDirectory, "Payroll", Department.UNLIMITED_EMP)) {
+ * 	Department myDepartment = myJournal.getDepartment();
+ * 	myDepartment.addEmployee(myEmployee);
+ * 	myJournal.commit();
+ * }
+ * </pre>
+ * 
+ * @author Christopher Hield
+ * @see domain.Department
+ * @see domain.Department#writeTo(java.nio.channels.WritableByteChannel)
+ * @since Version 1.8
+ *
+ */
+public final class DepartmentJournal implements Closeable {
+
+	/**
+	 * The name of the snapshot file in the journal directory ({@value})
+	 */
+	public static final String SNAPSHOT_FILE = "department.snapshot";
+
+	/**
+	 * The name of the journal file in the journal directory ({@value})
+	 */
+	public static final String JOURNAL_FILE = "department.journal";
+
+	/**
+	 * The default number of records committed with one fsync ({@value})
+	 */
+	public static final int DEFAULT_GROUP_COMMIT_SIZE = 1024;
+
+	/**
+	 * The default size in bytes the journal file can reach before the Department is compacted into a new snapshot ({@value})
+	 */
+	public static final long DEFAULT_COMPACTION_THRESHOLD = 64L << 20;
+
+	/**
+	 * The first four bytes of a journal file, "ECDJ" ({@value})
+	 */
+	static final int MAGIC = 0x4543444A;
+
+	/**
+	 * The version of the journal format written ({@value})
+	 */
+	static final short VERSION = 1;
+
+	/**
+	 * The size of the journal file header: MAGIC and VERSION.
+	 */
+	private static final int HEADER_SIZE = 4 + 2;
+
+	/**
+	 * The operation of a record adding an Employee, followed by the Employee in the format of Department.writeTo ({@value})
+	 */
+	private static final byte ADD = 1;
+
+	/**
+	 * The operation of a record removing an Employee, followed by its short Employee ID ({@value})
+	 */
+	private static final byte REMOVE = 2;
+
+	/**
+	 * The operation of a record opening a batch of ADD records, with nothing after it. The batch is only replayed once its COMMIT record is read
+	 * ({@value})
+	 */
+	private static final byte BEGIN = 3;
+
+	/**
+	 * The operation of a record closing a batch, followed by the int number of ADD records in it ({@value})
+	 */
+	private static final byte COMMIT = 4;
+
+	/**
+	 * The size of the length and checksum ints in front of every record.
+	 */
+	private static final int RECORD_HEADER_SIZE = 4 + 4;
+
+	/**
+	 * The most bytes a record can take after its header.
+	 */
+	private static final int MAX_PAYLOAD_SIZE = 1 + DepartmentCodec.MAX_RECORD_SIZE;
+
+	/**
+	 * The size of the buffer records are grouped in ({@value})
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * The directory holding the snapshot and journal files.
+	 */
+	private final Path directory;
+
+	/**
+	 * The Department this journal records.
+	 * 
+	 * @see #getDepartment()
+	 */
+	private final Department department;
+
+	/**
+	 * The journal file, open for appending.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * The records not committed yet, in write mode.
+	 */
+	private final ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE);
+
+	/**
+	 * The checksum of each record, reused.
+	 */
+	private final CRC32 crc = new CRC32();
+
+	/**
+	 * The number of records not committed yet.
+	 */
+	private int pendingRecords;
+
+	/**
+	 * The size in bytes of the journal file: its header and every record written so far. Kept here so that checking the compaction threshold
+	 * after every change does not ask the file system.
+	 */
+	private long size;
+
+	/**
+	 * The number of records committed with one fsync.
+	 * 
+	 * @see #getGroupCommitSize()
+	 */
+	private final int groupCommitSize;
+
+	/**
+	 * The size in bytes the journal file can reach before the Department is compacted.
+	 * 
+	 * @see #getCompactionThreshold()
+	 */
+	private final long compactionThreshold;
+
+	/**
+	 * Private constructor for a journal of a Department already rebuilt from the provided files.
+	 * 
+	 * @param directoryIn
+	 *            The directory holding the snapshot and journal files
+	 * @param departmentIn
+	 *            The rebuilt Department
+	 * @param channelIn
+	 *            The journal file, positioned at its end
+	 * @param groupCommit
+	 *            The number of records committed with one fsync
+	 * @param compactAt
+	 *            The size in bytes the journal file can reach before the Department is compacted
+	 */
+	private DepartmentJournal(Path directoryIn, Department departmentIn, FileChannel channelIn, int groupCommit,
+			long compactAt) {
+		directory = directoryIn;
+		department = departmentIn;
+		channel = channelIn;
+		groupCommitSize = groupCommit;
+		compactionThreshold = compactAt;
+	}
+
+	/**
+	 * Opens the journal in the provided directory with the default group commit size and compaction threshold.
+	 * 
+	 * @param directory
+	 *            The directory holding the snapshot and journal files, created if it does not exist
+	 * @param dName
+	 *            The name of the Department if the directory holds no snapshot yet
+	 * @param maxEmp
+	 *            The maximum number of Employees of the Department if the directory holds no snapshot yet
+	 * @return Returns the open journal, whose Department has been rebuilt
+	 * @throws IOException
+	 *             If reading or writing the files fails, or the snapshot is not valid
+	 * @throws NullParameterException
+	 *             If the directory or the Department name is null
+	 * @throws BadParameterException
+	 *             If the Department name is an empty String, or the maximum number of Employees is less or equal to zero
+	 * @see #open(Path, String, int, int, long)
+	 */
+	public static DepartmentJournal open(Path directory, String dName, int maxEmp)
+			throws IOException, NullParameterException, BadParameterException {
+		return open(directory, dName, maxEmp, DEFAULT_GROUP_COMMIT_SIZE, DEFAULT_COMPACTION_THRESHOLD);
+	}
+
+	/**
+	 * Opens the journal in the provided directory and rebuilds its Department: the last snapshot is loaded, or an empty Department is created if
+	 * there is none, and every complete record of the journal is replayed on top of it. A torn or damaged record, and anything after it, is cut
+	 * off the journal. The name and maximum number of Employees of a loaded snapshot take precedence over the ones provided.
+	 * 
+	 * @param directory
+	 *            The directory holding the snapshot and journal files, created if it does not exist
+	 * @param dName
+	 *            The name of the Department if the directory holds no snapshot yet
+	 * @param maxEmp
+	 *            The maximum number of Employees of the Department if the directory holds no snapshot yet
+	 * @param groupCommit
+	 *            The number of records committed with one fsync
+	 * @param compactAt
+	 *            The size in bytes the journal file can reach before the Department is compacted
+	 * @return Returns the open journal, whose Department has been rebuilt
+	 * @throws IOException
+	 *             If reading or writing the files fails, or the snapshot is not valid
+	 * @throws NullParameterException
+	 *             If the directory or the Department name is null
+	 * @throws BadParameterException
+	 *             If the Department name is an empty String, or the maximum number of Employees, the group commit size or the compaction
+	 *             threshold is less or equal to zero
+	 */
+	public static DepartmentJournal open(Path directory, String dName, int maxEmp, int groupCommit, long compactAt)
+			throws IOException, NullParameterException, BadParameterException {
+		if (directory == null) {
+			throw new NullParameterException("Null directory sent to open!");
+		}
+		if (groupCommit <= 0) {
+			throw new BadParameterException("Invalid group commit size: " + groupCommit);
+		}
+		if (compactAt <= 0) {
+			throw new BadParameterException("Invalid compaction threshold: " + compactAt);
+		}
+		Files.createDirectories(directory);
+
+		Department d;
+		Path snapshot = directory.resolve(SNAPSHOT_FILE);
+		boolean created = !Files.exists(snapshot);
+		if (created) {
+			d = new Department(dName, maxEmp);
+		} else {
+			try (FileChannel in = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+				d = Department.readFrom(in);
+			}
+		}
+
+		FileChannel channel = FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		DepartmentJournal journal = new DepartmentJournal(directory, d, channel, groupCommit, compactAt);
+		try {
+			if (created) {
+				journal.compact(); // Records the name and maximum number of Employees, and drops any journal left without its snapshot
+			} else {
+				journal.size = replay(channel, d);
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		d.setJournal(journal);
+		return journal;
+	}
+
+	/**
+	 * Replays every complete record of the journal file on the provided Department, and leaves the file positioned after the last one, cutting off
+	 * anything after it. A batch whose COMMIT record is missing is cut off too, or skipped if other records follow it, since its Employees were
+	 * never added in memory. A journal file without a valid header is started over.<br>
+	 * Records are replayed as puts and deletes, so replaying records already contained in the snapshot, as happens when the process dies between
+	 * writing a snapshot and emptying the journal, still ends with the right Department.
+	 * 
+	 * @param channel
+	 *            The journal file
+	 * @param d
+	 *            The Department the records are replayed on
+	 * @return Returns the size of the journal file once the records after the last complete one are cut off
+	 * @throws IOException
+	 *             If reading or writing the file fails
+	 */
+	private static long replay(FileChannel channel, Department d) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+		long size = channel.size();
+		long position = HEADER_SIZE;
+		if (size < HEADER_SIZE || !readFully(channel, buf, 0, HEADER_SIZE) || buf.getInt() != MAGIC
+				|| buf.getShort() != VERSION) {
+			resetFile(channel);
+			return HEADER_SIZE;
+		}
+
+		CRC32 check = new CRC32();
+		ArrayList<Employee> batch = null; // The Employees of the open batch, added once its COMMIT record is read
+		long end = position; // The end of the last record applied
+		while (readFully(channel, buf, position, RECORD_HEADER_SIZE)) {
+			int length = buf.getInt();
+			int expected = buf.getInt();
+			if (length <= 0 || length > MAX_PAYLOAD_SIZE
+					|| !readFully(channel, buf, position + RECORD_HEADER_SIZE, length)) {
+				break;
+			}
+			check.reset();
+			check.update(buf.array(), buf.arrayOffset() + buf.position(), length);
+			if ((int) check.getValue() != expected) {
+				break;
+			}
+			byte op = buf.get();
+			if (op == BEGIN && !buf.hasRemaining()) {
+				batch = new ArrayList<>();
+			} else if (op == ADD && batch != null) {
+				Employee e = getEmployee(buf);
+				if (e == null) {
+					break;
+				}
+				batch.add(e);
+			} else if (op == COMMIT && batch != null) {
+				if (buf.remaining() != 4 || buf.getInt() != batch.size()) {
+					break;
+				}
+				for (Employee e : batch) {
+					d.replayAdd(e);
+				}
+				batch = null;
+			} else {
+				batch = null; // A batch followed by other records failed while it was written, and was not added
+				if (!apply(op, buf, d)) {
+					break;
+				}
+			}
+			position += RECORD_HEADER_SIZE + length;
+			if (batch == null) {
+				end = position;
+			}
+		}
+		if (end < size) {
+			channel.truncate(end);
+			channel.force(false);
+		}
+		channel.position(end);
+		return end;
+	}
+
+	/**
+	 * Applies the ADD or REMOVE record in the buffer to the provided Department.
+	 * 
+	 * @param op
+	 *            The operation of the record
+	 * @param buf
+	 *            The buffer holding the record after its operation, in read mode
+	 * @param d
+	 *            The Department the record is applied to
+	 * @return Returns True if the record was applied, False if it is not a valid record
+	 */
+	private static boolean apply(byte op, ByteBuffer buf, Department d) {
+		if (op == ADD) {
+			Employee e = getEmployee(buf);
+			if (e == null) {
+				return false;
+			}
+			d.replayAdd(e);
+			return true;
+		}
+		if (op == REMOVE && buf.remaining() == 2) {
+			d.removeEmployee(buf.getShort());
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Reads the Employee of the ADD record in the buffer.
+	 * 
+	 * @param buf
+	 *            The buffer holding the record after its operation, in read mode
+	 * @return Returns the frozen Employee read, or null if the record is not valid
+	 */
+	private static Employee getEmployee(ByteBuffer buf) {
+		try {
+			Employee e = DepartmentCodec.getEmployee(buf);
+			return buf.hasRemaining() ? null : e;
+		} catch (IOException e) {
+			return null; // A checksummed record that does not decode is treated like a torn one
+		}
+	}
+
+	/**
+	 * Reads exactly the provided number of bytes at the provided position of the file into the buffer, and flips it.
+	 * 
+	 * @param channel
+	 *            The file to be read
+	 * @param buf
+	 *            The buffer the bytes are read into
+	 * @param position
+	 *            The position in the file of the first byte
+	 * @param n
+	 *            The number of bytes to read, at most the size of the buffer
+	 * @return Returns True if all the bytes were read, False if the file ends first
+	 * @throws IOException
+	 *             If reading the file fails
+	 */
+	private static boolean readFully(FileChannel channel, ByteBuffer buf, long position, int n) throws IOException {
+		buf.clear().limit(n);
+		while (buf.hasRemaining()) {
+			if (channel.read(buf, position + buf.position()) < 0) {
+				return false;
+			}
+		}
+		buf.flip();
+		return true;
+	}
+
+	/**
+	 * Empties the journal file, leaving only its header, and positions it at its end.
+	 * 
+	 * @param channel
+	 *            The journal file
+	 * @throws IOException
+	 *             If writing the file fails
+	 */
+	private static void resetFile(FileChannel channel) throws IOException {
+		channel.truncate(0);
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC).putShort(VERSION).flip();
+		while (header.hasRemaining()) {
+			channel.write(header, header.position());
+		}
+		channel.force(false);
+		channel.position(HEADER_SIZE);
+	}
+
+	/**
+	 * Returns the Department this journal records.
+	 * 
+	 * @return Returns the Department this journal records
+	 */
+	public Department getDepartment() {
+		return department;
+	}
+
+	/**
+	 * Returns the number of records committed with one fsync.
+	 * 
+	 * @return Returns the group commit size
+	 */
+	public int getGroupCommitSize() {
+		return groupCommitSize;
+	}
+
+	/**
+	 * Returns the size in bytes the journal file can reach before the Department is compacted into a new snapshot.
+	 * 
+	 * @return Returns the compaction threshold
+	 */
+	public long getCompactionThreshold() {
+		return compactionThreshold;
+	}
+
+	/**
+	 * Appends a record adding the provided Employee. Called by the Department before the Employee is added.
+	 * 
+	 * @param e
+	 *            The Employee being added
+	 * @throws UncheckedIOException
+	 *             If the record fills a group and committing it fails
+	 */
+	void logAdd(Employee e) {
+		int start = beginRecord();
+		pending.put(ADD);
+		DepartmentCodec.putEmployee(pending, e);
+		endRecord(start);
+	}
+
+	/**
+	 * Appends a record removing the Employee with the provided ID. Called by the Department before the Employee is removed.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee being removed
+	 * @throws UncheckedIOException
+	 *             If the record fills a group and committing it fails
+	 */
+	void logRemove(int id) {
+		int start = beginRecord();
+		pending.put(REMOVE).putShort((short) id);
+		endRecord(start);
+	}
+
+	/**
+	 * Appends the records adding the provided Employees as one batch, between a BEGIN and a COMMIT record, so that recovery adds either all of
+	 * them or none. Called by the Department before the Employees are added. If appending fails, the pending buffer is rolled back to the start
+	 * of the batch and the part of the batch already written is cut off the journal file.
+	 * 
+	 * @param employees
+	 *            The Employees being added
+	 * @throws UncheckedIOException
+	 *             If a record fills a group and committing it fails
+	 */
+	void logBatch(List<Employee> employees) {
+		int start = beginRecord();
+		long batchStart = size + start; // The position of the batch in the journal file
+		int records = pendingRecords;
+		pending.put(BEGIN);
+		try {
+			endRecord(start);
+			for (Employee e : employees) {
+				logAdd(e);
+			}
+			int commit = beginRecord();
+			pending.put(COMMIT).putInt(employees.size());
+			endRecord(commit);
+		} catch (UncheckedIOException x) {
+			if (batchStart >= size) {
+				pending.position((int) (batchStart - size)); // Nothing after the batch start was committed
+				pendingRecords = records;
+			} else {
+				pending.clear();
+				pendingRecords = 0;
+			}
+			try {
+				channel.truncate(Math.min(batchStart, size)); // Also cuts off what a failed commit wrote
+				size = Math.min(batchStart, size);
+			} catch (IOException e) {
+				x.addSuppressed(e);
+			}
+			throw x;
+		}
+	}
+
+	/**
+	 * Compacts the Department if the journal file has reached the compaction threshold. Called by the Department once a change has been applied
+	 * in memory: only then is every record written so far part of the snapshot. Compacting while records are written, before they are applied,
+	 * would write a snapshot without them and then empty the journal that holds them, as happens in the middle of a batch added with addAll.
+	 * 
+	 * @throws UncheckedIOException
+	 *             If compacting fails
+	 */
+	void changeApplied() {
+		try {
+			if (size >= compactionThreshold) {
+				compact();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Makes room for a record in the pending buffer, committing the pending records if needed, and skips its header.
+	 * 
+	 * @return Returns the position of the record in the pending buffer
+	 * @throws UncheckedIOException
+	 *             If committing fails
+	 */
+	private int beginRecord() {
+		if (pending.remaining() < RECORD_HEADER_SIZE + MAX_PAYLOAD_SIZE) {
+			try {
+				flush();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		int start = pending.position();
+		pending.position(start + RECORD_HEADER_SIZE);
+		return start;
+	}
+
+	/**
+	 * Writes the length and checksum of the record started at the provided position, and commits the group if it is full.
+	 * 
+	 * @param start
+	 *            The position of the record in the pending buffer
+	 * @throws UncheckedIOException
+	 *             If committing fails
+	 */
+	private void endRecord(int start) {
+		int length = pending.position() - start - RECORD_HEADER_SIZE;
+		crc.reset();
+		crc.update(pending.array(), pending.arrayOffset() + start + RECORD_HEADER_SIZE, length);
+		pending.putInt(start, length);
+		pending.putInt(start + 4, (int) crc.getValue());
+		if (++pendingRecords >= groupCommitSize) {
+			try {
+				flush();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Writes every pending record to the journal file and forces it to disk with a single fsync. Every change made to the Department before this
+	 * call survives a crash once it returns. The Department is compacted afterwards if the journal file has reached the compaction threshold.
+	 * 
+	 * @throws IOException
+	 *             If writing the journal file or compacting fails
+	 * @see #compact()
+	 */
+	public void commit() throws IOException {
+		flush();
+		if (size >= compactionThreshold) {
+			compact();
+		}
+	}
+
+	/**
+	 * Writes every pending record at the end of the journal file and forces it to disk with a single fsync. If this fails, the records stay
+	 * pending and the next commit writes them at the same position again.
+	 * 
+	 * @throws IOException
+	 *             If writing the journal file fails
+	 */
+	private void flush() throws IOException {
+		if (pendingRecords == 0) {
+			return;
+		}
+		ByteBuffer records = pending.duplicate();
+		records.flip();
+		while (records.hasRemaining()) {
+			channel.write(records, size + records.position());
+		}
+		channel.force(false);
+		size += records.limit();
+		pending.clear();
+		pendingRecords = 0;
+	}
+
+	/**
+	 * Compacts the Department: commits the pending records, writes a full snapshot of the Department to a temporary file, forces it to disk and
+	 * renames it over the previous snapshot, then empties the journal. A crash at any point leaves either the old snapshot and the whole journal
+	 * or the new snapshot, with or without the journal, and open() rebuilds the same Department from either.
+	 * 
+	 * @throws IOException
+	 *             If writing the files fails
+	 */
+	public void compact() throws IOException {
+		flush();
+		Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+		try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			department.writeTo(out);
+			out.force(true);
+		}
+		Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE,
+				StandardCopyOption.REPLACE_EXISTING);
+		try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+			dir.force(true); // Makes the rename durable before the journal is emptied
+		} catch (IOException e) {
+			// Directories cannot be opened on every platform; the rename is then as durable as the platform makes it
+		}
+		resetFile(channel);
+		size = HEADER_SIZE;
+	}
+
+	/**
+	 * Commits the pending records, detaches the journal from its Department and closes the journal file. Later changes to the Department are no
+	 * longer recorded.
+	 * 
+	 * @throws IOException
+	 *             If writing or closing the journal file fails
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!channel.isOpen()) {
+			return;
+		}
+		try {
+			commit();
+		} finally {
+			department.setJournal(null);
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,277 @@
+package domain;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+
+import utils.BadParameterException;
+
+/**
+ * An immutable, point-in-time view of a Department's employee list, sorted by Employee ID. A snapshot shares the Department's storage instead of
+ * copying it, so taking one is O(1); the Department copies its storage before its next change. A snapshot never changes afterwards and can be read
+ * from any thread without locking while the Department keeps changing.<br>
+ * The Employees themselves are frozen and shared with the Department.<br>
+ * Usage example:
+ * 
+ * <pre>
+ * DepartmentSnapshot mySnapshot = myDepartment.snapshot();
+ * for (Employee e : mySnapshot) { ... }
+ * </pre>
+ * 
+ * @author Christopher Hield
+ * @see domain.Department#snapshot()
+ * @see domain.ConcurrentDepartment#snapshot()
+ * @since Version 1.8
+ *
+ */
+public final class DepartmentSnapshot extends AbstractList<Employee> implements RandomAccess {
+
+	/**
+	 * The name of the Department.
+	 * 
+	 * @see #getDepartmentName()
+	 */
+	private final String departmentName;
+
+	/**
+	 * The Employees, sorted by Employee ID, in positions 0 to size - 1. Never changed.
+	 */
+	private final Employee[] elements;
+
+	/**
+	 * The number of Employees in the snapshot.
+	 */
+	private final int size;
+
+	/**
+	 * The number of Employees at or below which the payroll summary is computed sequentially.
+	 * 
+	 * @see #getPayrollSummary()
+	 */
+	private final int parallelThreshold;
+
+	/**
+	 * The sum of the Weekly Pay in cents of the Employees.
+	 * 
+	 * @see #getTotalWeeklyPayCents()
+	 */
+	private final long totalWeeklyPayCents;
+
+	/**
+	 * Constructor for a snapshot of the provided Employees.
+	 * 
+	 * @param dName
+	 *            The name of the Department
+	 * @param elementsIn
+	 *            The Employees sorted by Employee ID, which must never be changed again
+	 * @param sizeIn
+	 *            The number of Employees, held in positions 0 to sizeIn - 1
+	 * @param threshold
+	 *            The sequential threshold of the payroll summary
+	 * @param payCents
+	 *            The sum of the Weekly Pay in cents of the Employees
+	 */
+	DepartmentSnapshot(String dName, Employee[] elementsIn, int sizeIn, int threshold, long payCents) {
+		departmentName = dName;
+		elements = elementsIn;
+		size = sizeIn;
+		parallelThreshold = threshold;
+		totalWeeklyPayCents = payCents;
+	}
+
+	/**
+	 * Returns the name of the Department.
+	 * 
+	 * @return Returns the name of the Department
+	 */
+	public String getDepartmentName() {
+		return departmentName;
+	}
+
+	@Override
+	public Employee get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Bad index passed to get: " + index);
+		}
+		return elements[index];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the Employee matching the provided Employee-Id, found by binary search.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee to be returned
+	 * @return Returns the Employee with the provided ID or null if Employee not in the snapshot
+	 */
+	public Employee getEmployee(int id) {
+		int pos = SortedEmployees.search(elements, 0, size, id);
+		return pos >= 0 ? elements[pos] : null;
+	}
+
+	/**
+	 * Checks whether or not an Employee with the provided ID is in the snapshot.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee to be checked
+	 * @return Returns True if the Employee is in the snapshot, False if not
+	 */
+	public boolean isInDepartment(int id) {
+		return getEmployee(id) != null;
+	}
+
+	/**
+	 * Returns the Employee with the lowest ID greater or equal to the provided ID, found by binary search.
+	 * 
+	 * @param id
+	 *            The Employee ID
+	 * @return Returns the Employee with the lowest ID of at least id, null if there is none
+	 * @see #floorEmployee(int)
+	 */
+	public Employee ceilingEmployee(int id) {
+		int pos = SortedEmployees.ceilingIndex(elements, size, id);
+		return pos < size ? elements[pos] : null;
+	}
+
+	/**
+	 * Returns the Employee with the highest ID less or equal to the provided ID, found by binary search.
+	 * 
+	 * @param id
+	 *            The Employee ID
+	 * @return Returns the Employee with the highest ID of at most id, null if there is none
+	 * @see #ceilingEmployee(int)
+	 */
+	public Employee floorEmployee(int id) {
+		int pos = SortedEmployees.higherIndex(elements, size, id) - 1;
+		return pos >= 0 ? elements[pos] : null;
+	}
+
+	/**
+	 * Returns the Employees with IDs from the provided lowest ID to the provided highest ID, both included. The list is a view of the snapshot,
+	 * found by two binary searches and built without copying any Employee.
+	 * 
+	 * @param lo
+	 *            The lowest Employee ID of the range
+	 * @param hi
+	 *            The highest Employee ID of the range
+	 * @return Returns a view of the Employees in the range, sorted by Employee ID, empty if lo is more than hi
+	 */
+	public List<Employee> employeesInIdRange(int lo, int hi) {
+		int from = SortedEmployees.ceilingIndex(elements, size, lo);
+		return subList(from, Math.max(from, SortedEmployees.higherIndex(elements, size, hi)));
+	}
+
+	/**
+	 * Returns the Employees with IDs less than the provided ID, as a view of the snapshot.
+	 * 
+	 * @param toId
+	 *            The Employee ID the list stops before
+	 * @return Returns a view of the Employees with IDs less than toId, sorted by Employee ID
+	 * @see #tailList(int)
+	 */
+	public List<Employee> headList(int toId) {
+		return subList(0, SortedEmployees.ceilingIndex(elements, size, toId));
+	}
+
+	/**
+	 * Returns the Employees with IDs greater or equal to the provided ID, as a view of the snapshot.
+	 * 
+	 * @param fromId
+	 *            The Employee ID the list starts at
+	 * @return Returns a view of the Employees with IDs of at least fromId, sorted by Employee ID
+	 * @see #headList(int)
+	 */
+	public List<Employee> tailList(int fromId) {
+		return subList(SortedEmployees.ceilingIndex(elements, size, fromId), size);
+	}
+
+	/**
+	 * Returns a page of at most the provided number of Employees with IDs greater than the provided ID, as a view of the snapshot. The next page
+	 * starts after the ID of the last Employee of this one; the first page starts after any ID below Employee.MIN_ID. Finding a page is a binary
+	 * search, whatever the size of the snapshot.
+	 * 
+	 * @param afterId
+	 *            The Employee ID the page starts after
+	 * @param limit
+	 *            The maximum number of Employees in the page
+	 * @return Returns a view of the Employees in the page, sorted by Employee ID, empty after the last page
+	 * @throws BadParameterException
+	 *             If the maximum number of Employees is less than one
+	 */
+	public List<Employee> page(int afterId, int limit) throws BadParameterException {
+		if (limit < 1) {
+			throw new BadParameterException("Invalid page size: " + limit);
+		}
+		int from = SortedEmployees.higherIndex(elements, size, afterId);
+		return subList(from, from + Math.min(size - from, limit));
+	}
+
+	/**
+	 * Returns the sum of the Weekly Pay of every Employee in the snapshot, each rounded to cents, as Department.getTotalWeeklyPay() does.
+	 * 
+	 * @return Returns the sum of the Weekly Pay of every Employee in the snapshot
+	 * @see #getTotalWeeklyPayCents()
+	 */
+	public double getTotalWeeklyPay() {
+		return totalWeeklyPayCents / 100.0;
+	}
+
+	/**
+	 * Returns the sum of the Weekly Pay in cents of every Employee in the snapshot.
+	 * 
+	 * @return Returns the sum of the Weekly Pay in cents of every Employee in the snapshot
+	 * @see domain.Employee#getWeeklyPayCents()
+	 */
+	public long getTotalWeeklyPayCents() {
+		return totalWeeklyPayCents;
+	}
+
+	/**
+	 * Returns the payroll summary of the snapshot, computed the same way as Department.getPayrollSummary().
+	 * 
+	 * @return Returns the payroll summary of the snapshot
+	 */
+	public PayrollSummary getPayrollSummary() {
+		PayrollTask task = new PayrollTask(this, 0, size, parallelThreshold);
+		if (size <= parallelThreshold) {
+			return task.compute();
+		}
+		return ForkJoinPool.commonPool().invoke(task);
+	}
+
+	/**
+	 * Returns a report with all the information about the snapshot, in the same format as Department.toString().
+	 * 
+	 * @return Returns a report with all the information about the snapshot
+	 * @see #writeReport(Appendable)
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		try {
+			writeReport(sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); // A StringBuilder never throws IOException
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Writes a report with all the information about the snapshot to the provided Appendable, in the same format as Department.writeReport().
+	 * 
+	 * @param out
+	 *            The Appendable the report is written to
+	 * @throws IOException
+	 *             If writing to the Appendable fails
+	 */
+	public void writeReport(Appendable out) throws IOException {
+		Department.writeReport(out, getDepartmentName(), this);
+	}
+}
@@ -4,8 +4,13 @@
  */
 package domain;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 import utils.BadParameterException;
+import utils.NamePool;
 import utils.NullParameterException;
+import utils.ReportBuffer;
 
 /**
  * A class representing an Employee.<br>
@@ -14,16 +19,53 @@ import utils.NullParameterException;
  * <pre>
  * Employee myEmployee = new Employee("Christopher", "Hield", 5000, 50.0, new int[]{5, 6, 7, 8, 9});
  * Employee myEmployee = new Employee(Employee otherEmployee);
+ * myEmployee.freeze(); // From now on myEmployee can be shared instead of copied
  * </pre>
  * 
  * @author Christopher Hield
  * @see domain.Department
  * @see domain.SalesEmployee
  * @see domain.Timecard
+ * @see domain.EmployeeView
  * @since Version 1.8
  *
  */
-public class Employee implements Comparable<Employee> {
+public class Employee implements Comparable<Employee>, EmployeeView {
+
+	/**
+	 * The lowest Employee ID that will be accepted ({@value})
+	 */
+	public static final int MIN_ID = 1000;
+
+	/**
+	 * The highest Employee ID that will be accepted ({@value})
+	 */
+	public static final int MAX_ID = 9999;
+
+	/**
+	 * The maximum length of a First or Last name ({@value})
+	 */
+	public static final int MAX_NAME_LENGTH = 20;
+
+	/**
+	 * The report label of the name.
+	 */
+	private static final char[] NAME_LABEL = ReportBuffer.label("Name:", 20);
+
+	/**
+	 * The report label of the ID.
+	 */
+	private static final char[] ID_LABEL = ReportBuffer.label("Id:", 20);
+
+	/**
+	 * The report label of the Hourly Rate.
+	 */
+	private static final char[] HOURLY_RATE_LABEL = ReportBuffer.label("Hourly Rate:", 20);
+
+	/**
+	 * The report label of the Weekly Pay.
+	 */
+	private static final char[] WEEKLY_PAY_LABEL = ReportBuffer.label("Weekly Pay:", 20);
 
 	/**
 	 * The first name of the Employee.
@@ -65,6 +107,22 @@ public class Employee implements Comparable<Employee> {
 	 */
 	private Timecard timecard;
 
+	/**
+	 * The Weekly Pay of the Employee, computed on first use. NaN when it has not been computed since the last change of a field it depends on.
+	 * 
+	 * @see #getWeeklyPay()
+	 * @see #invalidateWeeklyPay()
+	 */
+	private double weeklyPay = Double.NaN;
+
+	/**
+	 * Whether the Employee has been frozen. A frozen Employee never changes again, so it can be shared instead of copied.
+	 * 
+	 * @see #freeze()
+	 * @see #isFrozen()
+	 */
+	private boolean frozen;
+
 	/**
 	 * Constructor for the Employee class - need non-null and non-empty First and Last name, an Employee ID between 1000 and 9999, a higher than zero
 	 * Hourly Rate, and an int Array holding the worked days.
@@ -96,7 +154,8 @@ public class Employee implements Comparable<Employee> {
 	}
 
 	/**
-	 * Constructor for the Employee class that takes another instance of Employee as parameter.
+	 * Constructor for the Employee class that takes another instance of Employee as parameter. The values of an existing Employee are already
+	 * valid, so they are copied without being validated again, and the Timecard, which never changes, is shared. The copy is never frozen.
 	 * 
 	 * @param e
 	 *            Another instance of the Employee class
@@ -109,11 +168,125 @@ public class Employee implements Comparable<Employee> {
 	 * @see #Employee(String, String, int, double, int[])
 	 */
 	public Employee(Employee e) throws NullParameterException, BadParameterException {
-		setFirstName(e.getFirstName());
-		setLastName(e.getLastName());
-		setEmployeeId(e.getEmployeeId());
-		setHourlyRate(e.getHourlyRate());
-		setTimecard(new Timecard(e.getTimecard()));
+		firstName = e.getFirstName();
+		lastName = e.getLastName();
+		employeeId = e.getEmployeeId();
+		hourlyRate = e.getHourlyRate();
+		timecard = e.getTimecard();
+	}
+
+	/**
+	 * Constructor for an Employee from values the caller has already validated, such as values read back from a saved Department. The values are
+	 * not checked again.
+	 * 
+	 * @param fName
+	 *            The Employee's first name, already interned
+	 * @param lName
+	 *            The Employee's last name, already interned
+	 * @param eId
+	 *            The Employee's ID
+	 * @param hRate
+	 *            The Employee's Hourly Rate
+	 * @param tCard
+	 *            The Employee's Timecard
+	 * @see #Employee(String, String, int, double, int[])
+	 */
+	Employee(String fName, String lName, int eId, double hRate, Timecard tCard) {
+		firstName = fName;
+		lastName = lName;
+		employeeId = eId;
+		hourlyRate = hRate;
+		timecard = tCard;
+	}
+
+	/**
+	 * Validates the values of an Employee without throwing. Every invalid value is reported, not only the first one.
+	 * 
+	 * @param fName
+	 *            The Employee's first name
+	 * @param lName
+	 *            The Employee's last name
+	 * @param eId
+	 *            The Employee's ID
+	 * @param hRate
+	 *            The Employee's Hourly Rate
+	 * @param daysIn
+	 *            The Employee's int Array with the worked days
+	 * @return Returns the result holding every error found, ValidationResult.VALID if the values are valid
+	 * @see #Employee(String, String, int, double, int[])
+	 */
+	public static ValidationResult validate(String fName, String lName, int eId, double hRate, int[] daysIn) {
+		return ValidationResult.of(validationErrors(fName, lName, eId, hRate, daysIn));
+	}
+
+	/**
+	 * Returns the errors in the values of an Employee, one ValidationError bit each.
+	 * 
+	 * @param fName
+	 *            The Employee's first name
+	 * @param lName
+	 *            The Employee's last name
+	 * @param eId
+	 *            The Employee's ID
+	 * @param hRate
+	 *            The Employee's Hourly Rate
+	 * @param daysIn
+	 *            The Employee's int Array with the worked days
+	 * @return Returns the errors found, zero if the values are valid
+	 * @see #validate(String, String, int, double, int[])
+	 */
+	static int validationErrors(String fName, String lName, int eId, double hRate, int[] daysIn) {
+		int errors = Timecard.validationErrors(daysIn);
+		if (fName == null) {
+			errors |= ValidationError.NULL_FIRST_NAME.bit();
+		} else if (!isValidName(fName)) {
+			errors |= ValidationError.BAD_FIRST_NAME.bit();
+		}
+		if (lName == null) {
+			errors |= ValidationError.NULL_LAST_NAME.bit();
+		} else if (!isValidName(lName)) {
+			errors |= ValidationError.BAD_LAST_NAME.bit();
+		}
+		if (!isValidEmployeeId(eId)) {
+			errors |= ValidationError.BAD_EMPLOYEE_ID.bit();
+		}
+		if (!isValidHourlyRate(hRate)) {
+			errors |= ValidationError.BAD_HOURLY_RATE.bit();
+		}
+		return errors;
+	}
+
+	/**
+	 * Checks whether the provided non-null name is a valid First or Last name.
+	 * 
+	 * @param name
+	 *            The name to be checked
+	 * @return Returns True if the name length is more than zero and at most MAX_NAME_LENGTH, False if not
+	 */
+	static boolean isValidName(String name) {
+		return name.length() > 0 && name.length() <= MAX_NAME_LENGTH;
+	}
+
+	/**
+	 * Checks whether the provided number is a valid Employee ID.
+	 * 
+	 * @param eId
+	 *            The number to be checked
+	 * @return Returns True if the number is between MIN_ID and MAX_ID, False if not
+	 */
+	static boolean isValidEmployeeId(int eId) {
+		return eId >= MIN_ID && eId <= MAX_ID;
+	}
+
+	/**
+	 * Checks whether the provided number is a valid Hourly Rate.
+	 * 
+	 * @param hRate
+	 *            The number to be checked
+	 * @return Returns True if the number is more than 0.0 and finite, False if not
+	 */
+	static boolean isValidHourlyRate(double hRate) {
+		return hRate > 0.0 && hRate < Double.POSITIVE_INFINITY;
 	}
 
 	/**
@@ -134,15 +307,99 @@ public class Employee implements Comparable<Employee> {
 	}
 
 	/**
-	 * Returns the Weekly Pay of the Employee.
+	 * Returns the Weekly Pay of the Employee. The pay is computed by calculateWeeklyPay() on first use and kept until a field it depends on
+	 * changes.
 	 * 
 	 * @see #setHourlyRate(double)
+	 * @see #calculateWeeklyPay()
 	 * @return Returns the Weekly Pay of the Employee
 	 */
 	public double getWeeklyPay() {
+		double pay = weeklyPay;
+		if (Double.isNaN(pay)) {
+			pay = calculateWeeklyPay();
+			weeklyPay = pay;
+		}
+		return pay;
+	}
+
+	/**
+	 * Returns the Weekly Pay of the Employee rounded to whole cents, the unit payroll totals are kept in so they add up exactly.
+	 * 
+	 * @return Returns the Weekly Pay of the Employee in cents
+	 * @see #getWeeklyPay()
+	 */
+	public long getWeeklyPayCents() {
+		return Math.round(getWeeklyPay() * 100);
+	}
+
+	/**
+	 * Returns the Weekly Hours of the Employee, all the hours in the Employee's Timecard added up.
+	 * 
+	 * @return Returns the Weekly Hours of the Employee
+	 * @see domain.Timecard#getWeeklyHours()
+	 */
+	public int getWeeklyHours() {
+		return getTimecard().getWeeklyHours();
+	}
+
+	/**
+	 * Computes the Weekly Pay of the Employee: the Weekly Hours in the Timecard times the Hourly Rate.
+	 * 
+	 * @return Returns the Weekly Pay of the Employee
+	 * @see #getWeeklyPay()
+	 */
+	protected double calculateWeeklyPay() {
 		return getTimecard().getWeeklyHours() * getHourlyRate();
 	}
 
+	/**
+	 * Discards the computed Weekly Pay, so that the next call to getWeeklyPay() computes it again. Must be called whenever a field the Weekly Pay
+	 * depends on changes.
+	 * 
+	 * @see #getWeeklyPay()
+	 */
+	protected final void invalidateWeeklyPay() {
+		weeklyPay = Double.NaN;
+	}
+
+	/**
+	 * Freezes the Employee: from now on every setter throws BadParameterException. The Weekly Pay is computed here, so a frozen Employee is never
+	 * written again and can be read from any thread once safely published. Freezing a frozen Employee does nothing.
+	 * 
+	 * @see #isFrozen()
+	 * @see domain.Department#adoptEmployee(Employee)
+	 */
+	public final void freeze() {
+		if (!frozen) {
+			getWeeklyPay();
+			frozen = true;
+		}
+	}
+
+	/**
+	 * Checks whether or not the Employee has been frozen.
+	 * 
+	 * @return Returns True if the Employee is frozen and can no longer be changed, False if not
+	 * @see #freeze()
+	 */
+	public final boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Checks that the Employee can still be changed.
+	 * 
+	 * @throws BadParameterException
+	 *             If the Employee is frozen
+	 * @see #freeze()
+	 */
+	private void checkNotFrozen() throws BadParameterException {
+		if (frozen) {
+			throw new BadParameterException("Frozen Employee cannot be changed: " + getEmployeeId());
+		}
+	}
+
 	/**
 	 * Returns the First name of the Employee.
 	 * 
@@ -154,25 +411,27 @@ public class Employee implements Comparable<Employee> {
 	}
 
 	/**
-	 * Sets the provided name as the Fist name of the Employee.
+	 * Sets the provided name as the Fist name of the Employee. The name is interned through the shared NamePool, so Employees with the same name
+	 * share one String.
 	 * 
 	 * @param fName
 	 *            The Employee's First name
 	 * @throws NullParameterException
 	 *             If the provided name is null
 	 * @throws BadParameterException
-	 *             If the provided name length is either zero or less, or more than 20.
+	 *             If the provided name length is either zero or less, or more than MAX_NAME_LENGTH, or the Employee is frozen
 	 * @see #getFirstName()
 	 */
 	public final void setFirstName(String fName) throws NullParameterException, BadParameterException {
+		checkNotFrozen();
 		if (fName == null) {
 			throw new NullParameterException("Null value passed in for firstName");
 		}
 
-		if (fName.length() <= 0 || fName.length() > 20) {
+		if (!isValidName(fName)) {
 			throw new BadParameterException("Bad value passed in for firstName: " + fName);
 		}
-		firstName = fName;
+		firstName = NamePool.shared().intern(fName);
 	}
 
 	/**
@@ -186,25 +445,26 @@ public class Employee implements Comparable<Employee> {
 	}
 
 	/**
-	 * Sets the provided name as the Last name of the Employee.
+	 * Sets the provided name as the Last name of the Employee. The name is interned through the shared NamePool.
 	 * 
 	 * @param lName
 	 *            The Employee's Last name
 	 * @throws NullParameterException
 	 *             If the provided name is null
 	 * @throws BadParameterException
-	 *             If the provided name length is either zero or less, or more than 20.
+	 *             If the provided name length is either zero or less, or more than MAX_NAME_LENGTH, or the Employee is frozen
 	 * @see #getLastName()
 	 */
 	public final void setLastName(String lName) throws NullParameterException, BadParameterException {
+		checkNotFrozen();
 		if (lName == null) {
 			throw new NullParameterException("Null value passed in for lastName");
 		}
 
-		if (lName.length() <= 0 || lName.length() > 20) {
+		if (!isValidName(lName)) {
 			throw new BadParameterException("Bad value passed in for lastName: " + lName);
 		}
-		lastName = lName;
+		lastName = NamePool.shared().intern(lName);
 	}
 
 	/**
@@ -223,11 +483,12 @@ public class Employee implements Comparable<Employee> {
 	 * @param eId
 	 *            The Employee's ID number
 	 * @throws BadParameterException
-	 *             If the provided number is either less than 1000 or more than 9999
+	 *             If the provided number is either less than 1000 or more than 9999, or the Employee is frozen
 	 * @see #getEmployeeId()
 	 */
 	public final void setEmployeeId(int eId) throws BadParameterException {
-		if (eId < 1000 || eId > 9999) {
+		checkNotFrozen();
+		if (!isValidEmployeeId(eId)) {
 			throw new BadParameterException("Bad value passed in for employeeId: " + eId);
 		}
 		employeeId = eId;
@@ -249,14 +510,16 @@ public class Employee implements Comparable<Employee> {
 	 * @param hRate
 	 *            The Employee's Hourly Rate.
 	 * @throws BadParameterException
-	 *             If the provided number is less or equal to 0.0
+	 *             If the provided number is less or equal to 0.0, or the Employee is frozen
 	 * @see #getHourlyRate()
 	 */
 	public final void setHourlyRate(double hRate) throws BadParameterException {
-		if (hRate <= 0.0) {
+		checkNotFrozen();
+		if (!isValidHourlyRate(hRate)) {
 			throw new BadParameterException("Bad value passed in for hourlyRate: " + hRate);
 		}
 		hourlyRate = hRate;
+		invalidateWeeklyPay();
 	}
 
 	/**
@@ -265,7 +528,7 @@ public class Employee implements Comparable<Employee> {
 	 * @see #setTimecard(Timecard)
 	 * @return Returns the Timecard instance of the Employee
 	 */
-	private Timecard getTimecard() {
+	Timecard getTimecard() {
 		return timecard;
 	}
 
@@ -283,23 +546,59 @@ public class Employee implements Comparable<Employee> {
 			throw new NullParameterException("Null Timecard passed to setTimecard");
 		}
 		timecard = tCard;
+		invalidateWeeklyPay();
 	}
 
 	/**
 	 * Returns a formatted report with all the information about the Employee.
 	 * 
 	 * @return Returns a formatted report with all the information about the Employee
+	 * @see #writeReport(Appendable)
 	 */
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
+		try {
+			writeReport(sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); // A StringBuilder never throws IOException
+		}
+		return sb.toString();
+	}
 
-		sb.append(String.format("%-20s %s %s%n", "Name:", getFirstName(), getLastName()));
-		sb.append(String.format("%-20s %d%n", "Id:", getEmployeeId()));
-		sb.append(String.format("%-20s $%.2f%n", "Hourly Rate:", getHourlyRate()));
-		sb.append(String.format("%s", getTimecard()));
-		sb.append(String.format("%-20s $%.2f%n", "Weekly Pay:", getWeeklyPay()));
+	/**
+	 * Writes a formatted report with all the information about the Employee to the provided Appendable, line by line. The report is the same
+	 * as the one returned by toString().
+	 * 
+	 * @param out
+	 *            The Appendable the report is written to
+	 * @throws IOException
+	 *             If writing to the Appendable fails
+	 * @see #toString()
+	 */
+	public void writeReport(Appendable out) throws IOException {
+		ReportBuffer buf = ReportBuffer.acquire(out);
+		try {
+			writeReport(buf);
+			buf.flush();
+		} finally {
+			buf.release();
+		}
+	}
 
-		return sb.toString();
+	/**
+	 * Writes a formatted report with all the information about the Employee to the provided ReportBuffer.
+	 * 
+	 * @param buf
+	 *            The ReportBuffer the report is written to
+	 * @throws IOException
+	 *             If writing to the buffer's target fails
+	 */
+	void writeReport(ReportBuffer buf) throws IOException {
+		buf.append(NAME_LABEL).append(getFirstName()).append(' ').append(getLastName()).newLine();
+		buf.append(ID_LABEL).appendInt(getEmployeeId(), 0).newLine();
+		buf.append(HOURLY_RATE_LABEL).append('$').appendAmount(getHourlyRate()).newLine();
+		getTimecard().writeReport(buf);
+		buf.append(WEEKLY_PAY_LABEL).append('$').appendAmount(getWeeklyPay()).newLine();
 	}
 }
@@ -0,0 +1,1009 @@
+package domain;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import utils.BadParameterException;
+import utils.NamePool;
+import utils.NullParameterException;
+
+/**
+ * Imports Employees and Sales Employees from delimited text, such as CSV or TSV files, into a Department. Every line holds one Employee:
+ * 
+ * <pre>
+ * E,First name,Last name,Employee ID,Hourly Rate,Day 0 hours,Day 1 hours,Day 2 hours,Day 3 hours,Day 4 hours
+ * S,First name,Last name,Employee ID,Hourly Rate,Day 0 hours,Day 1 hours,Day 2 hours,Day 3 hours,Day 4 hours,Sales amount needed,Weekly Sales Total
+ * </pre>
+ * 
+ * Fields may be surrounded by spaces or double quotes, but may not hold the delimiter; blank lines are skipped. The text is read through a
+ * reused buffer and numbers are parsed straight from its bytes, so a row builds no String but its names, and pooled names none at all. Valid
+ * rows are frozen and added to the Department in batches of BATCH_SIZE. A row that can not be added is not thrown: it is counted and reported
+ * in the Result with its line number and the reason, the first MAX_REPORTED_REJECTIONS of them by line. When an Employee ID appears on more than
+ * one valid row, the first row wins, even if it could not be added, and the others are rejected as repeated.<br>
+ * Files can also be split into chunks parsed in parallel; the rows are then added in file order, so the Department and the Result are the same
+ * as when importing the file from a single thread.<br>
+ * Usage example:
+ * 
+ * <pre>
+ * EmployeeImporter.Result myResult = new EmployeeImporter(EmployeeImporter.CSV, true).importFile(myFile, myDepartment);
+ * for (EmployeeImporter.Rejection r : myResult.getRejections()) {
+ * 	System.err.println(r);
+ * }
+ * </pre>
+ * 
+ * @author Christopher Hield
+ * @see domain.Department#addAll(java.util.Collection)
+ * @see domain.ValidationResult
+ * @since Version 1.8
+ *
+ */
+public final class EmployeeImporter {
+
+	/**
+	 * The delimiter of CSV files ({@value})
+	 */
+	public static final char CSV = ',';
+
+	/**
+	 * The delimiter of TSV files.
+	 */
+	public static final char TSV = '\t';
+
+	/**
+	 * The number of rows added to the Department at once ({@value})
+	 */
+	public static final int BATCH_SIZE = 1024;
+
+	/**
+	 * The maximum number of Rejections kept in a Result ({@value})
+	 */
+	public static final int MAX_REPORTED_REJECTIONS = 1000;
+
+	/**
+	 * The size of the read buffer, and so the maximum length of a line ({@value})
+	 */
+	static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * The minimum size of a chunk parsed by its own thread ({@value})
+	 */
+	static final long MIN_CHUNK_SIZE = 1024 * 1024;
+
+	/**
+	 * The number of fields of an Employee row and of a Sales Employee row.
+	 */
+	private static final int EMPLOYEE_FIELDS = 5 + Timecard.NUM_DAYS, SALES_EMPLOYEE_FIELDS = EMPLOYEE_FIELDS + 2;
+
+	/**
+	 * The reason given for a row whose Employee ID is on an earlier valid row of the same text ({@value})
+	 */
+	private static final String REPEATED_ID = "Employee ID repeated in file: ";
+
+	/**
+	 * The number of possible Employee IDs.
+	 */
+	private static final int NUM_IDS = Employee.MAX_ID - Employee.MIN_ID + 1;
+
+	/**
+	 * The powers of ten that are exact doubles.
+	 */
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+			1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/**
+	 * The delimiter of the fields.
+	 */
+	private final char delimiter;
+
+	/**
+	 * Whether the first line is a header to be skipped.
+	 */
+	private final boolean header;
+
+	/**
+	 * Constructor for an EmployeeImporter of text with the provided delimiter.
+	 * 
+	 * @param delimiterIn
+	 *            The delimiter of the fields, such as CSV or TSV
+	 * @param headerIn
+	 *            True if the first line is a header to be skipped
+	 * @throws BadParameterException
+	 *             If the delimiter is not a single-byte char, or is a line break, a double quote, or a char of a number
+	 */
+	public EmployeeImporter(char delimiterIn, boolean headerIn) throws BadParameterException {
+		if (delimiterIn >= 0x80 || delimiterIn == '\n' || delimiterIn == '\r' || delimiterIn == '"' || delimiterIn == ' '
+				|| "0123456789.+-eE".indexOf(delimiterIn) >= 0) {
+			throw new BadParameterException("Invalid delimiter passed to EmployeeImporter: " + (int) delimiterIn);
+		}
+		delimiter = delimiterIn;
+		header = headerIn;
+	}
+
+	/**
+	 * Returns the delimiter of the fields.
+	 * 
+	 * @return Returns the delimiter of the fields
+	 */
+	public char getDelimiter() {
+		return delimiter;
+	}
+
+	/**
+	 * Returns whether the first line is a header to be skipped.
+	 * 
+	 * @return Returns True if the first line is skipped, False if not
+	 */
+	public boolean hasHeader() {
+		return header;
+	}
+
+	/**
+	 * Imports the rows read from the provided channel into the provided Department, until the end of the channel.
+	 * 
+	 * @param in
+	 *            The channel to be read
+	 * @param d
+	 *            The Department the Employees are added to
+	 * @return Returns the Result of the import
+	 * @throws NullParameterException
+	 *             If the channel or the Department is null
+	 * @throws IOException
+	 *             If reading the channel fails
+	 */
+	public Result importFrom(ReadableByteChannel in, Department d) throws NullParameterException, IOException {
+		if (in == null) {
+			throw new NullParameterException("Null channel sent to importFrom!");
+		}
+		if (d == null) {
+			throw new NullParameterException("Null Department sent to importFrom!");
+		}
+		Result result = new Result();
+		Loader loader = new Loader(d, result);
+		new Parser(result, header).parse(in, Long.MAX_VALUE, loader);
+		loader.flush();
+		return result.finish();
+	}
+
+	/**
+	 * Imports the rows of the provided file into the provided Department from the calling thread.
+	 * 
+	 * @param file
+	 *            The file to be read
+	 * @param d
+	 *            The Department the Employees are added to
+	 * @return Returns the Result of the import
+	 * @throws NullParameterException
+	 *             If the file or the Department is null
+	 * @throws IOException
+	 *             If reading the file fails
+	 */
+	public Result importFile(Path file, Department d) throws NullParameterException, IOException {
+		if (file == null) {
+			throw new NullParameterException("Null file sent to importFile!");
+		}
+		try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+			return importFrom(in, d);
+		}
+	}
+
+	/**
+	 * Imports the rows of the provided file into the provided Department, parsing up to the provided number of chunks of the file in parallel
+	 * on the common ForkJoinPool. Files smaller than MIN_CHUNK_SIZE per chunk are split in fewer chunks. The rows are added to the Department in
+	 * file order by the calling thread, so the outcome is the same as importFile(Path, Department).
+	 * 
+	 * @param file
+	 *            The file to be read
+	 * @param d
+	 *            The Department the Employees are added to
+	 * @param chunks
+	 *            The maximum number of chunks parsed in parallel
+	 * @return Returns the Result of the import
+	 * @throws NullParameterException
+	 *             If the file or the Department is null
+	 * @throws BadParameterException
+	 *             If the number of chunks is less than one
+	 * @throws IOException
+	 *             If reading the file fails
+	 * @see #importFile(Path, Department)
+	 */
+	public Result importFile(Path file, Department d, int chunks) throws NullParameterException, BadParameterException, IOException {
+		if (file == null) {
+			throw new NullParameterException("Null file sent to importFile!");
+		}
+		if (d == null) {
+			throw new NullParameterException("Null Department sent to importFile!");
+		}
+		if (chunks < 1) {
+			throw new BadParameterException("Invalid number of chunks: " + chunks);
+		}
+
+		long[] bounds;
+		try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+			bounds = chunkBounds(in, (int) Math.max(1, Math.min(chunks, in.size() / MIN_CHUNK_SIZE)));
+		}
+		if (bounds.length == 2) {
+			return importFile(file, d);
+		}
+
+		ArrayList<Callable<Chunk>> tasks = new ArrayList<>(bounds.length - 1);
+		for (int i = 0; i < bounds.length - 1; i++) {
+			long start = bounds[i];
+			long length = bounds[i + 1] - start;
+			boolean skipHeader = header && i == 0;
+			tasks.add(() -> {
+				Chunk chunk = new Chunk();
+				try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+					in.position(start);
+					chunk.lineCount = new Parser(chunk.result, skipHeader).parse(in, length, chunk);
+				}
+				return chunk;
+			});
+		}
+
+		Result result = new Result();
+		Loader loader = new Loader(d, result);
+		long lineOffset = 0;
+		for (Future<Chunk> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+			Chunk chunk = join(future);
+			for (Rejection r : chunk.result.rejections) {
+				result.keep(new Rejection(r.lineNumber + lineOffset, r.reason));
+			}
+			result.rejectedCount += chunk.result.rejectedCount;
+			for (int i = 0; i < chunk.employees.size(); i++) {
+				loader.accept(chunk.employees.get(i), chunk.lines[i] + lineOffset);
+			}
+			lineOffset += chunk.lineCount;
+		}
+		loader.flush();
+		return result.finish();
+	}
+
+	/**
+	 * Splits the provided file in up to the provided number of chunks, each starting at the beginning of a line.
+	 * 
+	 * @param in
+	 *            The file to be split
+	 * @param chunks
+	 *            The number of chunks wanted
+	 * @return Returns the positions the chunks start at, followed by the size of the file
+	 * @throws IOException
+	 *             If reading the file fails
+	 */
+	private static long[] chunkBounds(FileChannel in, int chunks) throws IOException {
+		long size = in.size();
+		long[] bounds = new long[chunks + 1];
+		int count = 1;
+		ByteBuffer buf = ByteBuffer.allocate(4096);
+		for (int i = 1; i < chunks; i++) {
+			long position = Math.max(size * i / chunks, bounds[count - 1]);
+			long lineStart = size;
+			while (position < size && lineStart == size) {
+				buf.clear();
+				int n = in.read(buf, position);
+				if (n < 0) {
+					break;
+				}
+				for (int j = 0; j < n; j++) {
+					if (buf.get(j) == '\n') {
+						lineStart = position + j + 1;
+						break;
+					}
+				}
+				position += n;
+			}
+			if (lineStart < size && lineStart > bounds[count - 1]) {
+				bounds[count++] = lineStart;
+			}
+		}
+		bounds[count++] = size;
+		long[] trimmed = new long[count];
+		System.arraycopy(bounds, 0, trimmed, 0, count);
+		return trimmed;
+	}
+
+	/**
+	 * Returns the Chunk computed by the provided future, rethrowing the failure of its task.
+	 * 
+	 * @param future
+	 *            The future of the task that parsed the Chunk
+	 * @return Returns the parsed Chunk
+	 * @throws IOException
+	 *             If reading the Chunk failed, or the calling thread was interrupted
+	 */
+	private static Chunk join(Future<Chunk> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while importing Employees");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * The outcome of an import: the number of Employees added and the rows rejected.
+	 */
+	public static final class Result {
+
+		/**
+		 * The number of Employees added to the Department.
+		 */
+		private int importedCount;
+
+		/**
+		 * The number of rows rejected.
+		 */
+		private long rejectedCount;
+
+		/**
+		 * The rows rejected, in no particular order while the import runs. The list is trimmed to the first MAX_REPORTED_REJECTIONS by line whenever
+		 * it reaches twice as many, and once more when the import is finished.
+		 */
+		private final ArrayList<Rejection> rejections = new ArrayList<>();
+
+		/**
+		 * Private constructor for an empty Result.
+		 */
+		private Result() {}
+
+		/**
+		 * Records a rejected row.
+		 * 
+		 * @param lineNumber
+		 *            The line number of the row
+		 * @param reason
+		 *            Why the row was rejected
+		 */
+		private void reject(long lineNumber, String reason) {
+			rejectedCount++;
+			keep(new Rejection(lineNumber, reason));
+		}
+
+		/**
+		 * Keeps the provided Rejection, already counted, until the list is trimmed. Rejections do not arrive in line order when chunks are imported
+		 * in parallel, so none is dropped before the list is sorted.
+		 * 
+		 * @param r
+		 *            The Rejection to be kept
+		 */
+		private void keep(Rejection r) {
+			rejections.add(r);
+			if (rejections.size() >= 2 * MAX_REPORTED_REJECTIONS) {
+				trim();
+			}
+		}
+
+		/**
+		 * Sorts the Rejections by line and keeps the first MAX_REPORTED_REJECTIONS of them.
+		 */
+		private void trim() {
+			Collections.sort(rejections);
+			if (rejections.size() > MAX_REPORTED_REJECTIONS) {
+				rejections.subList(MAX_REPORTED_REJECTIONS, rejections.size()).clear();
+			}
+		}
+
+		/**
+		 * Trims the Rejections for the last time once the import is finished.
+		 * 
+		 * @return Returns this Result
+		 */
+		private Result finish() {
+			trim();
+			return this;
+		}
+
+		/**
+		 * Returns the number of Employees added to the Department.
+		 * 
+		 * @return Returns the number of Employees added
+		 */
+		public int getImportedCount() {
+			return importedCount;
+		}
+
+		/**
+		 * Returns the number of rows rejected.
+		 * 
+		 * @return Returns the number of rows rejected
+		 */
+		public long getRejectedCount() {
+			return rejectedCount;
+		}
+
+		/**
+		 * Returns the rejected rows, the first MAX_REPORTED_REJECTIONS of them by line.
+		 * 
+		 * @return Returns an unmodifiable list of the rejected rows
+		 */
+		public List<Rejection> getRejections() {
+			return Collections.unmodifiableList(rejections);
+		}
+
+		@Override
+		public String toString() {
+			return "Imported " + importedCount + " employees, rejected " + rejectedCount + " rows";
+		}
+	}
+
+	/**
+	 * A row that was not imported, with its line number and the reason.
+	 */
+	public static final class Rejection implements Comparable<Rejection> {
+
+		/**
+		 * The line number of the row, starting from 1.
+		 */
+		private final long lineNumber;
+
+		/**
+		 * Why the row was rejected.
+		 */
+		private final String reason;
+
+		/**
+		 * Private constructor for a Rejection.
+		 * 
+		 * @param lineNumberIn
+		 *            The line number of the row
+		 * @param reasonIn
+		 *            Why the row was rejected
+		 */
+		private Rejection(long lineNumberIn, String reasonIn) {
+			lineNumber = lineNumberIn;
+			reason = reasonIn;
+		}
+
+		/**
+		 * Returns the line number of the row, starting from 1.
+		 * 
+		 * @return Returns the line number of the row
+		 */
+		public long getLineNumber() {
+			return lineNumber;
+		}
+
+		/**
+		 * Returns why the row was rejected.
+		 * 
+		 * @return Returns why the row was rejected
+		 */
+		public String getReason() {
+			return reason;
+		}
+
+		@Override
+		public int compareTo(Rejection other) {
+			return Long.compare(lineNumber, other.lineNumber);
+		}
+
+		@Override
+		public String toString() {
+			return "Line " + lineNumber + ": " + reason;
+		}
+	}
+
+	/**
+	 * Receives the valid rows of a Parser.
+	 */
+	private interface RowSink {
+
+		/**
+		 * Receives a valid, frozen Employee.
+		 * 
+		 * @param e
+		 *            The Employee of the row
+		 * @param lineNumber
+		 *            The line number of the row
+		 */
+		void accept(Employee e, long lineNumber);
+	}
+
+	/**
+	 * Adds rows to a Department in batches, rejecting IDs repeated in the file or already in the Department or its Organization, and rows past
+	 * the maximum number of Employees.
+	 */
+	private static final class Loader implements RowSink {
+
+		/**
+		 * The Department the Employees are added to.
+		 */
+		private final Department department;
+
+		/**
+		 * The Result rejected rows are recorded in.
+		 */
+		private final Result result;
+
+		/**
+		 * The Employees waiting to be added.
+		 */
+		private final ArrayList<Employee> batch = new ArrayList<>(BATCH_SIZE);
+
+		/**
+		 * The IDs of the valid rows received so far, whether they were added or not.
+		 */
+		private final boolean[] seen = new boolean[NUM_IDS];
+
+		/**
+		 * Constructor for a Loader into the provided Department.
+		 * 
+		 * @param d
+		 *            The Department the Employees are added to
+		 * @param resultIn
+		 *            The Result rejected rows are recorded in
+		 */
+		private Loader(Department d, Result resultIn) {
+			department = d;
+			result = resultIn;
+		}
+
+		@Override
+		public void accept(Employee e, long lineNumber) {
+			int id = e.getEmployeeId();
+			if (seen[id - Employee.MIN_ID]) {
+				result.reject(lineNumber, REPEATED_ID + id);
+				return;
+			}
+			seen[id - Employee.MIN_ID] = true;
+			if (department.isInDepartment(id)) {
+				result.reject(lineNumber, "Employee ID already in Department: " + id);
+			} else if (department.getOrganization() != null && department.getOrganization().isInOrganization(id)) {
+				result.reject(lineNumber, "Employee ID already in Organization: " + id);
+			} else if (department.getNumInDepartment() + batch.size() >= department.getMaxEmployees()) {
+				result.reject(lineNumber, "This Department is already at the max. number of employees: " + department.getMaxEmployees());
+			} else {
+				batch.add(e);
+				if (batch.size() == BATCH_SIZE) {
+					flush();
+				}
+			}
+		}
+
+		/**
+		 * Adds the waiting Employees to the Department.
+		 */
+		private void flush() {
+			if (batch.isEmpty()) {
+				return;
+			}
+			try {
+				department.addAll(batch);
+			} catch (NullParameterException | BadParameterException e) {
+				throw new IllegalStateException(e); // The batch was checked against the Department and its Organization
+			}
+			result.importedCount += batch.size();
+			batch.clear();
+		}
+	}
+
+	/**
+	 * The rows of one chunk of a file, parsed by their own thread. Only the first row of each Employee ID is kept, so a Chunk holds at most one
+	 * Employee per ID.
+	 */
+	private static final class Chunk implements RowSink {
+
+		/**
+		 * The rows rejected by the Parser, with line numbers relative to the chunk.
+		 */
+		private final Result result = new Result();
+
+		/**
+		 * The valid rows, in file order.
+		 */
+		private final ArrayList<Employee> employees = new ArrayList<>();
+
+		/**
+		 * The line numbers of the valid rows, relative to the chunk.
+		 */
+		private final long[] lines = new long[NUM_IDS];
+
+		/**
+		 * The IDs of the valid rows.
+		 */
+		private final boolean[] seen = new boolean[NUM_IDS];
+
+		/**
+		 * The number of lines in the chunk.
+		 */
+		private long lineCount;
+
+		@Override
+		public void accept(Employee e, long lineNumber) {
+			int id = e.getEmployeeId();
+			if (seen[id - Employee.MIN_ID]) {
+				result.reject(lineNumber, REPEATED_ID + id);
+			} else {
+				seen[id - Employee.MIN_ID] = true;
+				lines[employees.size()] = lineNumber;
+				employees.add(e);
+			}
+		}
+	}
+
+	/**
+	 * Splits text into lines and fields, and turns each line into an Employee or a Rejection. A Parser reuses its buffers from row to row and
+	 * must only be used by one thread.
+	 */
+	private final class Parser {
+
+		/**
+		 * The Result rejected rows are recorded in.
+		 */
+		private final Result result;
+
+		/**
+		 * Whether the first line is skipped.
+		 */
+		private final boolean skipFirstLine;
+
+		/**
+		 * The read buffer.
+		 */
+		private final byte[] bytes = new byte[BUFFER_SIZE];
+
+		/**
+		 * The start and end positions of the fields of the current line.
+		 */
+		private final int[] fieldStart = new int[SALES_EMPLOYEE_FIELDS], fieldEnd = new int[SALES_EMPLOYEE_FIELDS];
+
+		/**
+		 * The hours of the current line.
+		 */
+		private final int[] days = new int[Timecard.NUM_DAYS];
+
+		/**
+		 * The index of the first malformed number of the current line, -1 if there is none.
+		 */
+		private int badField = -1;
+
+		/**
+		 * Constructor for a Parser.
+		 * 
+		 * @param resultIn
+		 *            The Result rejected rows are recorded in
+		 * @param skipFirstLineIn
+		 *            True if the first line is a header
+		 */
+		private Parser(Result resultIn, boolean skipFirstLineIn) {
+			result = resultIn;
+			skipFirstLine = skipFirstLineIn;
+		}
+
+		/**
+		 * Parses up to the provided number of bytes from the provided channel, handing every valid row to the provided sink.
+		 * 
+		 * @param in
+		 *            The channel to be read
+		 * @param limit
+		 *            The maximum number of bytes to be read
+		 * @param sink
+		 *            The receiver of the valid rows
+		 * @return Returns the number of lines parsed
+		 * @throws IOException
+		 *             If reading the channel fails
+		 */
+		private long parse(ReadableByteChannel in, long limit, RowSink sink) throws IOException {
+			ByteBuffer buf = ByteBuffer.wrap(bytes);
+			long remaining = limit;
+			long lineNumber = 0;
+			boolean tooLong = false;
+			boolean eof = false;
+			int start = 0;
+			int end = 0;
+			int scan = 0;
+			while (true) {
+				int newline = -1;
+				for (int i = scan; i < end; i++) {
+					if (bytes[i] == '\n') {
+						newline = i;
+						break;
+					}
+				}
+				if (newline >= 0 || (eof && start < end)) {
+					int lineEnd = newline >= 0 ? newline : end;
+					lineNumber++;
+					if (tooLong) {
+						result.reject(lineNumber, "Line is longer than " + BUFFER_SIZE + " bytes");
+						tooLong = false;
+					} else if (lineNumber > 1 || !skipFirstLine) {
+						parseLine(start, lineEnd, lineNumber, sink);
+					}
+					start = scan = lineEnd + 1;
+					continue;
+				}
+				if (eof) {
+					if (tooLong) {
+						result.reject(++lineNumber, "Line is longer than " + BUFFER_SIZE + " bytes");
+					}
+					return lineNumber;
+				}
+				if (start == 0 && end == bytes.length) {
+					tooLong = true; // Drop the start of the line and look for its end
+					end = 0;
+				} else {
+					System.arraycopy(bytes, start, bytes, 0, end - start);
+					end -= start;
+				}
+				start = 0;
+				scan = end;
+				buf.limit(end + (int) Math.min(bytes.length - end, remaining)).position(end);
+				int n = remaining == 0 ? -1 : in.read(buf);
+				if (n < 0) {
+					eof = true;
+				} else {
+					end += n;
+					remaining -= n;
+				}
+			}
+		}
+
+		/**
+		 * Parses the line held in the provided range of the buffer.
+		 * 
+		 * @param from
+		 *            The position of the first byte of the line
+		 * @param to
+		 *            The position after the last byte of the line
+		 * @param lineNumber
+		 *            The line number
+		 * @param sink
+		 *            The receiver of the row if it is valid
+		 */
+		private void parseLine(int from, int to, long lineNumber, RowSink sink) {
+			if (to > from && bytes[to - 1] == '\r') {
+				to--;
+			}
+			int fields = 0;
+			int fieldFrom = from;
+			boolean blank = true;
+			for (int i = from; i <= to; i++) {
+				if (i == to || bytes[i] == delimiter) {
+					if (fields == SALES_EMPLOYEE_FIELDS) {
+						result.reject(lineNumber, "Too many fields: more than " + SALES_EMPLOYEE_FIELDS);
+						return;
+					}
+					fieldStart[fields] = fieldFrom;
+					fieldEnd[fields++] = i;
+					fieldFrom = i + 1;
+				} else if (bytes[i] != ' ') {
+					blank = false;
+				}
+			}
+			if (blank && fields == 1) {
+				return;
+			}
+
+			boolean sales;
+			trim(0);
+			if (fieldEnd[0] - fieldStart[0] == 1 && (bytes[fieldStart[0]] == 'E' || bytes[fieldStart[0]] == 'S')) {
+				sales = bytes[fieldStart[0]] == 'S';
+			} else {
+				result.reject(lineNumber, "Bad employee type in field 1, expected E or S");
+				return;
+			}
+			int expected = sales ? SALES_EMPLOYEE_FIELDS : EMPLOYEE_FIELDS;
+			if (fields != expected) {
+				result.reject(lineNumber, "Wrong number of fields: " + fields + ", expected " + expected);
+				return;
+			}
+
+			int id = parseInt(3);
+			double rate = parseDouble(4);
+			for (int day = 0; day < Timecard.NUM_DAYS; day++) {
+				days[day] = parseInt(5 + day);
+			}
+			double salesNeeded = sales ? parseDouble(10) : 0;
+			double weeklyTotal = sales ? parseDouble(11) : 0;
+			if (badField >= 0) {
+				result.reject(lineNumber, "Bad number in field " + (badField + 1));
+				badField = -1;
+				return;
+			}
+
+			String fName = name(1);
+			String lName = name(2);
+			int errors = Employee.validationErrors(fName, lName, id, rate, days);
+			if (sales && !SalesEmployee.isValidSalesAmount(salesNeeded)) {
+				errors |= ValidationError.BAD_SALES_AMOUNT_NEEDED.bit();
+			}
+			if (sales && !SalesEmployee.isValidSalesAmount(weeklyTotal)) {
+				errors |= ValidationError.BAD_WEEKLY_SALES_TOTAL.bit();
+			}
+			if (errors != 0) {
+				result.reject(lineNumber, ValidationResult.of(errors).toString());
+				return;
+			}
+
+			Employee e;
+			try {
+				e = sales ? new SalesEmployee(fName, lName, id, rate, days, salesNeeded, weeklyTotal)
+						: new Employee(fName, lName, id, rate, days);
+			} catch (NullParameterException | BadParameterException ex) {
+				throw new IllegalStateException(ex); // The values were validated
+			}
+			e.freeze();
+			sink.accept(e, lineNumber);
+		}
+
+		/**
+		 * Records the provided field as malformed, unless an earlier field of the line already is.
+		 * 
+		 * @param field
+		 *            The index of the malformed field
+		 */
+		private void badNumber(int field) {
+			if (badField < 0) {
+				badField = field;
+			}
+		}
+
+		/**
+		 * Narrows the provided field to its value, dropping surrounding spaces and double quotes.
+		 * 
+		 * @param field
+		 *            The index of the field
+		 */
+		private void trim(int field) {
+			int from = fieldStart[field];
+			int to = fieldEnd[field];
+			while (from < to && bytes[from] == ' ') {
+				from++;
+			}
+			while (to > from && bytes[to - 1] == ' ') {
+				to--;
+			}
+			if (to - from >= 2 && bytes[from] == '"' && bytes[to - 1] == '"') {
+				from++;
+				to--;
+			}
+			fieldStart[field] = from;
+			fieldEnd[field] = to;
+		}
+
+		/**
+		 * Returns the pooled name held in the provided field. ASCII names are interned straight from the buffer.
+		 * 
+		 * @param field
+		 *            The index of the field
+		 * @return Returns the name
+		 */
+		private String name(int field) {
+			trim(field);
+			int from = fieldStart[field];
+			int to = fieldEnd[field];
+			for (int i = from; i < to; i++) {
+				if (bytes[i] < 0) {
+					return NamePool.shared().intern(new String(bytes, from, to - from, StandardCharsets.UTF_8));
+				}
+			}
+			return NamePool.shared().intern(bytes, from, to - from);
+		}
+
+		/**
+		 * Parses the int held in the provided field, recording the field if it is malformed.
+		 * 
+		 * @param field
+		 *            The index of the field
+		 * @return Returns the int, zero if it is malformed
+		 */
+		private int parseInt(int field) {
+			trim(field);
+			int from = fieldStart[field];
+			int to = fieldEnd[field];
+			boolean negative = from < to && bytes[from] == '-';
+			if (negative || (from < to && bytes[from] == '+')) {
+				from++;
+			}
+			if (from == to || to - from > 9) {
+				badNumber(field);
+				return 0;
+			}
+			int value = 0;
+			for (int i = from; i < to; i++) {
+				int digit = bytes[i] - '0';
+				if (digit < 0 || digit > 9) {
+					badNumber(field);
+					return 0;
+				}
+				value = value * 10 + digit;
+			}
+			return negative ? -value : value;
+		}
+
+		/**
+		 * Parses the double held in the provided field, recording the field if it is malformed. Plain decimals with up to 15 digits are parsed
+		 * straight from the bytes, exactly as Double.parseDouble would; anything else falls back to Double.parseDouble.
+		 * 
+		 * @param field
+		 *            The index of the field
+		 * @return Returns the double, zero if it is malformed
+		 */
+		private double parseDouble(int field) {
+			trim(field);
+			int from = fieldStart[field];
+			int to = fieldEnd[field];
+			int i = from;
+			boolean negative = i < to && bytes[i] == '-';
+			if (negative || (i < to && bytes[i] == '+')) {
+				i++;
+			}
+			long mantissa = 0;
+			int digits = 0;
+			int fractionDigits = -1;
+			for (; i < to; i++) {
+				int digit = bytes[i] - '0';
+				if (digit >= 0 && digit <= 9) {
+					mantissa = mantissa * 10 + digit;
+					digits++;
+					if (fractionDigits >= 0) {
+						fractionDigits++;
+					}
+				} else if (bytes[i] == '.' && fractionDigits < 0) {
+					fractionDigits = 0;
+				} else {
+					break;
+				}
+			}
+			if (i == to && digits > 0 && digits <= 15) {
+				double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa; // Both exact, so one rounding
+				return negative ? -value : value;
+			}
+			return parseDoubleSlowly(field, from, to);
+		}
+
+		/**
+		 * Parses the double held in the provided range of the buffer with Double.parseDouble, recording the field if it is malformed.
+		 * 
+		 * @param field
+		 *            The index of the field
+		 * @param from
+		 *            The position of the first byte of the number
+		 * @param to
+		 *            The position after the last byte of the number
+		 * @return Returns the double, zero if it is malformed
+		 */
+		private double parseDoubleSlowly(int field, int from, int to) {
+			for (int i = from; i < to; i++) {
+				if ("0123456789.+-eE".indexOf(bytes[i]) < 0) {
+					badNumber(field); // Fail without building an exception for most malformed numbers
+					return 0;
+				}
+			}
+			if (from == to) {
+				badNumber(field);
+				return 0;
+			}
+			try {
+				return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.ISO_8859_1));
+			} catch (NumberFormatException e) {
+				badNumber(field);
+				return 0;
+			}
+		}
+	}
+}
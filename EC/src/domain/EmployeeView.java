@@ -0,0 +1,55 @@
+package domain;
+
+/**
+ * A read-only view of an Employee's information. It is implemented by Employee itself and by the lightweight views handed out by Employee stores
+ * that do not keep an Employee object per row.<br>
+ * Usage example:
+ * 
+ * <pre>
+ * EmployeeView myView = myColumnarStore.getView(0);
+ * double pay = myView.getWeeklyPay();
+ * </pre>
+ * 
+ * @author Christopher Hield
+ * @see domain.Employee
+ * @see domain.ColumnarEmployeeStore
+ * @since Version 1.8
+ *
+ */
+public interface EmployeeView {
+
+	/**
+	 * Returns the First name of the Employee.
+	 * 
+	 * @return Returns the First name of the Employee
+	 */
+	String getFirstName();
+
+	/**
+	 * Returns the Last name of the Employee.
+	 * 
+	 * @return Returns the Last name of the Employee
+	 */
+	String getLastName();
+
+	/**
+	 * Returns the ID of the Employee.
+	 * 
+	 * @return Returns the ID of the Employee
+	 */
+	int getEmployeeId();
+
+	/**
+	 * Returns the Hourly Rate of the Employee.
+	 * 
+	 * @return Returns the Hourly Rate of the Employee
+	 */
+	double getHourlyRate();
+
+	/**
+	 * Returns the Weekly Pay of the Employee, computed the same way as Employee.getWeeklyPay() or SalesEmployee.getWeeklyPay().
+	 * 
+	 * @return Returns the Weekly Pay of the Employee
+	 */
+	double getWeeklyPay();
+}
@@ -0,0 +1,638 @@
+package domain;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+import utils.BadParameterException;
+import utils.NamePool;
+
+/**
+ * A read-only Department backed by a memory-mapped file. Nothing is deserialized when the file is opened: Employees are read straight from the
+ * mapped bytes through reusable Cursors, flyweights that implement EmployeeView and decode names only when asked for them. Payroll scans and
+ * lookups by Employee ID therefore start at once and use almost no heap, whatever the size of the roster.<br>
+ * The file holds fixed-width records sorted by Employee ID, so a row is found by binary search and a scan reads the records in order:
+ * 
+ * <pre>
+ * header   int MAGIC, short VERSION, short RECORD_SIZE, int number of Employees, int maximum number of Employees,
+ *          int length of the UTF-8 Department name, int offset of the records, int offset and int length of the string table,
+ *          followed by the Department name
+ * record   short Employee ID, byte flags, byte First name length, byte Last name length, 3 bytes padding,
+ *          double Hourly Rate, double Sales amount needed, double Weekly Sales Total, int packed hours, int Weekly Hours,
+ *          20 bytes First name, 20 bytes Last name
+ * strings  UTF-8 names that are not Latin-1
+ * </pre>
+ * 
+ * A name is stored in its record as Latin-1 bytes; a name with other chars is stored in the string table and its record holds its offset and
+ * length instead. The file is trusted: its layout is checked when it is opened, but the values of the records are not.<br>
+ * A MappedDepartment never changes and can be read from any number of threads, each with its own Cursor. The mapping is released when the
+ * MappedDepartment is garbage collected.<br>
+ * Usage example:
+ * 
+ * <pre>
+ * MappedDepartment.write(myDepartment, myFile);
+ * MappedDepartment myMapped = MappedDepartment.open(myFile);
+ * MappedDepartment.Cursor myCursor = myMapped.cursor();
+ * while (myCursor.next()) {
+ * 	total += myCursor.getWeeklyPay();
+ * }
+ * </pre>
+ * 
+ * @author Christopher Hield
+ * @see domain.Department
+ * @see domain.EmployeeView
+ * @since Version 1.8
+ *
+ */
+public final class MappedDepartment {
+
+	/**
+	 * The first four bytes of a mapped Department file, "ECDM" ({@value})
+	 */
+	static final int MAGIC = 0x4543444D;
+
+	/**
+	 * The version of the file layout written ({@value})
+	 */
+	static final short VERSION = 1;
+
+	/**
+	 * The size of an Employee record ({@value})
+	 */
+	static final int RECORD_SIZE = 80;
+
+	/**
+	 * The size of the header before the Department name.
+	 */
+	private static final int HEADER_SIZE = 4 + 2 + 2 + 4 + 4 + 4 + 4 + 4 + 4;
+
+	/**
+	 * The flag of a Sales Employee record.
+	 */
+	private static final int SALES_FLAG = 1;
+
+	/**
+	 * The name length byte of a name stored in the string table.
+	 */
+	private static final int IN_STRING_TABLE = 0xFF;
+
+	/**
+	 * The positions of the fields in a record.
+	 */
+	private static final int ID = 0, FLAGS = 2, FIRST_NAME_LENGTH = 3, LAST_NAME_LENGTH = 4, HOURLY_RATE = 8, SALES_AMOUNT_NEEDED = 16,
+			WEEKLY_SALES_TOTAL = 24, PACKED_HOURS = 32, WEEKLY_HOURS = 36, FIRST_NAME = 40, LAST_NAME = 60;
+
+	/**
+	 * The mapped file.
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * The name of the Department.
+	 * 
+	 * @see #getDepartmentName()
+	 */
+	private final String departmentName;
+
+	/**
+	 * The maximum number of Employees of the Department the file was written from.
+	 * 
+	 * @see #getMaxEmployees()
+	 */
+	private final int maxEmployees;
+
+	/**
+	 * The number of Employee records.
+	 * 
+	 * @see #getNumInDepartment()
+	 */
+	private final int size;
+
+	/**
+	 * The position of the first record in the file.
+	 */
+	private final int recordsOffset;
+
+	/**
+	 * The position of the string table in the file.
+	 */
+	private final int stringsOffset;
+
+	/**
+	 * Private constructor for a MappedDepartment over a checked mapping.
+	 * 
+	 * @param bufferIn
+	 *            The mapped file
+	 * @param dName
+	 *            The name of the Department
+	 * @param maxEmp
+	 *            The maximum number of Employees
+	 * @param sizeIn
+	 *            The number of Employee records
+	 * @param recordsAt
+	 *            The position of the first record
+	 * @param stringsAt
+	 *            The position of the string table
+	 */
+	private MappedDepartment(ByteBuffer bufferIn, String dName, int maxEmp, int sizeIn, int recordsAt, int stringsAt) {
+		buffer = bufferIn;
+		departmentName = dName;
+		maxEmployees = maxEmp;
+		size = sizeIn;
+		recordsOffset = recordsAt;
+		stringsOffset = stringsAt;
+	}
+
+	/**
+	 * Writes the Employees of the provided Department to the provided file in the mapped layout, replacing the file if it exists.
+	 * 
+	 * @param d
+	 *            The Department to be written
+	 * @param file
+	 *            The file to be written
+	 * @throws IOException
+	 *             If writing the file fails
+	 * @see #open(Path)
+	 */
+	public static void write(Department d, Path file) throws IOException {
+		DepartmentSnapshot snapshot = d.snapshot();
+		byte[] name = snapshot.getDepartmentName().getBytes(StandardCharsets.UTF_8);
+		int recordsAt = (HEADER_SIZE + name.length + 7) & ~7;
+		int stringsAt = recordsAt + snapshot.size() * RECORD_SIZE;
+
+		ArrayList<byte[]> strings = new ArrayList<>();
+		int stringsLength = 0;
+		ByteBuffer records = ByteBuffer.allocate(snapshot.size() * RECORD_SIZE);
+		for (int i = 0; i < snapshot.size(); i++) {
+			Employee e = snapshot.get(i);
+			int base = i * RECORD_SIZE;
+			records.putShort(base + ID, (short) e.getEmployeeId());
+			records.putDouble(base + HOURLY_RATE, e.getHourlyRate());
+			records.putInt(base + PACKED_HOURS, e.getTimecard().getPackedHours());
+			records.putInt(base + WEEKLY_HOURS, e.getWeeklyHours());
+			if (e instanceof SalesEmployee) {
+				records.put(base + FLAGS, (byte) SALES_FLAG);
+				records.putDouble(base + SALES_AMOUNT_NEEDED, ((SalesEmployee) e).getSalesAmountNeeded());
+				records.putDouble(base + WEEKLY_SALES_TOTAL, ((SalesEmployee) e).getWeeklySalesTotal());
+			}
+			String[] names = { e.getFirstName(), e.getLastName() };
+			for (int n = 0; n < 2; n++) {
+				int lengthAt = base + FIRST_NAME_LENGTH + n;
+				int nameAt = base + FIRST_NAME + n * Employee.MAX_NAME_LENGTH;
+				if (isLatin1(names[n])) {
+					records.put(lengthAt, (byte) names[n].length());
+					for (int c = 0; c < names[n].length(); c++) {
+						records.put(nameAt + c, (byte) names[n].charAt(c));
+					}
+				} else {
+					byte[] utf8 = names[n].getBytes(StandardCharsets.UTF_8);
+					records.put(lengthAt, (byte) IN_STRING_TABLE);
+					records.putInt(nameAt, stringsLength);
+					records.putInt(nameAt + 4, utf8.length);
+					strings.add(utf8);
+					stringsLength += utf8.length;
+				}
+			}
+		}
+
+		ByteBuffer header = ByteBuffer.allocate(recordsAt);
+		header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE).putInt(snapshot.size()).putInt(d.getMaxEmployees());
+		header.putInt(name.length).putInt(recordsAt).putInt(stringsAt).putInt(stringsLength).put(name);
+		header.clear();
+		try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			writeFully(out, header);
+			writeFully(out, records);
+			for (byte[] s : strings) {
+				writeFully(out, ByteBuffer.wrap(s));
+			}
+		}
+	}
+
+	/**
+	 * Writes every remaining byte of the buffer to the channel.
+	 * 
+	 * @param out
+	 *            The channel written to
+	 * @param buf
+	 *            The bytes to be written
+	 * @throws IOException
+	 *             If writing fails
+	 */
+	private static void writeFully(FileChannel out, ByteBuffer buf) throws IOException {
+		while (buf.hasRemaining()) {
+			out.write(buf);
+		}
+	}
+
+	/**
+	 * Checks whether every char of the provided name is a Latin-1 char.
+	 * 
+	 * @param name
+	 *            The name to be checked
+	 * @return Returns True if every char is below 256, False if not
+	 */
+	private static boolean isLatin1(String name) {
+		for (int i = 0; i < name.length(); i++) {
+			if (name.charAt(i) > 0xFF) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Maps the provided file, written by write(Department, Path), read-only. Only the header is read and the layout checked; no record is read.
+	 * 
+	 * @param file
+	 *            The file to be mapped
+	 * @return Returns the MappedDepartment over the file
+	 * @throws IOException
+	 *             If mapping the file fails, or it is not a mapped Department file
+	 * @see #write(Department, Path)
+	 */
+	public static MappedDepartment open(Path file) throws IOException {
+		MappedByteBuffer buf;
+		try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (in.size() > Integer.MAX_VALUE) {
+				throw new IOException("Not a mapped Department file: too large");
+			}
+			buf = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size()); // The mapping outlives the channel
+		}
+		if (buf.capacity() < HEADER_SIZE || buf.getInt(0) != MAGIC) {
+			throw new IOException("Not a mapped Department file: bad magic number");
+		}
+		if (buf.getShort(4) != VERSION || buf.getShort(6) != RECORD_SIZE) {
+			throw new IOException("Unsupported mapped Department file version: " + buf.getShort(4));
+		}
+		int count = buf.getInt(8);
+		int maxEmp = buf.getInt(12);
+		int nameLength = buf.getInt(16);
+		int recordsAt = buf.getInt(20);
+		int stringsAt = buf.getInt(24);
+		int stringsLength = buf.getInt(28);
+		if (count < 0 || count > Employee.MAX_ID - Employee.MIN_ID + 1 || maxEmp <= 0 || nameLength <= 0
+				|| recordsAt < HEADER_SIZE + nameLength || stringsAt != recordsAt + count * RECORD_SIZE || stringsLength < 0
+				|| (long) stringsAt + stringsLength != buf.capacity()) {
+			throw new IOException("Mapped Department file is damaged: bad layout");
+		}
+		byte[] name = new byte[nameLength];
+		for (int i = 0; i < nameLength; i++) {
+			name[i] = buf.get(HEADER_SIZE + i);
+		}
+		return new MappedDepartment(buf, new String(name, StandardCharsets.UTF_8), maxEmp, count, recordsAt, stringsAt);
+	}
+
+	/**
+	 * Returns the name of the Department.
+	 * 
+	 * @return Returns the name of the Department
+	 */
+	public String getDepartmentName() {
+		return departmentName;
+	}
+
+	/**
+	 * Returns the maximum number of Employees of the Department the file was written from.
+	 * 
+	 * @return Returns the maximum number of Employees
+	 */
+	public int getMaxEmployees() {
+		return maxEmployees;
+	}
+
+	/**
+	 * Returns the number of Employees in the file.
+	 * 
+	 * @return Returns the number of Employees in the file
+	 */
+	public int getNumInDepartment() {
+		return size;
+	}
+
+	/**
+	 * Returns the row of the Employee with the provided ID, found by binary search over the mapped records.
+	 * 
+	 * @param id
+	 *            The Employee ID to be found
+	 * @return Returns the row of the Employee, or -1 if the Employee is not in the file
+	 */
+	public int getRow(int id) {
+		int low = 0;
+		int high = size - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int midId = buffer.getShort(recordsOffset + mid * RECORD_SIZE + ID);
+			if (midId < id) {
+				low = mid + 1;
+			} else if (midId > id) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Checks whether or not an Employee with the provided ID is in the file.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee to be checked
+	 * @return Returns True if the Employee is in the file, False if not
+	 */
+	public boolean isInDepartment(int id) {
+		return getRow(id) >= 0;
+	}
+
+	/**
+	 * Returns a new Cursor over the file, positioned before the first row.
+	 * 
+	 * @return Returns a new Cursor
+	 */
+	public Cursor cursor() {
+		return new Cursor();
+	}
+
+	/**
+	 * Returns the sum of the Weekly Pay of every Employee in the file, each rounded to cents, read straight from the mapped records. The total is
+	 * the same as Department.getTotalWeeklyPay() for the Department the file was written from.
+	 * 
+	 * @return Returns the sum of the Weekly Pay of every Employee
+	 * @see #getTotalWeeklyPayCents()
+	 */
+	public double getTotalWeeklyPay() {
+		return getTotalWeeklyPayCents() / 100.0;
+	}
+
+	/**
+	 * Returns the sum of the Weekly Pay in cents of every Employee in the file, read straight from the mapped records.
+	 * 
+	 * @return Returns the sum of the Weekly Pay in cents of every Employee
+	 * @see domain.Employee#getWeeklyPayCents()
+	 */
+	public long getTotalWeeklyPayCents() {
+		long total = 0;
+		for (int row = 0; row < size; row++) {
+			total += Math.round(weeklyPay(recordsOffset + row * RECORD_SIZE) * 100);
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the payroll summary of the file, computed like Department.getPayrollSummary() but straight from the mapped records.
+	 * 
+	 * @return Returns the payroll summary of the file
+	 */
+	public PayrollSummary getPayrollSummary() {
+		PayrollSummary summary = new PayrollSummary();
+		for (int row = 0; row < size; row++) {
+			int base = recordsOffset + row * RECORD_SIZE;
+			summary.accept((buffer.get(base + FLAGS) & SALES_FLAG) != 0, weeklyPay(base), buffer.getInt(base + WEEKLY_HOURS));
+		}
+		return summary;
+	}
+
+	/**
+	 * Computes the Weekly Pay of the record at the provided position, the same way Employee and SalesEmployee do.
+	 * 
+	 * @param base
+	 *            The position of the record
+	 * @return Returns the Weekly Pay of the record
+	 */
+	private double weeklyPay(int base) {
+		if ((buffer.get(base + FLAGS) & SALES_FLAG) != 0) {
+			double weeklyTotal = buffer.getDouble(base + WEEKLY_SALES_TOTAL);
+			if (weeklyTotal >= buffer.getDouble(base + SALES_AMOUNT_NEEDED)) {
+				return weeklyTotal * SalesEmployee.BONUS_MULTIPLIER;
+			}
+		}
+		return buffer.getInt(base + WEEKLY_HOURS) * buffer.getDouble(base + HOURLY_RATE);
+	}
+
+	/**
+	 * A reusable, read-only view of one row of a MappedDepartment at a time. Every getter reads the mapped record of the current row, and names
+	 * are decoded only when asked for, through the shared NamePool, so reading a pooled name builds no String. A Cursor must only be used by one
+	 * thread at a time.
+	 */
+	public final class Cursor implements EmployeeView {
+
+		/**
+		 * The current row, -1 before the first one.
+		 */
+		private int row = -1;
+
+		/**
+		 * The position of the record of the current row.
+		 */
+		private int base = -1;
+
+		/**
+		 * The bytes of a Latin-1 name being decoded, reused.
+		 */
+		private final byte[] nameBytes = new byte[Employee.MAX_NAME_LENGTH];
+
+		/**
+		 * Private constructor for a Cursor before the first row.
+		 */
+		private Cursor() {}
+
+		/**
+		 * Moves the Cursor to the next row.
+		 * 
+		 * @return Returns True if the Cursor is on a row, False if it has moved past the last one
+		 */
+		public boolean next() {
+			if (row + 1 >= size) {
+				row = size;
+				base = -1;
+				return false;
+			}
+			row++;
+			base = recordsOffset + row * RECORD_SIZE;
+			return true;
+		}
+
+		/**
+		 * Moves the Cursor to the provided row.
+		 * 
+		 * @param rowIn
+		 *            The row to move to
+		 * @throws BadParameterException
+		 *             If the row is less than zero, or not less than the number of Employees
+		 */
+		public void moveTo(int rowIn) throws BadParameterException {
+			if (rowIn < 0 || rowIn >= size) {
+				throw new BadParameterException("Bad row value passed to moveTo: " + rowIn);
+			}
+			row = rowIn;
+			base = recordsOffset + row * RECORD_SIZE;
+		}
+
+		/**
+		 * Moves the Cursor to the row of the Employee with the provided ID, if it is in the file.
+		 * 
+		 * @param id
+		 *            The Employee ID to be found
+		 * @return Returns True if the Employee was found, False if not, in which case the Cursor has not moved
+		 */
+		public boolean seek(int id) {
+			int found = MappedDepartment.this.getRow(id);
+			if (found < 0) {
+				return false;
+			}
+			row = found;
+			base = recordsOffset + row * RECORD_SIZE;
+			return true;
+		}
+
+		/**
+		 * Returns the current row.
+		 * 
+		 * @return Returns the current row, -1 before the first row and the number of Employees after the last one
+		 */
+		public int getRow() {
+			return row;
+		}
+
+		/**
+		 * Returns the position of the record of the current row.
+		 * 
+		 * @return Returns the position of the record
+		 * @throws IllegalStateException
+		 *             If the Cursor is not on a row
+		 */
+		private int base() {
+			if (base < 0) {
+				throw new IllegalStateException("Cursor is not on a row: " + row);
+			}
+			return base;
+		}
+
+		@Override
+		public int getEmployeeId() {
+			return buffer.getShort(base() + ID);
+		}
+
+		@Override
+		public String getFirstName() {
+			return name(0);
+		}
+
+		@Override
+		public String getLastName() {
+			return name(1);
+		}
+
+		/**
+		 * Decodes the First (0) or Last (1) name of the current row.
+		 * 
+		 * @param n
+		 *            Which name to decode
+		 * @return Returns the name
+		 */
+		private String name(int n) {
+			int at = base() + FIRST_NAME + n * Employee.MAX_NAME_LENGTH;
+			int length = buffer.get(base + FIRST_NAME_LENGTH + n) & 0xFF;
+			if (length == IN_STRING_TABLE) {
+				byte[] utf8 = new byte[buffer.getInt(at + 4)];
+				int from = stringsOffset + buffer.getInt(at);
+				for (int i = 0; i < utf8.length; i++) {
+					utf8[i] = buffer.get(from + i);
+				}
+				return NamePool.shared().intern(new String(utf8, StandardCharsets.UTF_8));
+			}
+			for (int i = 0; i < length; i++) {
+				nameBytes[i] = buffer.get(at + i);
+			}
+			return NamePool.shared().intern(nameBytes, 0, length);
+		}
+
+		@Override
+		public double getHourlyRate() {
+			return buffer.getDouble(base() + HOURLY_RATE);
+		}
+
+		@Override
+		public double getWeeklyPay() {
+			return weeklyPay(base());
+		}
+
+		/**
+		 * Returns the Weekly Hours of the current row.
+		 * 
+		 * @return Returns the Weekly Hours of the current row
+		 */
+		public int getWeeklyHours() {
+			return buffer.getInt(base() + WEEKLY_HOURS);
+		}
+
+		/**
+		 * Returns the hours worked on the provided day by the current row.
+		 * 
+		 * @param day
+		 *            The day, starting from 0
+		 * @return Returns the hours worked on the day
+		 * @throws BadParameterException
+		 *             If the day is less than zero, or more or equal to Timecard.NUM_DAYS
+		 */
+		public int getHoursByDay(int day) throws BadParameterException {
+			if (day < 0 || day >= Timecard.NUM_DAYS) {
+				throw new BadParameterException("Bad day value passed to getHoursByDay: " + day);
+			}
+			return Timecard.hoursOf(buffer.getInt(base() + PACKED_HOURS), day);
+		}
+
+		/**
+		 * Checks whether the current row is a Sales Employee.
+		 * 
+		 * @return Returns True if the current row is a Sales Employee, False if not
+		 */
+		public boolean isSalesEmployee() {
+			return (buffer.get(base() + FLAGS) & SALES_FLAG) != 0;
+		}
+
+		/**
+		 * Returns the Sales amount needed to earn by commission of the current row. Only meaningful for Sales Employees.
+		 * 
+		 * @return Returns the Sales amount needed, zero if the current row is not a Sales Employee
+		 */
+		public double getSalesAmountNeeded() {
+			return buffer.getDouble(base() + SALES_AMOUNT_NEEDED);
+		}
+
+		/**
+		 * Returns the Weekly Sales Total of the current row. Only meaningful for Sales Employees.
+		 * 
+		 * @return Returns the Weekly Sales Total, zero if the current row is not a Sales Employee
+		 */
+		public double getWeeklySalesTotal() {
+			return buffer.getDouble(base() + WEEKLY_SALES_TOTAL);
+		}
+
+		/**
+		 * Returns a frozen Employee, or Sales Employee, holding the values of the current row, for code that needs an Employee object.
+		 * 
+		 * @return Returns a frozen Employee holding the values of the current row
+		 * @throws BadParameterException
+		 *             If the packed hours of the row are not valid
+		 */
+		public Employee toEmployee() throws BadParameterException {
+			Timecard timecard = Timecard.fromPackedHours(buffer.getInt(base() + PACKED_HOURS));
+			Employee e;
+			if (isSalesEmployee()) {
+				e = new SalesEmployee(getFirstName(), getLastName(), getEmployeeId(), getHourlyRate(), timecard,
+						getSalesAmountNeeded(), getWeeklySalesTotal());
+			} else {
+				e = new Employee(getFirstName(), getLastName(), getEmployeeId(), getHourlyRate(), timecard);
+			}
+			e.freeze();
+			return e;
+		}
+	}
+}
@@ -0,0 +1,287 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+/**
+ * The Organization class holds many Departments and makes Employee IDs unique across all of them. It keeps a single index from Employee ID to
+ * Department, so finding the Department of an Employee is O(1) whatever the number of Departments. Departments in an Organization keep the
+ * index up to date themselves: adding an Employee to any of them with an ID already used elsewhere in the Organization is rejected, and every
+ * add and remove is recorded in the index.<br>
+ * Usage example:
+ * 
+ * <pre>
+ * Organization myOrganization = new Organization();
+ * myOrganization.addDepartment(new Department("Marketing"));
+ * myOrganization.addDepartment(new Department("Sales"));
+ * myOrganization.moveEmployee(6642, myOrganization.getDepartment("Sales"));
+ * </pre>
+ * 
+ * @author Christopher Hield
+ * @see domain.Department
+ * @since Version 1.8
+ *
+ */
+public final class Organization implements Iterable<Employee> {
+
+	/**
+	 * The Departments of the Organization, in the order they were added.
+	 * 
+	 * @see #getDepartments()
+	 */
+	private final ArrayList<Department> departments = new ArrayList<>();
+
+	/**
+	 * Index of the Departments by Employee ID. The Department of the Employee with ID {@code id} is stored in slot {@code id - Employee.MIN_ID};
+	 * empty slots are null.
+	 * 
+	 * @see #getDepartmentOf(int)
+	 */
+	private final Department[] departmentIndex = new Department[Employee.MAX_ID - Employee.MIN_ID + 1];
+
+	/**
+	 * The number of Employees in the Organization.
+	 * 
+	 * @see #getNumEmployees()
+	 */
+	private int numEmployees;
+
+	/**
+	 * Adds the provided Department, with all its Employees, to the Organization.
+	 * 
+	 * @param d
+	 *            The Department to be added
+	 * @throws NullParameterException
+	 *             If the Department is null
+	 * @throws BadParameterException
+	 *             If the Department is already in an Organization, another Department has the same name, or one of its Employee IDs is already
+	 *             in the Organization
+	 * @see #removeDepartment(Department)
+	 */
+	public void addDepartment(Department d) throws NullParameterException, BadParameterException {
+		if (d == null) {
+			throw new NullParameterException("Null Department sent to addDepartment!");
+		}
+		if (d.getOrganization() != null) {
+			throw new BadParameterException("Department already in an Organization: " + d.getDepartmentName());
+		}
+		if (getDepartment(d.getDepartmentName()) != null) {
+			throw new BadParameterException("Department name already in Organization: " + d.getDepartmentName());
+		}
+		DepartmentSnapshot employees = d.snapshot();
+		for (Employee e : employees) {
+			if (isInOrganization(e.getEmployeeId())) {
+				throw new BadParameterException("Employee ID already in Organization: " + e.getEmployeeId());
+			}
+		}
+
+		for (Employee e : employees) {
+			register(e.getEmployeeId(), d);
+		}
+		departments.add(d);
+		d.setOrganization(this);
+	}
+
+	/**
+	 * Removes the provided Department, with all its Employees, from the Organization. The Department keeps its Employees.
+	 * 
+	 * @param d
+	 *            The Department to be removed
+	 * @return Returns True if the Department was removed, False if it is not in the Organization
+	 * @see #addDepartment(Department)
+	 */
+	public boolean removeDepartment(Department d) {
+		if (d == null || d.getOrganization() != this) {
+			return false;
+		}
+		for (Employee e : d.snapshot()) {
+			unregister(e.getEmployeeId());
+		}
+		departments.remove(d);
+		d.setOrganization(null);
+		return true;
+	}
+
+	/**
+	 * Returns the Department with the provided name.
+	 * 
+	 * @param name
+	 *            The name of the Department
+	 * @return Returns the Department with the provided name, null if there is none in the Organization
+	 */
+	public Department getDepartment(String name) {
+		for (Department d : departments) {
+			if (d.getDepartmentName().equals(name)) {
+				return d;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the Departments of the Organization, in the order they were added.
+	 * 
+	 * @return Returns an unmodifiable view of the Departments
+	 */
+	public List<Department> getDepartments() {
+		return Collections.unmodifiableList(departments);
+	}
+
+	/**
+	 * Returns the Department of the Employee with the provided ID.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee
+	 * @return Returns the Department of the Employee, null if the Employee is not in the Organization
+	 */
+	public Department getDepartmentOf(int id) {
+		if (id < Employee.MIN_ID || id > Employee.MAX_ID) {
+			return null;
+		}
+		return departmentIndex[id - Employee.MIN_ID];
+	}
+
+	/**
+	 * Returns the Employee with the provided ID, from whichever Department holds it.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee
+	 * @return Returns the Employee, null if the Employee is not in the Organization
+	 */
+	public Employee getEmployee(int id) {
+		Department d = getDepartmentOf(id);
+		return d == null ? null : d.getEmployee(id);
+	}
+
+	/**
+	 * Checks whether or not an Employee with the provided ID is in any Department of the Organization.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee to be checked
+	 * @return Returns True if the Employee is in the Organization, False if not
+	 */
+	public boolean isInOrganization(int id) {
+		return getDepartmentOf(id) != null;
+	}
+
+	/**
+	 * Returns the number of Employees in all the Departments of the Organization.
+	 * 
+	 * @return Returns the number of Employees in the Organization
+	 */
+	public int getNumEmployees() {
+		return numEmployees;
+	}
+
+	/**
+	 * Returns the sum of the Weekly Pay in cents of every Employee of the Organization, from the running totals of the Departments.
+	 * 
+	 * @return Returns the sum of the Weekly Pay in cents of every Employee of the Organization
+	 * @see domain.Department#getTotalWeeklyPayCents()
+	 */
+	public long getTotalWeeklyPayCents() {
+		long total = 0;
+		for (Department d : departments) {
+			total += d.getTotalWeeklyPayCents();
+		}
+		return total;
+	}
+
+	/**
+	 * Moves the Employee with the provided ID to the provided Department of the Organization. Either the Employee is moved or, if the target
+	 * Department has no room, nothing changes.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee to be moved
+	 * @param to
+	 *            The Department the Employee is moved to
+	 * @throws NullParameterException
+	 *             If the target Department is null
+	 * @throws BadParameterException
+	 *             If the Employee or the target Department is not in the Organization, or the target Department has no room to add the Employee
+	 */
+	public void moveEmployee(int id, Department to) throws NullParameterException, BadParameterException {
+		if (to == null) {
+			throw new NullParameterException("Null Department sent to moveEmployee!");
+		}
+		if (to.getOrganization() != this) {
+			throw new BadParameterException("Department not in Organization: " + to.getDepartmentName());
+		}
+		Department from = getDepartmentOf(id);
+		if (from == null) {
+			throw new BadParameterException("Employee ID not in Organization: " + id);
+		}
+		if (from == to) {
+			return;
+		}
+		if (to.getNumInDepartment() >= to.getMaxEmployees()) {
+			throw new BadParameterException("This Department is already at the max. number of employees: " + to.getMaxEmployees());
+		}
+
+		Employee e = from.removeEmployee(id);
+		to.adoptEmployee(e); // Already frozen, so it is shared, not copied
+	}
+
+	/**
+	 * Records that the Employee with the provided ID is in the provided Department. Called by the Department as it adds the Employee.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee
+	 * @param d
+	 *            The Department of the Employee
+	 */
+	void register(int id, Department d) {
+		departmentIndex[id - Employee.MIN_ID] = d;
+		numEmployees++;
+	}
+
+	/**
+	 * Records that the Employee with the provided ID has left its Department. Called by the Department as it removes the Employee.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee
+	 */
+	void unregister(int id) {
+		departmentIndex[id - Employee.MIN_ID] = null;
+		numEmployees--;
+	}
+
+	/**
+	 * Returns an iterator over every Employee of the Organization, Department by Department in the order they were added and by Employee ID
+	 * within each Department. Each Department is read from a snapshot taken when the iterator reaches it, so the Departments can be changed while
+	 * the iterator is in use; the iterator does not support remove().
+	 * 
+	 * @return Returns an iterator over every Employee of the Organization
+	 */
+	@Override
+	public Iterator<Employee> iterator() {
+		return new Iterator<Employee>() {
+
+			private final Iterator<Department> nextDepartment = new ArrayList<>(departments).iterator();
+
+			private Iterator<Employee> employees = Collections.emptyIterator();
+
+			@Override
+			public boolean hasNext() {
+				while (!employees.hasNext() && nextDepartment.hasNext()) {
+					employees = nextDepartment.next().snapshot().iterator();
+				}
+				return employees.hasNext();
+			}
+
+			@Override
+			public Employee next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException("No more Employees in the Organization");
+				}
+				return employees.next();
+			}
+		};
+	}
+}
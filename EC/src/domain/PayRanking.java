@@ -0,0 +1,295 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The Employees of a Department ranked by Weekly Pay, highest first, with ties broken by Employee ID. The ranking is an order-statistic treap:
+ * a binary search tree kept balanced by random priorities, where every node also holds the size of its subtree. Adding or removing an Employee
+ * and finding the rank of any Employee take O(log N); the first n Employees are found in O(log N + n). Nothing is ever sorted again.<br>
+ * Weekly Pay is compared in whole cents. Only frozen Employees are ranked, so their pay can not change while they are in the ranking.
+ * 
+ * @author Christopher Hield
+ * @see domain.Department#topByPay(int)
+ * @since Version 1.8
+ *
+ */
+final class PayRanking {
+
+	/**
+	 * The root of the treap, null if the ranking is empty.
+	 */
+	private Node root;
+
+	/**
+	 * The state of the generator of node priorities. A fixed seed keeps the shape of the treap the same from one run to the next.
+	 */
+	private int seed = 0x2545F491;
+
+	/**
+	 * Adds the provided Employee to the ranking.
+	 * 
+	 * @param e
+	 *            The frozen Employee to be added
+	 */
+	void add(Employee e) {
+		Node n = new Node(e, nextPriority());
+		Node[] parts = split(root, n.payCents, n.id);
+		root = merge(merge(parts[0], n), parts[1]);
+	}
+
+	/**
+	 * Removes the provided Employee from the ranking, if it is in it.
+	 * 
+	 * @param e
+	 *            The ranked Employee to be removed
+	 */
+	void remove(Employee e) {
+		root = remove(root, e.getWeeklyPayCents(), e.getEmployeeId());
+	}
+
+	/**
+	 * Returns the number of Employees in the ranking.
+	 * 
+	 * @return Returns the number of Employees in the ranking
+	 */
+	int size() {
+		return size(root);
+	}
+
+	/**
+	 * Returns the first Employees of the ranking.
+	 * 
+	 * @param n
+	 *            The number of Employees wanted
+	 * @return Returns a new list of the n highest paid Employees, highest first, or all of them if there are fewer
+	 */
+	List<Employee> top(int n) {
+		ArrayList<Employee> top = new ArrayList<>(Math.min(n, size()));
+		Node[] path = new Node[64];
+		int depth = 0;
+		Node node = root;
+		while (top.size() < n && (node != null || depth > 0)) { // In order traversal, stopped after n nodes
+			if (node != null) {
+				if (depth == path.length) {
+					path = Arrays.copyOf(path, depth * 2);
+				}
+				path[depth++] = node;
+				node = node.left;
+			} else {
+				node = path[--depth];
+				top.add(node.employee);
+				node = node.right;
+			}
+		}
+		return top;
+	}
+
+	/**
+	 * Returns the number of Employees ranked before the provided pay and Employee ID.
+	 * 
+	 * @param payCents
+	 *            The Weekly Pay in cents
+	 * @param id
+	 *            The Employee ID breaking ties of pay
+	 * @return Returns the number of Employees paid more than payCents, plus those paid exactly payCents with an ID less than id
+	 */
+	int countBefore(long payCents, int id) {
+		int count = 0;
+		Node node = root;
+		while (node != null) {
+			if (before(node.payCents, node.id, payCents, id)) {
+				count += size(node.left) + 1;
+				node = node.right;
+			} else {
+				node = node.left;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns whether the first pay and Employee ID rank before the second.
+	 * 
+	 * @param payA
+	 *            The first Weekly Pay in cents
+	 * @param idA
+	 *            The first Employee ID
+	 * @param payB
+	 *            The second Weekly Pay in cents
+	 * @param idB
+	 *            The second Employee ID
+	 * @return Returns True if payA is more than payB, or equal with idA less than idB
+	 */
+	private static boolean before(long payA, int idA, long payB, int idB) {
+		return payA > payB || (payA == payB && idA < idB);
+	}
+
+	/**
+	 * Returns the next node priority, from a xorshift generator.
+	 * 
+	 * @return Returns a pseudo-random priority
+	 */
+	private int nextPriority() {
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		return seed;
+	}
+
+	/**
+	 * Returns the size of the provided subtree.
+	 * 
+	 * @param n
+	 *            The root of the subtree, or null
+	 * @return Returns the number of nodes in the subtree
+	 */
+	private static int size(Node n) {
+		return n == null ? 0 : n.size;
+	}
+
+	/**
+	 * Splits the provided subtree into the nodes ranked before the provided pay and Employee ID and the others.
+	 * 
+	 * @param n
+	 *            The root of the subtree, or null
+	 * @param payCents
+	 *            The Weekly Pay in cents to split at
+	 * @param id
+	 *            The Employee ID to split at
+	 * @return Returns the roots of the two parts, in ranking order
+	 */
+	private static Node[] split(Node n, long payCents, int id) {
+		if (n == null) {
+			return new Node[2];
+		}
+		Node[] parts;
+		if (before(n.payCents, n.id, payCents, id)) {
+			parts = split(n.right, payCents, id);
+			n.right = parts[0];
+			parts[0] = n.update();
+		} else {
+			parts = split(n.left, payCents, id);
+			n.left = parts[1];
+			parts[1] = n.update();
+		}
+		return parts;
+	}
+
+	/**
+	 * Joins two subtrees, every node of the first ranked before every node of the second.
+	 * 
+	 * @param a
+	 *            The root of the first subtree, or null
+	 * @param b
+	 *            The root of the second subtree, or null
+	 * @return Returns the root of the joined subtree
+	 */
+	private static Node merge(Node a, Node b) {
+		if (a == null) {
+			return b;
+		}
+		if (b == null) {
+			return a;
+		}
+		if (a.priority > b.priority) {
+			a.right = merge(a.right, b);
+			return a.update();
+		}
+		b.left = merge(a, b.left);
+		return b.update();
+	}
+
+	/**
+	 * Removes the node with the provided pay and Employee ID from the provided subtree.
+	 * 
+	 * @param n
+	 *            The root of the subtree, or null
+	 * @param payCents
+	 *            The Weekly Pay in cents of the node
+	 * @param id
+	 *            The Employee ID of the node
+	 * @return Returns the root of the subtree without the node
+	 */
+	private static Node remove(Node n, long payCents, int id) {
+		if (n == null) {
+			return null;
+		}
+		if (n.payCents == payCents && n.id == id) {
+			return merge(n.left, n.right);
+		}
+		if (before(n.payCents, n.id, payCents, id)) {
+			n.right = remove(n.right, payCents, id);
+		} else {
+			n.left = remove(n.left, payCents, id);
+		}
+		return n.update();
+	}
+
+	/**
+	 * A node of the treap: one ranked Employee.
+	 */
+	private static final class Node {
+
+		/**
+		 * The Employee.
+		 */
+		final Employee employee;
+
+		/**
+		 * The Weekly Pay in cents of the Employee.
+		 */
+		final long payCents;
+
+		/**
+		 * The Employee ID of the Employee.
+		 */
+		final int id;
+
+		/**
+		 * The priority of the node, never less than the priorities of its children.
+		 */
+		final int priority;
+
+		/**
+		 * The number of nodes in the subtree rooted at this node.
+		 */
+		int size = 1;
+
+		/**
+		 * The subtree of the Employees ranked before this one, or null.
+		 */
+		Node left;
+
+		/**
+		 * The subtree of the Employees ranked after this one, or null.
+		 */
+		Node right;
+
+		/**
+		 * Constructor for a node with no children.
+		 * 
+		 * @param e
+		 *            The Employee
+		 * @param priorityIn
+		 *            The priority of the node
+		 */
+		Node(Employee e, int priorityIn) {
+			employee = e;
+			payCents = e.getWeeklyPayCents();
+			id = e.getEmployeeId();
+			priority = priorityIn;
+		}
+
+		/**
+		 * Recomputes the size of the subtree after its children have changed.
+		 * 
+		 * @return Returns this node
+		 */
+		Node update() {
+			size = PayRanking.size(left) + PayRanking.size(right) + 1;
+			return this;
+		}
+	}
+}
@@ -0,0 +1,226 @@
+package domain;
+
+import java.util.Arrays;
+
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+/**
+ * The weekly payroll history of a Department: a TimecardHistory for every Employee who has been in it, and the Department's weekly totals.
+ * Every call to record(int, Department) adds a week for each Employee in the Department at that moment; Employees who have left keep their
+ * history.<br>
+ * The Department's totals are kept as running sums by week, so the total hours or pay of the Department between any two weeks is found by two
+ * binary searches, whatever the number of Employees. The totals of one Employee are answered by their own TimecardHistory.<br>
+ * Usage example:
+ * 
+ * <pre>
+ * PayrollHistory myHistory = new PayrollHistory();
+ * myHistory.record(week, myDepartment); // every week
+ * double yearPay = myHistory.getTotalPay(firstWeekOfYear, firstWeekOfYear + 52);
+ * </pre>
+ * 
+ * @author Christopher Hield
+ * @see domain.TimecardHistory
+ * @see domain.Department
+ * @since Version 1.8
+ *
+ */
+public final class PayrollHistory {
+
+	/**
+	 * The capacity of the arrays of weeks when the first week is recorded ({@value})
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The history of every Employee, indexed by Employee ID - Employee.MIN_ID, null for Employees never recorded.
+	 */
+	private final TimecardHistory[] histories = new TimecardHistory[Employee.MAX_ID - Employee.MIN_ID + 1];
+
+	/**
+	 * The number of Employees with a history.
+	 */
+	private int numEmployees;
+
+	/**
+	 * The weeks recorded, increasing.
+	 */
+	private int[] weeks = new int[0];
+
+	/**
+	 * The total hours of the Department up to and including every week recorded.
+	 */
+	private long[] hoursThrough = new long[0];
+
+	/**
+	 * The total pay in cents of the Department up to and including every week recorded.
+	 */
+	private long[] payCentsThrough = new long[0];
+
+	/**
+	 * The number of weeks recorded.
+	 */
+	private int numWeeks;
+
+	/**
+	 * Records the Timecard and Weekly Pay of every Employee in the provided Department for the provided week.
+	 * 
+	 * @param week
+	 *            The week to be recorded
+	 * @param d
+	 *            The Department whose Employees are recorded
+	 * @throws NullParameterException
+	 *             If the Department is null
+	 * @throws BadParameterException
+	 *             If the week is less than zero, or not after the last week recorded
+	 */
+	public void record(int week, Department d) throws NullParameterException, BadParameterException {
+		if (d == null) {
+			throw new NullParameterException("Null Department sent to record!");
+		}
+		if (week < 0 || week <= getLastWeek()) {
+			throw new BadParameterException("Bad week value passed to record: " + week + ", last week recorded: " + getLastWeek());
+		}
+
+		long hours = 0;
+		long payCents = 0;
+		for (Employee e : d.snapshot()) {
+			TimecardHistory history = histories[e.getEmployeeId() - Employee.MIN_ID];
+			if (history == null) {
+				history = new TimecardHistory(true);
+				histories[e.getEmployeeId() - Employee.MIN_ID] = history;
+				numEmployees++;
+			}
+			history.append(week, e); // Only this PayrollHistory records into its histories, so each ends by the last week recorded here
+			hours += e.getWeeklyHours();
+			payCents += e.getWeeklyPayCents();
+		}
+
+		if (numWeeks == weeks.length) {
+			int capacity = Math.max(weeks.length + (weeks.length >> 1), DEFAULT_CAPACITY);
+			weeks = Arrays.copyOf(weeks, capacity);
+			hoursThrough = Arrays.copyOf(hoursThrough, capacity);
+			payCentsThrough = Arrays.copyOf(payCentsThrough, capacity);
+		}
+		weeks[numWeeks] = week;
+		hoursThrough[numWeeks] = (numWeeks > 0 ? hoursThrough[numWeeks - 1] : 0) + hours;
+		payCentsThrough[numWeeks] = (numWeeks > 0 ? payCentsThrough[numWeeks - 1] : 0) + payCents;
+		numWeeks++;
+	}
+
+	/**
+	 * Returns the history of the Employee with the provided ID. The history is the one kept by this PayrollHistory and is read-only, so the
+	 * Department's totals always match the histories.
+	 * 
+	 * @param id
+	 *            The Employee ID of the Employee
+	 * @return Returns the history of the Employee, null if the Employee has never been recorded
+	 */
+	public TimecardHistory getHistory(int id) {
+		if (id < Employee.MIN_ID || id > Employee.MAX_ID) {
+			return null;
+		}
+		return histories[id - Employee.MIN_ID];
+	}
+
+	/**
+	 * Returns the number of Employees with a history.
+	 * 
+	 * @return Returns the number of Employees with a history
+	 */
+	public int getNumEmployees() {
+		return numEmployees;
+	}
+
+	/**
+	 * Returns the number of weeks recorded.
+	 * 
+	 * @return Returns the number of weeks recorded
+	 */
+	public int getNumWeeks() {
+		return numWeeks;
+	}
+
+	/**
+	 * Returns the last week recorded.
+	 * 
+	 * @return Returns the last week recorded, -1 if no week is recorded
+	 */
+	public int getLastWeek() {
+		return numWeeks == 0 ? -1 : weeks[numWeeks - 1];
+	}
+
+	/**
+	 * Returns the number of weeks recorded before the provided week.
+	 * 
+	 * @param week
+	 *            The week
+	 * @return Returns the number of weeks recorded before the week
+	 */
+	private int weeksBefore(int week) {
+		int index = Arrays.binarySearch(weeks, 0, numWeeks, week);
+		return index >= 0 ? index : -(index + 1);
+	}
+
+	/**
+	 * Returns the total hours of the Department from the provided first week up to, but not including, the provided last week.
+	 * 
+	 * @param fromWeek
+	 *            The first week of the range
+	 * @param toWeek
+	 *            The week after the last week of the range
+	 * @return Returns the total hours of the weeks in the range
+	 * @throws BadParameterException
+	 *             If the first week is less than zero, or after the end of the range
+	 */
+	public long getTotalHours(int fromWeek, int toWeek) throws BadParameterException {
+		TimecardHistory.checkRange(fromWeek, toWeek, "getTotalHours");
+		return sumBefore(hoursThrough, weeksBefore(toWeek)) - sumBefore(hoursThrough, weeksBefore(fromWeek));
+	}
+
+	/**
+	 * Returns the total pay in cents of the Department from the provided first week up to, but not including, the provided last week.
+	 * 
+	 * @param fromWeek
+	 *            The first week of the range
+	 * @param toWeek
+	 *            The week after the last week of the range
+	 * @return Returns the total pay in cents of the weeks in the range
+	 * @throws BadParameterException
+	 *             If the first week is less than zero, or after the end of the range
+	 */
+	public long getTotalPayCents(int fromWeek, int toWeek) throws BadParameterException {
+		TimecardHistory.checkRange(fromWeek, toWeek, "getTotalPayCents");
+		return sumBefore(payCentsThrough, weeksBefore(toWeek)) - sumBefore(payCentsThrough, weeksBefore(fromWeek));
+	}
+
+	/**
+	 * Returns the total pay of the Department from the provided first week up to, but not including, the provided last week.
+	 * 
+	 * @param fromWeek
+	 *            The first week of the range
+	 * @param toWeek
+	 *            The week after the last week of the range
+	 * @return Returns the total pay of the weeks in the range
+	 * @throws BadParameterException
+	 *             If the first week is less than zero, or after the end of the range
+	 * @see #getTotalPayCents(int, int)
+	 */
+	public double getTotalPay(int fromWeek, int toWeek) throws BadParameterException {
+		TimecardHistory.checkRange(fromWeek, toWeek, "getTotalPay");
+		return (sumBefore(payCentsThrough, weeksBefore(toWeek)) - sumBefore(payCentsThrough, weeksBefore(fromWeek))) / 100.0;
+	}
+
+	/**
+	 * Returns the running sum over the provided number of first weeks.
+	 * 
+	 * @param through
+	 *            The running sums, up to and including every week
+	 * @param count
+	 *            The number of first weeks
+	 * @return Returns the sum over the first weeks
+	 */
+	private static long sumBefore(long[] through, int count) {
+		return count == 0 ? 0 : through[count - 1];
+	}
+}
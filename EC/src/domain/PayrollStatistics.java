@@ -0,0 +1,142 @@
+package domain;
+
+/**
+ * Summary statistics of the Weekly Pay and Weekly Hours of a group of Employees: count, total, minimum, maximum and mean pay, and total hours.
+ * 
+ * @author Christopher Hield
+ * @see domain.PayrollSummary
+ * @see domain.Department#getPayrollSummary()
+ * @since Version 1.8
+ *
+ */
+public class PayrollStatistics {
+
+	/**
+	 * The number of Employees in the group.
+	 * 
+	 * @see #getCount()
+	 */
+	private int count;
+
+	/**
+	 * The sum of the Weekly Pay of the group.
+	 * 
+	 * @see #getTotalPay()
+	 */
+	private double totalPay;
+
+	/**
+	 * The lowest Weekly Pay in the group.
+	 * 
+	 * @see #getMinPay()
+	 */
+	private double minPay = Double.POSITIVE_INFINITY;
+
+	/**
+	 * The highest Weekly Pay in the group.
+	 * 
+	 * @see #getMaxPay()
+	 */
+	private double maxPay = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * The sum of the Weekly Hours of the group.
+	 * 
+	 * @see #getTotalHours()
+	 */
+	private long totalHours;
+
+	/**
+	 * Adds the provided Employee to the statistics.
+	 * 
+	 * @param e
+	 *            The Employee to be added
+	 */
+	void accept(Employee e) {
+		accept(e.getWeeklyPay(), e.getWeeklyHours());
+	}
+
+	/**
+	 * Adds an Employee with the provided Weekly Pay and Weekly Hours to the statistics, for stores that do not hold Employee objects.
+	 * 
+	 * @param pay
+	 *            The Weekly Pay of the Employee
+	 * @param hours
+	 *            The Weekly Hours of the Employee
+	 */
+	void accept(double pay, int hours) {
+		count++;
+		totalPay += pay;
+		minPay = Math.min(minPay, pay);
+		maxPay = Math.max(maxPay, pay);
+		totalHours += hours;
+	}
+
+	/**
+	 * Adds the provided statistics, computed over a disjoint group of Employees, to these statistics.
+	 * 
+	 * @param other
+	 *            The statistics to be added
+	 */
+	void combine(PayrollStatistics other) {
+		count += other.count;
+		totalPay += other.totalPay;
+		minPay = Math.min(minPay, other.minPay);
+		maxPay = Math.max(maxPay, other.maxPay);
+		totalHours += other.totalHours;
+	}
+
+	/**
+	 * Returns the number of Employees in the group.
+	 * 
+	 * @return Returns the number of Employees in the group
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the sum of the Weekly Pay of the group.
+	 * 
+	 * @return Returns the sum of the Weekly Pay of the group
+	 */
+	public double getTotalPay() {
+		return totalPay;
+	}
+
+	/**
+	 * Returns the lowest Weekly Pay in the group.
+	 * 
+	 * @return Returns the lowest Weekly Pay in the group, or 0.0 if the group is empty
+	 */
+	public double getMinPay() {
+		return count == 0 ? 0.0 : minPay;
+	}
+
+	/**
+	 * Returns the highest Weekly Pay in the group.
+	 * 
+	 * @return Returns the highest Weekly Pay in the group, or 0.0 if the group is empty
+	 */
+	public double getMaxPay() {
+		return count == 0 ? 0.0 : maxPay;
+	}
+
+	/**
+	 * Returns the mean Weekly Pay of the group.
+	 * 
+	 * @return Returns the mean Weekly Pay of the group, or 0.0 if the group is empty
+	 */
+	public double getMeanPay() {
+		return count == 0 ? 0.0 : totalPay / count;
+	}
+
+	/**
+	 * Returns the sum of the Weekly Hours of the group.
+	 * 
+	 * @return Returns the sum of the Weekly Hours of the group
+	 */
+	public long getTotalHours() {
+		return totalHours;
+	}
+}
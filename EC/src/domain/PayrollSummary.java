@@ -0,0 +1,96 @@
+package domain;
+
+/**
+ * The payroll summary of a Department: the PayrollStatistics of its regular Employees, of its Sales Employees, and of all its Employees.
+ * 
+ * @author Christopher Hield
+ * @see domain.PayrollStatistics
+ * @see domain.Department#getPayrollSummary()
+ * @since Version 1.8
+ *
+ */
+public class PayrollSummary {
+
+	/**
+	 * The statistics of the Employees that are not Sales Employees.
+	 * 
+	 * @see #getEmployeeStatistics()
+	 */
+	private final PayrollStatistics employeeStatistics = new PayrollStatistics();
+
+	/**
+	 * The statistics of the Sales Employees.
+	 * 
+	 * @see #getSalesEmployeeStatistics()
+	 */
+	private final PayrollStatistics salesEmployeeStatistics = new PayrollStatistics();
+
+	/**
+	 * Adds the provided Employee to the statistics of its type.
+	 * 
+	 * @param e
+	 *            The Employee to be added
+	 */
+	void accept(Employee e) {
+		if (e instanceof SalesEmployee) {
+			salesEmployeeStatistics.accept(e);
+		} else {
+			employeeStatistics.accept(e);
+		}
+	}
+
+	/**
+	 * Adds an Employee with the provided type, Weekly Pay and Weekly Hours to the summary, for stores that do not hold Employee objects.
+	 * 
+	 * @param sales
+	 *            Whether the Employee is a Sales Employee
+	 * @param pay
+	 *            The Weekly Pay of the Employee
+	 * @param hours
+	 *            The Weekly Hours of the Employee
+	 */
+	void accept(boolean sales, double pay, int hours) {
+		(sales ? salesEmployeeStatistics : employeeStatistics).accept(pay, hours);
+	}
+
+	/**
+	 * Adds the provided summary, computed over a disjoint group of Employees, to this summary.
+	 * 
+	 * @param other
+	 *            The summary to be added
+	 */
+	void combine(PayrollSummary other) {
+		employeeStatistics.combine(other.employeeStatistics);
+		salesEmployeeStatistics.combine(other.salesEmployeeStatistics);
+	}
+
+	/**
+	 * Returns the statistics of the Employees that are not Sales Employees.
+	 * 
+	 * @return Returns the statistics of the Employees that are not Sales Employees
+	 */
+	public PayrollStatistics getEmployeeStatistics() {
+		return employeeStatistics;
+	}
+
+	/**
+	 * Returns the statistics of the Sales Employees.
+	 * 
+	 * @return Returns the statistics of the Sales Employees
+	 */
+	public PayrollStatistics getSalesEmployeeStatistics() {
+		return salesEmployeeStatistics;
+	}
+
+	/**
+	 * Returns the statistics of all the Employees.
+	 * 
+	 * @return Returns a new PayrollStatistics covering all the Employees
+	 */
+	public PayrollStatistics getTotalStatistics() {
+		PayrollStatistics total = new PayrollStatistics();
+		total.combine(employeeStatistics);
+		total.combine(salesEmployeeStatistics);
+		return total;
+	}
+}
@@ -0,0 +1,79 @@
+package domain;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A fork/join task computing the PayrollSummary of a range of an Employee list. Ranges longer than the sequential threshold are split in halves
+ * computed in parallel.
+ * 
+ * @author Christopher Hield
+ * @see domain.Department#getPayrollSummary()
+ * @since Version 1.8
+ *
+ */
+class PayrollTask extends RecursiveTask<PayrollSummary> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The Employees being summarized.
+	 */
+	private final List<Employee> employees;
+
+	/**
+	 * The first position of the range, inclusive.
+	 */
+	private final int from;
+
+	/**
+	 * The last position of the range, exclusive.
+	 */
+	private final int to;
+
+	/**
+	 * The longest range computed without splitting.
+	 */
+	private final int threshold;
+
+	/**
+	 * Constructor for a task summarizing the provided range of the provided list.
+	 * 
+	 * @param employeesIn
+	 *            The Employees being summarized, not modified while the task runs
+	 * @param fromIn
+	 *            The first position of the range, inclusive
+	 * @param toIn
+	 *            The last position of the range, exclusive
+	 * @param thresholdIn
+	 *            The longest range computed without splitting
+	 */
+	PayrollTask(List<Employee> employeesIn, int fromIn, int toIn, int thresholdIn) {
+		employees = employeesIn;
+		from = fromIn;
+		to = toIn;
+		threshold = thresholdIn;
+	}
+
+	/**
+	 * Summarizes the range, splitting it in halves if it is longer than the threshold.
+	 * 
+	 * @return Returns the PayrollSummary of the range
+	 */
+	@Override
+	protected PayrollSummary compute() {
+		if (to - from <= threshold) {
+			PayrollSummary summary = new PayrollSummary();
+			for (int i = from; i < to; i++) {
+				summary.accept(employees.get(i));
+			}
+			return summary;
+		}
+		int mid = (from + to) >>> 1;
+		PayrollTask left = new PayrollTask(employees, from, mid, threshold);
+		left.fork();
+		PayrollSummary summary = new PayrollTask(employees, mid, to, threshold).compute();
+		summary.combine(left.join());
+		return summary;
+	}
+}
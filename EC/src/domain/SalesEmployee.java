@@ -1,8 +1,11 @@
 
 package domain;
 
+import java.io.IOException;
+
 import utils.BadParameterException;
 import utils.NullParameterException;
+import utils.ReportBuffer;
 
 /**
  * A class representing a Sales Employee. This class is a child of the class Employee<br>
@@ -45,6 +48,16 @@ public class SalesEmployee extends Employee {
 	 */
 	public static final double BONUS_MULTIPLIER = 0.25;
 
+	/**
+	 * The report label of the Sales amount needed.
+	 */
+	private static final char[] SALES_AMOUNT_NEEDED_LABEL = ReportBuffer.label("Sales Amount Needed:", 20);
+
+	/**
+	 * The report label of the Weekly Sales Total.
+	 */
+	private static final char[] WEEKLY_SALES_TOTAL_LABEL = ReportBuffer.label("Weekly Sales Total:", 20);
+
 	/**
 	 * Constructor for the Sales Employee class - need non-null and non-empty First and Last name, a Sales Employee ID between 1000 and 9999, a higher
 	 * than zero Hourly Rate, an int Array holding the worked days, sales needed to earn by commission, and a weekly total.
@@ -92,8 +105,77 @@ public class SalesEmployee extends Employee {
 	 */
 	public SalesEmployee(SalesEmployee se) throws NullParameterException, BadParameterException {
 		super(se);
-		setSalesAmountNeeded(se.getSalesAmountNeeded());
-		setWeeklySalesTotal(se.getWeeklySalesTotal());
+		salesAmountNeeded = se.getSalesAmountNeeded(); // Already valid, as for the Employee values
+		weeklySalesTotal = se.getWeeklySalesTotal();
+	}
+
+	/**
+	 * Constructor for a Sales Employee from values the caller has already validated. The values are not checked again.
+	 * 
+	 * @param fName
+	 *            The Sales Employee's first name, already interned
+	 * @param lName
+	 *            The Sales Employee's last name, already interned
+	 * @param eId
+	 *            The Sales Employee's ID
+	 * @param hRate
+	 *            The Sales Employee's Hourly Rate
+	 * @param tCard
+	 *            The Sales Employee's Timecard
+	 * @param salesNeeded
+	 *            The Sales Employee's needed sales to earn by commission
+	 * @param weeklyTotal
+	 *            The Sales Employee's weekly total sales
+	 * @see #SalesEmployee(String, String, int, double, int[], double, double)
+	 */
+	SalesEmployee(String fName, String lName, int eId, double hRate, Timecard tCard, double salesNeeded,
+			double weeklyTotal) {
+		super(fName, lName, eId, hRate, tCard);
+		salesAmountNeeded = salesNeeded;
+		weeklySalesTotal = weeklyTotal;
+	}
+
+	/**
+	 * Validates the values of a Sales Employee without throwing. Every invalid value is reported, not only the first one.
+	 * 
+	 * @param fName
+	 *            The Sales Employee's first name
+	 * @param lName
+	 *            The Sales Employee's last name
+	 * @param eId
+	 *            The Sales Employee's ID
+	 * @param hRate
+	 *            The Sales Employee's Hourly Rate
+	 * @param daysIn
+	 *            The Sales Employee's int Array with the worked days
+	 * @param salesNeeded
+	 *            The Sales Employee's needed sales to earn by commission
+	 * @param weeklyTotal
+	 *            The Sales Employee's weekly total sales
+	 * @return Returns the result holding every error found, ValidationResult.VALID if the values are valid
+	 * @see #SalesEmployee(String, String, int, double, int[], double, double)
+	 */
+	public static ValidationResult validate(String fName, String lName, int eId, double hRate, int[] daysIn,
+			double salesNeeded, double weeklyTotal) {
+		int errors = Employee.validationErrors(fName, lName, eId, hRate, daysIn);
+		if (!isValidSalesAmount(salesNeeded)) {
+			errors |= ValidationError.BAD_SALES_AMOUNT_NEEDED.bit();
+		}
+		if (!isValidSalesAmount(weeklyTotal)) {
+			errors |= ValidationError.BAD_WEEKLY_SALES_TOTAL.bit();
+		}
+		return ValidationResult.of(errors);
+	}
+
+	/**
+	 * Checks whether the provided number is a valid Sales amount needed or Weekly Sales Total.
+	 * 
+	 * @param amount
+	 *            The number to be checked
+	 * @return Returns True if the number is more than 0.0 and finite, False if not
+	 */
+	static boolean isValidSalesAmount(double amount) {
+		return amount > 0.0 && amount < Double.POSITIVE_INFINITY;
 	}
 
 	/**
@@ -126,10 +208,11 @@ public class SalesEmployee extends Employee {
 	 * @see #getSalesAmountNeeded()
 	 */
 	private void setSalesAmountNeeded(double d) throws BadParameterException {
-		if (d <= 0.0) {
+		if (!isValidSalesAmount(d)) {
 			throw new BadParameterException("Invalid sales amount needed: " + d);
 		}
 		salesAmountNeeded = d;
+		invalidateWeeklyPay();
 	}
 
 	/**
@@ -142,42 +225,53 @@ public class SalesEmployee extends Employee {
 	 * @see #getWeeklySalesTotal()
 	 */
 	private void setWeeklySalesTotal(double totalIn) throws BadParameterException {
-		if (totalIn <= 0.0) {
+		if (!isValidSalesAmount(totalIn)) {
 			throw new BadParameterException("Invalid weekly sales total: " + totalIn);
 		}
 		weeklySalesTotal = totalIn;
+		invalidateWeeklyPay();
 	}
 
 	/**
-	 * Returns the Weekly Pay of the Sales Employee. This method overrides the parent method. If the Sales Employee meets the Sales Amount Needed the
+	 * Checks whether the Sales Employee meets the Sales Amount Needed, and so earns by commission.
+	 * 
+	 * @return Returns True if the Weekly Sales Total is at least the Sales Amount Needed, False if not
+	 * @see #calculateWeeklyPay()
+	 */
+	public boolean isCommissionQualified() {
+		return getWeeklySalesTotal() >= getSalesAmountNeeded();
+	}
+
+	/**
+	 * Computes the Weekly Pay of the Sales Employee. This method overrides the parent method. If the Sales Employee meets the Sales Amount Needed the
 	 * Weekly Pay is equal to the Weekly Sales Total * BONUS_MULTIPLIER, else it's the Weekly Pay of a regular Employee.
 	 * 
 	 * @return Returns the Sales Employee Weekly Pay
-	 * @see domain.Employee
+	 * @see domain.Employee#getWeeklyPay()
 	 */
 	@Override
-	public double getWeeklyPay() {
+	protected double calculateWeeklyPay() {
 
-		if (getWeeklySalesTotal() >= getSalesAmountNeeded()) {
+		if (isCommissionQualified()) {
 			return getWeeklySalesTotal() * BONUS_MULTIPLIER;
 		}
 
-		return super.getWeeklyPay();
+		return super.calculateWeeklyPay();
 	}
 
 	/**
-	 * Returns a formatted report with all the information about the Sales Employee.
+	 * Writes a formatted report with all the information about the Sales Employee to the provided ReportBuffer. This method overrides the parent
+	 * method, so toString() and writeReport(Appendable) include the sales information.
 	 * 
-	 * @return Returns a formatted report with all the information about the Sales Employee
+	 * @param buf
+	 *            The ReportBuffer the report is written to
+	 * @throws IOException
+	 *             If writing to the buffer's target fails
 	 */
 	@Override
-	public String toString() {
-		StringBuilder sb = new StringBuilder();
-
-		sb.append(super.toString());
-		sb.append(String.format("%-20s $%.2f%n", "Sales Amount Needed:", getSalesAmountNeeded()));
-		sb.append(String.format("%-20s $%.2f%n", "Weekly Sales Total:", getWeeklySalesTotal()));
-
-		return sb.toString();
+	void writeReport(ReportBuffer buf) throws IOException {
+		super.writeReport(buf);
+		buf.append(SALES_AMOUNT_NEEDED_LABEL).append('$').appendAmount(getSalesAmountNeeded()).newLine();
+		buf.append(WEEKLY_SALES_TOTAL_LABEL).append('$').appendAmount(getWeeklySalesTotal()).newLine();
 	}
 }
@@ -0,0 +1,393 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The secondary indexes of a Department: its Employees sorted by Hourly Rate, by Last Name and by First Name, each with ties broken by Employee
+ * ID. Range and prefix queries are answered by binary search over the sorted arrays, in O(log N + results), instead of a scan of every
+ * Employee.<br>
+ * The indexes are updated one Employee at a time as Employees are added and removed. Only frozen Employees are indexed, so their Hourly Rate
+ * and names can not change while they are in an index.
+ * 
+ * @author Christopher Hield
+ * @see domain.Department#setIndexed(boolean)
+ * @since Version 1.8
+ *
+ */
+final class SecondaryIndexes {
+
+	/**
+	 * The order of Employees by Hourly Rate, then Employee ID.
+	 */
+	private static final Comparator<Employee> HOURLY_RATE_ORDER = new Comparator<Employee>() {
+
+		@Override
+		public int compare(Employee a, Employee b) {
+			int c = Double.compare(a.getHourlyRate(), b.getHourlyRate());
+			return c != 0 ? c : Integer.compare(a.getEmployeeId(), b.getEmployeeId());
+		}
+	};
+
+	/**
+	 * The order of Employees by Last Name, then Employee ID.
+	 */
+	private static final Comparator<Employee> LAST_NAME_ORDER = new Comparator<Employee>() {
+
+		@Override
+		public int compare(Employee a, Employee b) {
+			int c = a.getLastName().compareTo(b.getLastName());
+			return c != 0 ? c : Integer.compare(a.getEmployeeId(), b.getEmployeeId());
+		}
+	};
+
+	/**
+	 * The order of Employees by First Name, then Employee ID.
+	 */
+	private static final Comparator<Employee> FIRST_NAME_ORDER = new Comparator<Employee>() {
+
+		@Override
+		public int compare(Employee a, Employee b) {
+			int c = a.getFirstName().compareTo(b.getFirstName());
+			return c != 0 ? c : Integer.compare(a.getEmployeeId(), b.getEmployeeId());
+		}
+	};
+
+	/**
+	 * The Employees sorted by Hourly Rate, then Employee ID.
+	 */
+	private final Index byHourlyRate = new Index(HOURLY_RATE_ORDER);
+
+	/**
+	 * The Employees sorted by Last Name, then Employee ID.
+	 */
+	private final Index byLastName = new Index(LAST_NAME_ORDER);
+
+	/**
+	 * The Employees sorted by First Name, then Employee ID.
+	 */
+	private final Index byFirstName = new Index(FIRST_NAME_ORDER);
+
+	/**
+	 * Constructor for the indexes of the provided Employees.
+	 * 
+	 * @param employees
+	 *            The frozen Employees to be indexed
+	 */
+	SecondaryIndexes(Collection<Employee> employees) {
+		addAll(employees);
+	}
+
+	/**
+	 * Adds the provided Employee to every index.
+	 * 
+	 * @param e
+	 *            The frozen Employee to be added
+	 */
+	void add(Employee e) {
+		byHourlyRate.add(e);
+		byLastName.add(e);
+		byFirstName.add(e);
+	}
+
+	/**
+	 * Adds the provided Employees to every index. The Employees are appended and each index is sorted again once, which is cheaper than adding
+	 * them one at a time when there are many.
+	 * 
+	 * @param employees
+	 *            The frozen Employees to be added
+	 */
+	void addAll(Collection<Employee> employees) {
+		byHourlyRate.addAll(employees);
+		byLastName.addAll(employees);
+		byFirstName.addAll(employees);
+	}
+
+	/**
+	 * Removes the provided Employee from every index.
+	 * 
+	 * @param e
+	 *            The indexed Employee to be removed
+	 */
+	void remove(Employee e) {
+		byHourlyRate.remove(e);
+		byLastName.remove(e);
+		byFirstName.remove(e);
+	}
+
+	/**
+	 * Returns the Employees with an Hourly Rate from the provided lowest rate to the provided highest rate, both included.
+	 * 
+	 * @param lo
+	 *            The lowest Hourly Rate of the range
+	 * @param hi
+	 *            The highest Hourly Rate of the range
+	 * @return Returns a new list of the Employees in the range, sorted by Hourly Rate then Employee ID
+	 */
+	List<Employee> byHourlyRate(double lo, double hi) {
+		Index idx = byHourlyRate;
+		int low = 0;
+		int high = idx.size;
+		while (low < high) { // The first Employee with a rate of at least lo
+			int mid = (low + high) >>> 1;
+			if (idx.elements[mid].getHourlyRate() < lo) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		int from = low;
+		high = idx.size;
+		while (low < high) { // The first Employee with a rate above hi
+			int mid = (low + high) >>> 1;
+			if (idx.elements[mid].getHourlyRate() <= hi) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return idx.copy(from, low);
+	}
+
+	/**
+	 * Returns the Employees with a Last Name starting with the provided prefix.
+	 * 
+	 * @param prefix
+	 *            The prefix of the Last Name, case sensitive
+	 * @return Returns a new list of the Employees found, sorted by Last Name then Employee ID
+	 */
+	List<Employee> byLastName(String prefix) {
+		return byName(byLastName, prefix, true);
+	}
+
+	/**
+	 * Returns the Employees with a First Name starting with the provided prefix.
+	 * 
+	 * @param prefix
+	 *            The prefix of the First Name, case sensitive
+	 * @return Returns a new list of the Employees found, sorted by First Name then Employee ID
+	 */
+	List<Employee> byFirstName(String prefix) {
+		return byName(byFirstName, prefix, false);
+	}
+
+	/**
+	 * Returns the Employees of the provided name index with a name starting with the provided prefix. Names starting with the prefix sort
+	 * together, right after any name less than the prefix, so they are found by one binary search and a scan of the matches.
+	 * 
+	 * @param idx
+	 *            The index sorted by the name
+	 * @param prefix
+	 *            The prefix of the name
+	 * @param lastName
+	 *            True to match the Last Name, False to match the First Name
+	 * @return Returns a new list of the Employees found, in the order of the index
+	 */
+	private static List<Employee> byName(Index idx, String prefix, boolean lastName) {
+		int low = 0;
+		int high = idx.size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (nameOf(idx.elements[mid], lastName).compareTo(prefix) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		int to = low;
+		while (to < idx.size && nameOf(idx.elements[to], lastName).startsWith(prefix)) {
+			to++;
+		}
+		return idx.copy(low, to);
+	}
+
+	/**
+	 * Returns the Employees of the provided list with an Hourly Rate in the provided range, without an index: one pass over the list, then a sort
+	 * of the matches only.
+	 * 
+	 * @param employees
+	 *            The Employees to be searched
+	 * @param lo
+	 *            The lowest Hourly Rate of the range
+	 * @param hi
+	 *            The highest Hourly Rate of the range
+	 * @return Returns a new list of the Employees in the range, in the same order as byHourlyRate(double, double)
+	 */
+	static List<Employee> scanHourlyRate(List<Employee> employees, double lo, double hi) {
+		ArrayList<Employee> found = new ArrayList<>();
+		for (Employee e : employees) {
+			if (e.getHourlyRate() >= lo && e.getHourlyRate() <= hi) {
+				found.add(e);
+			}
+		}
+		Collections.sort(found, HOURLY_RATE_ORDER);
+		return found;
+	}
+
+	/**
+	 * Returns the Employees of the provided list with a Last Name or a First Name starting with the provided prefix, without an index: one pass
+	 * over the list, then a sort of the matches only.
+	 * 
+	 * @param employees
+	 *            The Employees to be searched
+	 * @param prefix
+	 *            The prefix of the name, case sensitive
+	 * @param lastName
+	 *            True to match the Last Name, False to match the First Name
+	 * @return Returns a new list of the Employees found, in the same order as byLastName(String) or byFirstName(String)
+	 */
+	static List<Employee> scanName(List<Employee> employees, String prefix, boolean lastName) {
+		ArrayList<Employee> found = new ArrayList<>();
+		for (Employee e : employees) {
+			if (nameOf(e, lastName).startsWith(prefix)) {
+				found.add(e);
+			}
+		}
+		Collections.sort(found, lastName ? LAST_NAME_ORDER : FIRST_NAME_ORDER);
+		return found;
+	}
+
+	/**
+	 * Returns the Last Name or the First Name of the provided Employee.
+	 * 
+	 * @param e
+	 *            The Employee
+	 * @param lastName
+	 *            True for the Last Name, False for the First Name
+	 * @return Returns the name of the Employee
+	 */
+	private static String nameOf(Employee e, boolean lastName) {
+		return lastName ? e.getLastName() : e.getFirstName();
+	}
+
+	/**
+	 * An array of Employees kept sorted by the order of the index.
+	 */
+	private static final class Index {
+
+		/**
+		 * The capacity of the array when the first Employee is added ({@value})
+		 */
+		private static final int DEFAULT_CAPACITY = 10;
+
+		/**
+		 * The Employees, sorted, in positions 0 to size - 1.
+		 */
+		Employee[] elements = new Employee[0];
+
+		/**
+		 * The number of Employees in the index.
+		 */
+		int size;
+
+		/**
+		 * The order of the index. No two Employees compare equal, because ties are broken by Employee ID.
+		 */
+		private final Comparator<Employee> order;
+
+		/**
+		 * Constructor for an empty index in the provided order.
+		 * 
+		 * @param orderIn
+		 *            The order of the index
+		 */
+		Index(Comparator<Employee> orderIn) {
+			order = orderIn;
+		}
+
+		/**
+		 * Returns the position of the provided Employee in the index.
+		 * 
+		 * @param e
+		 *            The Employee to be found
+		 * @return Returns the position of the Employee, or -(insertion point + 1) if it is not in the index
+		 */
+		private int search(Employee e) {
+			int low = 0;
+			int high = size - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int c = order.compare(elements[mid], e);
+				if (c < 0) {
+					low = mid + 1;
+				} else if (c > 0) {
+					high = mid - 1;
+				} else {
+					return mid;
+				}
+			}
+			return -(low + 1);
+		}
+
+		/**
+		 * Makes room for the provided number of Employees, growing the array by half if needed.
+		 * 
+		 * @param count
+		 *            The number of Employees to be added
+		 */
+		private void ensureRoom(int count) {
+			if (size + count > elements.length) {
+				elements = Arrays.copyOf(elements, Math.max(Math.max(elements.length + (elements.length >> 1), DEFAULT_CAPACITY), size + count));
+			}
+		}
+
+		/**
+		 * Inserts the provided Employee at its sorted position.
+		 * 
+		 * @param e
+		 *            The Employee to be inserted
+		 */
+		void add(Employee e) {
+			int pos = -(search(e) + 1);
+			ensureRoom(1);
+			System.arraycopy(elements, pos, elements, pos + 1, size - pos);
+			elements[pos] = e;
+			size++;
+		}
+
+		/**
+		 * Appends the provided Employees and sorts the index again.
+		 * 
+		 * @param employees
+		 *            The Employees to be added
+		 */
+		void addAll(Collection<Employee> employees) {
+			ensureRoom(employees.size());
+			for (Employee e : employees) {
+				elements[size++] = e;
+			}
+			Arrays.sort(elements, 0, size, order);
+		}
+
+		/**
+		 * Removes the provided Employee, if it is in the index.
+		 * 
+		 * @param e
+		 *            The Employee to be removed
+		 */
+		void remove(Employee e) {
+			int pos = search(e);
+			if (pos >= 0) {
+				System.arraycopy(elements, pos + 1, elements, pos, size - pos - 1);
+				elements[--size] = null;
+			}
+		}
+
+		/**
+		 * Returns a copy of a range of the index.
+		 * 
+		 * @param from
+		 *            The first position of the range, inclusive
+		 * @param to
+		 *            The last position of the range, exclusive
+		 * @return Returns a new list of the Employees in the range
+		 */
+		List<Employee> copy(int from, int to) {
+			return new ArrayList<>(Arrays.asList(elements).subList(from, to));
+		}
+	}
+}
@@ -0,0 +1,243 @@
+package domain;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The storage of a Department's employee list: an array of Employees sorted by Employee ID, shared copy-on-write with the snapshots taken from
+ * it. Taking a snapshot only marks the array as shared; the next change copies it first, so a shared array is never written again.<br>
+ * The list itself is read-only through the List interface; it is changed with insert, removeAt and merge.
+ * 
+ * @author Christopher Hield
+ * @see domain.Department
+ * @see domain.DepartmentSnapshot
+ * @since Version 1.8
+ *
+ */
+final class SortedEmployees extends AbstractList<Employee> implements RandomAccess {
+
+	/**
+	 * The array of a list with no capacity yet.
+	 */
+	private static final Employee[] EMPTY = new Employee[0];
+
+	/**
+	 * The capacity of the array when the first Employee is inserted into a list with no capacity ({@value})
+	 */
+	private static final int DEFAULT_CAPACITY = 10;
+
+	/**
+	 * The Employees, sorted by Employee ID, in positions 0 to size - 1.
+	 */
+	private Employee[] elements;
+
+	/**
+	 * The number of Employees in the list.
+	 */
+	private int size;
+
+	/**
+	 * Whether the array is shared with a snapshot and must be copied before it is changed.
+	 */
+	private boolean shared;
+
+	/**
+	 * Constructor for an empty list with the provided capacity.
+	 * 
+	 * @param capacity
+	 *            The number of Employees the list can hold before growing
+	 */
+	SortedEmployees(int capacity) {
+		elements = capacity > 0 ? new Employee[capacity] : EMPTY;
+	}
+
+	@Override
+	public Employee get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Bad index passed to get: " + index);
+		}
+		return elements[index];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the position of the Employee with the provided ID.
+	 * 
+	 * @param id
+	 *            The Employee ID to be found
+	 * @return Returns the position of the Employee, or -(insertion point + 1) if no Employee has the ID
+	 */
+	int search(int id) {
+		return search(elements, 0, size, id);
+	}
+
+	/**
+	 * Returns the position of the Employee with the provided ID in a range of an array sorted by Employee ID.
+	 * 
+	 * @param a
+	 *            The array to be searched
+	 * @param from
+	 *            The first position of the range, inclusive
+	 * @param to
+	 *            The last position of the range, exclusive
+	 * @param id
+	 *            The Employee ID to be found
+	 * @return Returns the position of the Employee, or -(insertion point + 1) if no Employee has the ID
+	 */
+	static int search(Employee[] a, int from, int to, int id) {
+		int low = from;
+		int high = to - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int midId = a[mid].getEmployeeId();
+			if (midId < id) {
+				low = mid + 1;
+			} else if (midId > id) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(low + 1);
+	}
+
+	/**
+	 * Returns the position of the first Employee with an ID greater or equal to the provided ID.
+	 * 
+	 * @param id
+	 *            The Employee ID
+	 * @return Returns the position of the first Employee with an ID of at least id, size() if there is none
+	 */
+	int ceilingIndex(int id) {
+		return ceilingIndex(elements, size, id);
+	}
+
+	/**
+	 * Returns the position of the first Employee with an ID greater than the provided ID.
+	 * 
+	 * @param id
+	 *            The Employee ID
+	 * @return Returns the position of the first Employee with an ID above id, size() if there is none
+	 */
+	int higherIndex(int id) {
+		return higherIndex(elements, size, id);
+	}
+
+	/**
+	 * Returns the position of the first Employee with an ID greater or equal to the provided ID, in the first positions of an array sorted by
+	 * Employee ID.
+	 * 
+	 * @param a
+	 *            The array to be searched
+	 * @param size
+	 *            The number of Employees in the array
+	 * @param id
+	 *            The Employee ID
+	 * @return Returns the position of the first Employee with an ID of at least id, size if there is none
+	 */
+	static int ceilingIndex(Employee[] a, int size, int id) {
+		int pos = search(a, 0, size, id);
+		return pos >= 0 ? pos : -(pos + 1);
+	}
+
+	/**
+	 * Returns the position of the first Employee with an ID greater than the provided ID, in the first positions of an array sorted by Employee
+	 * ID.
+	 * 
+	 * @param a
+	 *            The array to be searched
+	 * @param size
+	 *            The number of Employees in the array
+	 * @param id
+	 *            The Employee ID
+	 * @return Returns the position of the first Employee with an ID above id, size if there is none
+	 */
+	static int higherIndex(Employee[] a, int size, int id) {
+		int pos = search(a, 0, size, id);
+		return pos >= 0 ? pos + 1 : -(pos + 1);
+	}
+
+	/**
+	 * Inserts the provided Employee at its sorted position. The caller must already have checked that the ID is not in the list.
+	 * 
+	 * @param e
+	 *            The Employee to be inserted
+	 */
+	void insert(Employee e) {
+		int pos = -(search(e.getEmployeeId()) + 1);
+		prepareWrite(size + 1);
+		System.arraycopy(elements, pos, elements, pos + 1, size - pos);
+		elements[pos] = e;
+		size++;
+	}
+
+	/**
+	 * Removes the Employee at the provided position.
+	 * 
+	 * @param pos
+	 *            The position of the Employee to be removed
+	 * @return Returns the removed Employee
+	 */
+	Employee removeAt(int pos) {
+		prepareWrite(size);
+		Employee e = elements[pos];
+		System.arraycopy(elements, pos + 1, elements, pos, size - pos - 1);
+		elements[--size] = null;
+		return e;
+	}
+
+	/**
+	 * Merges the provided sorted Employees into the list in a single backwards pass. The caller must already have checked that none of the IDs is
+	 * in the list.
+	 * 
+	 * @param sorted
+	 *            The Employees to be merged, sorted by Employee ID
+	 */
+	void merge(List<Employee> sorted) {
+		prepareWrite(size + sorted.size());
+		int i = size - 1;
+		int j = sorted.size() - 1;
+		size += sorted.size();
+		for (int k = size - 1; j >= 0; k--) {
+			if (i >= 0 && elements[i].getEmployeeId() > sorted.get(j).getEmployeeId()) {
+				elements[k] = elements[i--];
+			} else {
+				elements[k] = sorted.get(j--);
+			}
+		}
+	}
+
+	/**
+	 * Returns the array holding the Employees and marks it as shared, so the list copies it before its next change. The Employees are in
+	 * positions 0 to size() - 1.
+	 * 
+	 * @return Returns the array holding the Employees, which must not be changed
+	 */
+	Employee[] share() {
+		shared = true;
+		return elements;
+	}
+
+	/**
+	 * Makes the array safe to change and able to hold the provided number of Employees, copying it if it is shared or too small.
+	 * 
+	 * @param minCapacity
+	 *            The number of Employees the array must be able to hold
+	 */
+	private void prepareWrite(int minCapacity) {
+		if (minCapacity > elements.length) {
+			int capacity = Math.max(elements.length + (elements.length >> 1), DEFAULT_CAPACITY);
+			elements = Arrays.copyOf(elements, Math.max(capacity, minCapacity));
+			shared = false;
+		} else if (shared) {
+			elements = elements.clone();
+			shared = false;
+		}
+	}
+}
@@ -1,7 +1,11 @@
 package domain;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 import utils.BadParameterException;
 import utils.NullParameterException;
+import utils.ReportBuffer;
 
 /**
  * A class representing an Employee's Timecard.<br>
@@ -10,6 +14,7 @@ import utils.NullParameterException;
  * <pre>
  * Timecard myTimecard = new Timecard(new int[] { 5, 6, 7, 8, 9 });
  * Timecard myTimecard = new Timecard(anotherTimecard);
+ * Timecard myTimecard = Timecard.fromPackedHours(anotherTimecard.getPackedHours());
  * </pre>
  * 
  * @author Christopher Hield
@@ -27,9 +32,39 @@ public class Timecard {
 	public static final int NUM_DAYS = 5;
 
 	/**
-	 * Array representing the days of the Week.
+	 * The number of bits used to store the hours of one day.
+	 */
+	private static final int BITS_PER_DAY = 5;
+
+	/**
+	 * The mask selecting the hours of one day once shifted down.
+	 */
+	private static final int DAY_MASK = (1 << BITS_PER_DAY) - 1;
+
+	/**
+	 * The report label of the Weekly Hours.
+	 */
+	private static final char[] WEEKLY_HOURS_LABEL = ReportBuffer.label("Weekly Hours:", 20);
+
+	/**
+	 * The report label starting each day's line, "Day" right-aligned to 7 chars and followed by one space.
 	 */
-	private final int[] daysOfTheWeek = new int[NUM_DAYS];
+	private static final char[] DAY_LABEL = "    Day ".toCharArray();
+
+	/**
+	 * The hours of every day of the Week packed in a single int. The hours of day {@code i} are stored in bits {@code i * BITS_PER_DAY} to
+	 * {@code (i + 1) * BITS_PER_DAY - 1}; the bits above the last day are zero.
+	 * 
+	 * @see #getPackedHours()
+	 */
+	private int packedHours;
+
+	/**
+	 * The Weekly Hours in the Timecard, kept up to date whenever the hours of a day are set.
+	 * 
+	 * @see #getWeeklyHours()
+	 */
+	private int weeklyHours;
 
 	/**
 	 * Constructor for the Timecard class that takes an array of numbers that represents the days of the week.
@@ -64,27 +99,124 @@ public class Timecard {
 	 * @see #Timecard(int[])
 	 */
 	public Timecard(Timecard t) throws BadParameterException {
+		packedHours = t.packedHours;
+		weeklyHours = t.weeklyHours;
+	}
+
+	/**
+	 * Private constructor for a Timecard holding already validated packed hours.
+	 * 
+	 * @param packed
+	 *            The hours of every day packed as returned by getPackedHours()
+	 * @see #fromPackedHours(int)
+	 */
+	private Timecard(int packed) {
+		packedHours = packed;
 		for (int i = 0; i < NUM_DAYS; i++) {
-			setHoursByDay(i, t.getHoursByDay(i));
+			weeklyHours += hoursOf(packed, i);
 		}
 	}
 
 	/**
-	 * Returns the Weekly Hours in the Timecard. The result is all the hours in the Timecard added up
+	 * Returns a Timecard holding the provided packed hours, as returned by getPackedHours().
 	 * 
-	 * @return Returns the Weekly Hours in the Timecard
-	 * @see #getHoursByDay(int)
+	 * @param packed
+	 *            The hours of every day packed in a single int
+	 * @return Returns a Timecard holding the provided packed hours
+	 * @throws BadParameterException
+	 *             If the hours of any day are more than 24, or bits above the last day are set
+	 * @see #getPackedHours()
 	 */
-	public int getWeeklyHours() {
-		int count = 0;
+	public static Timecard fromPackedHours(int packed) throws BadParameterException {
+		if ((packed >>> (NUM_DAYS * BITS_PER_DAY)) != 0) {
+			throw new BadParameterException("Bad packed hours value passed to fromPackedHours: " + packed);
+		}
 		for (int i = 0; i < NUM_DAYS; i++) {
-			try {
-				count += getHoursByDay(i);
-			} catch (BadParameterException e) {
-				System.err.println("Invalid day " + i + " skipped in summing weekly hours");
+			int hours = hoursOf(packed, i);
+			if (!isValidHours(hours)) {
+				throw new BadParameterException("Bad hours value passed to fromPackedHours: " + hours);
 			}
 		}
-		return count;
+		return new Timecard(packed);
+	}
+
+	/**
+	 * Validates an array of hours by day without throwing. Every invalid value is reported, not only the first one.
+	 * 
+	 * @param daysIn
+	 *            Array of numbers representing the days of the week
+	 * @return Returns the result holding every error found, ValidationResult.VALID if the array is valid
+	 * @see #Timecard(int[])
+	 */
+	public static ValidationResult validate(int[] daysIn) {
+		return ValidationResult.of(validationErrors(daysIn));
+	}
+
+	/**
+	 * Returns the errors in an array of hours by day, one ValidationError bit each.
+	 * 
+	 * @param daysIn
+	 *            Array of numbers representing the days of the week
+	 * @return Returns the errors found, zero if the array is valid
+	 * @see #validate(int[])
+	 */
+	static int validationErrors(int[] daysIn) {
+		if (daysIn == null) {
+			return ValidationError.NULL_HOURS.bit();
+		}
+		if (daysIn.length != NUM_DAYS) {
+			return ValidationError.BAD_HOURS_LENGTH.bit();
+		}
+		for (int i = 0; i < NUM_DAYS; i++) {
+			if (!isValidHours(daysIn[i])) {
+				return ValidationError.BAD_HOURS.bit();
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Checks whether the provided number is a valid number of hours for a day.
+	 * 
+	 * @param hours
+	 *            The number to be checked
+	 * @return Returns True if the number is between 0 and 24, False if not
+	 */
+	static boolean isValidHours(int hours) {
+		return hours >= 0 && hours <= 24;
+	}
+
+	/**
+	 * Returns the hours of every day packed in a single int, BITS_PER_DAY bits per day starting from day 0 in the lowest bits.
+	 * 
+	 * @return Returns the hours of every day packed in a single int
+	 * @see #fromPackedHours(int)
+	 */
+	public int getPackedHours() {
+		return packedHours;
+	}
+
+	/**
+	 * Returns the hours of the provided day from the provided packed hours. The day is not checked.
+	 * 
+	 * @param packed
+	 *            The hours of every day packed as returned by getPackedHours()
+	 * @param day
+	 *            Day of the Week starting from 0
+	 * @return Returns the hours of the provided day
+	 */
+	static int hoursOf(int packed, int day) {
+		return (packed >>> (day * BITS_PER_DAY)) & DAY_MASK;
+	}
+
+	/**
+	 * Returns the Weekly Hours in the Timecard. The result is all the hours in the Timecard added up, computed when the Timecard is built
+	 * 
+	 * @return Returns the Weekly Hours in the Timecard
+	 * @see #getHoursByDay(int)
+	 */
+	public int getWeeklyHours() {
+		return weeklyHours;
 	}
 
 	/**
@@ -102,7 +234,7 @@ public class Timecard {
 			throw new BadParameterException("Bad day value passed to getHoursByDay: " + day);
 		}
 
-		return daysOfTheWeek[day];
+		return hoursOf(packedHours, day);
 	}
 
 	/**
@@ -121,28 +253,68 @@ public class Timecard {
 		if (day < 0 || day >= NUM_DAYS) {
 			throw new BadParameterException("Bad day value passed to setHoursByDay: " + day);
 		}
-		if (hours < 0 || hours > 24) {
+		if (!isValidHours(hours)) {
 			throw new BadParameterException("Bad hours value passed to setHoursByDay: " + hours);
 		}
-		daysOfTheWeek[day] = hours;
+		weeklyHours += hours - hoursOf(packedHours, day);
+		packedHours = (packedHours & ~(DAY_MASK << (day * BITS_PER_DAY))) | (hours << (day * BITS_PER_DAY));
 	}
 
 	/**
 	 * Returns a formatted report with all the information about the Timecard.
 	 * 
 	 * @return Returns a formatted report with all the information about the Timecard
+	 * @see #writeReport(Appendable)
 	 */
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		sb.append(String.format("%-20s %d%n", "Weekly Hours:", getWeeklyHours()));
+		try {
+			writeReport(sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); // A StringBuilder never throws IOException
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Writes a formatted report with all the information about the Timecard to the provided Appendable, line by line. The report is the same
+	 * as the one returned by toString().
+	 * 
+	 * @param out
+	 *            The Appendable the report is written to
+	 * @throws IOException
+	 *             If writing to the Appendable fails
+	 * @see #toString()
+	 */
+	public void writeReport(Appendable out) throws IOException {
+		ReportBuffer buf = ReportBuffer.acquire(out);
+		try {
+			writeReport(buf);
+			buf.flush();
+		} finally {
+			buf.release();
+		}
+	}
+
+	/**
+	 * Writes a formatted report with all the information about the Timecard to the provided ReportBuffer.
+	 * 
+	 * @param buf
+	 *            The ReportBuffer the report is written to
+	 * @throws IOException
+	 *             If writing to the buffer's target fails
+	 */
+	void writeReport(ReportBuffer buf) throws IOException {
+		buf.append(WEEKLY_HOURS_LABEL).appendInt(getWeeklyHours(), 0).newLine();
 		for (int i = 0; i < NUM_DAYS; i++) {
+			buf.append(DAY_LABEL).appendInt(i + 1, 0).append(": ");
 			try {
-				sb.append(String.format("%7s %d: %11d%n", "Day", (i + 1), getHoursByDay(i)));
+				buf.appendInt(getHoursByDay(i), 11);
 			} catch (BadParameterException e) {
-				sb.append(String.format("%7s %d: %s %d%n", "Day", (i + 1), "Error Accessing Hours for Day", i));
+				buf.append("Error Accessing Hours for Day ").appendInt(i, 0);
 			}
+			buf.newLine();
 		}
-		return sb.toString();
 	}
 }
@@ -0,0 +1,436 @@
+package domain;
+
+import java.util.Arrays;
+
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+/**
+ * The weekly Timecards and Weekly Pay of one Employee over many weeks. Weeks are numbered by the caller, for example counting from a fixed
+ * starting week, and are recorded in increasing order; weeks that are skipped hold no hours and no pay.<br>
+ * The history is stored run-length encoded: consecutive weeks with the same packed hours and the same pay share a single run, so an Employee
+ * working the same schedule for a year takes one run, not 52 weeks. Every run also keeps the total hours and pay of the runs before it, so the
+ * totals between any two weeks are found by two binary searches over the runs, without visiting the weeks in between.<br>
+ * Pay is kept in whole cents, so totals over long ranges add up exactly.<br>
+ * The histories kept by a PayrollHistory are read-only: only the PayrollHistory records weeks into them.
+ * 
+ * @author Christopher Hield
+ * @see domain.Timecard
+ * @see domain.PayrollHistory
+ * @since Version 1.8
+ *
+ */
+public final class TimecardHistory {
+
+	/**
+	 * The capacity of the arrays when the first run is added ({@value})
+	 */
+	private static final int DEFAULT_CAPACITY = 4;
+
+	/**
+	 * The first week of every run, increasing.
+	 */
+	private int[] runStart = new int[0];
+
+	/**
+	 * The number of consecutive weeks in every run.
+	 */
+	private int[] runLength = new int[0];
+
+	/**
+	 * The packed hours of every week of a run, as returned by Timecard.getPackedHours().
+	 */
+	private int[] runPackedHours = new int[0];
+
+	/**
+	 * The Weekly Pay in cents of every week of a run.
+	 */
+	private long[] runPayCents = new long[0];
+
+	/**
+	 * The total hours of the runs before every run.
+	 */
+	private long[] hoursBefore = new long[0];
+
+	/**
+	 * The total pay in cents of the runs before every run.
+	 */
+	private long[] payCentsBefore = new long[0];
+
+	/**
+	 * The number of runs.
+	 */
+	private int runs;
+
+	/**
+	 * The number of weeks recorded.
+	 */
+	private int weeks;
+
+	/**
+	 * Whether weeks can only be recorded by the PayrollHistory that owns this history.
+	 * 
+	 * @see #isReadOnly()
+	 */
+	private final boolean readOnly;
+
+	/**
+	 * Constructor for an empty history.
+	 */
+	public TimecardHistory() {
+		this(false);
+	}
+
+	/**
+	 * Constructor for an empty history, read-only if it is owned by a PayrollHistory.
+	 * 
+	 * @param readOnlyIn
+	 *            True if only the owner can record weeks
+	 */
+	TimecardHistory(boolean readOnlyIn) {
+		readOnly = readOnlyIn;
+	}
+
+	/**
+	 * Returns whether the history is read-only, because it is kept by a PayrollHistory.
+	 * 
+	 * @return Returns True if weeks can not be recorded through record, False if they can
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	/**
+	 * Records the Timecard and Weekly Pay of the provided Employee for the provided week.
+	 * 
+	 * @param week
+	 *            The week to be recorded
+	 * @param e
+	 *            The Employee whose Timecard and Weekly Pay are recorded
+	 * @throws NullParameterException
+	 *             If the Employee is null
+	 * @throws BadParameterException
+	 *             If the week is less than zero, or not after the last week recorded, or the history is read-only
+	 * @see #record(int, Timecard, double)
+	 */
+	public void record(int week, Employee e) throws NullParameterException, BadParameterException {
+		if (e == null) {
+			throw new NullParameterException("Null Employee sent to record!");
+		}
+		record(week, e.getTimecard(), e.getWeeklyPay());
+	}
+
+	/**
+	 * Records the provided Timecard and Weekly Pay for the provided week. The week extends the last run if it follows it and holds the same
+	 * hours and pay.
+	 * 
+	 * @param week
+	 *            The week to be recorded
+	 * @param t
+	 *            The Timecard of the week
+	 * @param weeklyPay
+	 *            The Weekly Pay of the week
+	 * @throws NullParameterException
+	 *             If the Timecard is null
+	 * @throws BadParameterException
+	 *             If the week is less than zero, or not after the last week recorded, or the Weekly Pay is less than zero or too large to be
+	 *             kept in cents, which includes NaN and infinity, or the history is read-only
+	 */
+	public void record(int week, Timecard t, double weeklyPay) throws NullParameterException, BadParameterException {
+		if (t == null) {
+			throw new NullParameterException("Null Timecard sent to record!");
+		}
+		if (readOnly) {
+			throw new BadParameterException("Read-only TimecardHistory cannot be changed, record weeks through its PayrollHistory");
+		}
+		if (week < 0 || week <= getLastWeek()) {
+			throw new BadParameterException("Bad week value passed to record: " + week + ", last week recorded: " + getLastWeek());
+		}
+		if (!(weeklyPay >= 0.0 && weeklyPay * 100 < 0x1p63)) {
+			throw new BadParameterException("Bad Weekly Pay value passed to record: " + weeklyPay);
+		}
+
+		append(week, t.getPackedHours(), Math.round(weeklyPay * 100));
+	}
+
+	/**
+	 * Records the Timecard and Weekly Pay of the provided Employee for the provided week, even if the history is read-only. Called by the
+	 * PayrollHistory that owns the history, which has already checked the week.
+	 * 
+	 * @param week
+	 *            The week to be recorded, after the last week recorded
+	 * @param e
+	 *            The Employee whose Timecard and Weekly Pay are recorded
+	 */
+	void append(int week, Employee e) {
+		append(week, e.getTimecard().getPackedHours(), e.getWeeklyPayCents());
+	}
+
+	/**
+	 * Records the provided packed hours and pay for the provided week. The week extends the last run if it follows it and holds the same hours
+	 * and pay.
+	 * 
+	 * @param week
+	 *            The week to be recorded, after the last week recorded
+	 * @param packedHours
+	 *            The hours of the week, as returned by Timecard.getPackedHours()
+	 * @param payCents
+	 *            The Weekly Pay in cents of the week
+	 */
+	private void append(int week, int packedHours, long payCents) {
+		int last = runs - 1;
+		if (last >= 0 && runStart[last] + runLength[last] == week && runPackedHours[last] == packedHours && runPayCents[last] == payCents) {
+			runLength[last]++;
+		} else {
+			if (runs == runStart.length) {
+				grow();
+			}
+			runStart[runs] = week;
+			runLength[runs] = 1;
+			runPackedHours[runs] = packedHours;
+			runPayCents[runs] = payCents;
+			if (last >= 0) {
+				hoursBefore[runs] = hoursBefore[last] + (long) runLength[last] * weeklyHours(last);
+				payCentsBefore[runs] = payCentsBefore[last] + runLength[last] * runPayCents[last];
+			}
+			runs++;
+		}
+		weeks++;
+	}
+
+	/**
+	 * Grows the arrays of runs by half.
+	 */
+	private void grow() {
+		int capacity = Math.max(runStart.length + (runStart.length >> 1), DEFAULT_CAPACITY);
+		runStart = Arrays.copyOf(runStart, capacity);
+		runLength = Arrays.copyOf(runLength, capacity);
+		runPackedHours = Arrays.copyOf(runPackedHours, capacity);
+		runPayCents = Arrays.copyOf(runPayCents, capacity);
+		hoursBefore = Arrays.copyOf(hoursBefore, capacity);
+		payCentsBefore = Arrays.copyOf(payCentsBefore, capacity);
+	}
+
+	/**
+	 * Returns the Weekly Hours of every week of the provided run.
+	 * 
+	 * @param run
+	 *            The run
+	 * @return Returns the Weekly Hours of every week of the run
+	 */
+	private int weeklyHours(int run) {
+		int hours = 0;
+		for (int day = 0; day < Timecard.NUM_DAYS; day++) {
+			hours += Timecard.hoursOf(runPackedHours[run], day);
+		}
+		return hours;
+	}
+
+	/**
+	 * Returns the number of weeks recorded.
+	 * 
+	 * @return Returns the number of weeks recorded
+	 */
+	public int getNumWeeks() {
+		return weeks;
+	}
+
+	/**
+	 * Returns the number of runs the weeks are stored in.
+	 * 
+	 * @return Returns the number of runs
+	 */
+	public int getNumRuns() {
+		return runs;
+	}
+
+	/**
+	 * Returns the first week recorded.
+	 * 
+	 * @return Returns the first week recorded, -1 if no week is recorded
+	 */
+	public int getFirstWeek() {
+		return runs == 0 ? -1 : runStart[0];
+	}
+
+	/**
+	 * Returns the last week recorded.
+	 * 
+	 * @return Returns the last week recorded, -1 if no week is recorded
+	 */
+	public int getLastWeek() {
+		return runs == 0 ? -1 : runStart[runs - 1] + runLength[runs - 1] - 1;
+	}
+
+	/**
+	 * Returns the run holding the provided week, or the last run before it.
+	 * 
+	 * @param week
+	 *            The week to be found
+	 * @return Returns the last run starting at or before the week, -1 if every run starts after it
+	 */
+	private int runAtOrBefore(int week) {
+		int low = 0;
+		int high = runs - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (runStart[mid] <= week) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return high;
+	}
+
+	/**
+	 * Returns the run holding the provided week.
+	 * 
+	 * @param week
+	 *            The week to be found
+	 * @return Returns the run holding the week, -1 if the week is not recorded
+	 */
+	private int runOf(int week) {
+		int run = runAtOrBefore(week);
+		return run >= 0 && week < runStart[run] + runLength[run] ? run : -1;
+	}
+
+	/**
+	 * Checks whether the provided week is recorded.
+	 * 
+	 * @param week
+	 *            The week to be checked
+	 * @return Returns True if the week is recorded, False if not
+	 */
+	public boolean hasWeek(int week) {
+		return runOf(week) >= 0;
+	}
+
+	/**
+	 * Returns the Timecard recorded for the provided week.
+	 * 
+	 * @param week
+	 *            The week
+	 * @return Returns the Timecard of the week, null if the week is not recorded
+	 */
+	public Timecard getTimecard(int week) {
+		int run = runOf(week);
+		if (run < 0) {
+			return null;
+		}
+		try {
+			return Timecard.fromPackedHours(runPackedHours[run]);
+		} catch (BadParameterException e) {
+			throw new IllegalStateException(e); // The hours came from a Timecard
+		}
+	}
+
+	/**
+	 * Returns the Weekly Pay recorded for the provided week.
+	 * 
+	 * @param week
+	 *            The week
+	 * @return Returns the Weekly Pay of the week, zero if the week is not recorded
+	 */
+	public double getWeeklyPay(int week) {
+		int run = runOf(week);
+		return run < 0 ? 0.0 : runPayCents[run] / 100.0;
+	}
+
+	/**
+	 * Returns the total hours of the weeks before the provided week.
+	 * 
+	 * @param week
+	 *            The week the total stops at
+	 * @return Returns the total hours of the weeks before the week
+	 */
+	private long hoursBefore(int week) {
+		int run = runAtOrBefore(week - 1);
+		if (run < 0) {
+			return 0;
+		}
+		return hoursBefore[run] + (long) Math.min(week - runStart[run], runLength[run]) * weeklyHours(run);
+	}
+
+	/**
+	 * Returns the total pay in cents of the weeks before the provided week.
+	 * 
+	 * @param week
+	 *            The week the total stops at
+	 * @return Returns the total pay in cents of the weeks before the week
+	 */
+	private long payCentsBefore(int week) {
+		int run = runAtOrBefore(week - 1);
+		if (run < 0) {
+			return 0;
+		}
+		return payCentsBefore[run] + Math.min(week - runStart[run], runLength[run]) * runPayCents[run];
+	}
+
+	/**
+	 * Checks that the provided weeks make a range.
+	 * 
+	 * @param fromWeek
+	 *            The first week of the range
+	 * @param toWeek
+	 *            The week after the last week of the range
+	 * @param method
+	 *            The name of the calling method, for the exception message
+	 * @throws BadParameterException
+	 *             If the first week is less than zero, or after the end of the range
+	 */
+	static void checkRange(int fromWeek, int toWeek, String method) throws BadParameterException {
+		if (fromWeek < 0 || fromWeek > toWeek) {
+			throw new BadParameterException("Bad week range passed to " + method + ": " + fromWeek + " to " + toWeek);
+		}
+	}
+
+	/**
+	 * Returns the total hours worked from the provided first week up to, but not including, the provided last week.
+	 * 
+	 * @param fromWeek
+	 *            The first week of the range
+	 * @param toWeek
+	 *            The week after the last week of the range
+	 * @return Returns the total hours of the weeks in the range
+	 * @throws BadParameterException
+	 *             If the first week is less than zero, or after the end of the range
+	 */
+	public long getTotalHours(int fromWeek, int toWeek) throws BadParameterException {
+		checkRange(fromWeek, toWeek, "getTotalHours");
+		return hoursBefore(toWeek) - hoursBefore(fromWeek);
+	}
+
+	/**
+	 * Returns the total pay in cents from the provided first week up to, but not including, the provided last week.
+	 * 
+	 * @param fromWeek
+	 *            The first week of the range
+	 * @param toWeek
+	 *            The week after the last week of the range
+	 * @return Returns the total pay in cents of the weeks in the range
+	 * @throws BadParameterException
+	 *             If the first week is less than zero, or after the end of the range
+	 */
+	public long getTotalPayCents(int fromWeek, int toWeek) throws BadParameterException {
+		checkRange(fromWeek, toWeek, "getTotalPayCents");
+		return payCentsBefore(toWeek) - payCentsBefore(fromWeek);
+	}
+
+	/**
+	 * Returns the total pay from the provided first week up to, but not including, the provided last week.
+	 * 
+	 * @param fromWeek
+	 *            The first week of the range
+	 * @param toWeek
+	 *            The week after the last week of the range
+	 * @return Returns the total pay of the weeks in the range
+	 * @throws BadParameterException
+	 *             If the first week is less than zero, or after the end of the range
+	 * @see #getTotalPayCents(int, int)
+	 */
+	public double getTotalPay(int fromWeek, int toWeek) throws BadParameterException {
+		checkRange(fromWeek, toWeek, "getTotalPay");
+		return (payCentsBefore(toWeek) - payCentsBefore(fromWeek)) / 100.0;
+	}
+}
@@ -0,0 +1,106 @@
+package domain;
+
+/**
+ * The errors reported by the exception-free validation of Employee, Sales Employee and Timecard values. Each error names the field and the rule
+ * that failed, and matches one of the exceptions the corresponding setter or constructor would throw.
+ * 
+ * @author Christopher Hield
+ * @see domain.ValidationResult
+ * @see domain.Employee#validate(String, String, int, double, int[])
+ * @see domain.SalesEmployee#validate(String, String, int, double, int[], double, double)
+ * @see domain.Timecard#validate(int[])
+ * @since Version 1.8
+ *
+ */
+public enum ValidationError {
+
+	/**
+	 * The First name is null.
+	 */
+	NULL_FIRST_NAME("Null value passed in for firstName"),
+
+	/**
+	 * The First name length is either zero, or more than Employee.MAX_NAME_LENGTH.
+	 */
+	BAD_FIRST_NAME("Bad value passed in for firstName"),
+
+	/**
+	 * The Last name is null.
+	 */
+	NULL_LAST_NAME("Null value passed in for lastName"),
+
+	/**
+	 * The Last name length is either zero, or more than Employee.MAX_NAME_LENGTH.
+	 */
+	BAD_LAST_NAME("Bad value passed in for lastName"),
+
+	/**
+	 * The Employee ID is either less than Employee.MIN_ID, or more than Employee.MAX_ID.
+	 */
+	BAD_EMPLOYEE_ID("Bad value passed in for employeeId"),
+
+	/**
+	 * The Hourly Rate is less or equal to zero.
+	 */
+	BAD_HOURLY_RATE("Bad value passed in for hourlyRate"),
+
+	/**
+	 * The array of hours by day is null.
+	 */
+	NULL_HOURS("Null int array passed to Timecard c'tor"),
+
+	/**
+	 * The length of the array of hours by day is not Timecard.NUM_DAYS.
+	 */
+	BAD_HOURS_LENGTH("Invalid int array passed to Timecard c'tor"),
+
+	/**
+	 * The hours of at least one day are less than zero, or more than 24.
+	 */
+	BAD_HOURS("Bad hours value passed to setHoursByDay"),
+
+	/**
+	 * The Sales amount needed to earn by commission is less or equal to zero.
+	 */
+	BAD_SALES_AMOUNT_NEEDED("Invalid sales amount needed"),
+
+	/**
+	 * The Weekly Sales Total is less or equal to zero.
+	 */
+	BAD_WEEKLY_SALES_TOTAL("Invalid weekly sales total");
+
+	/**
+	 * A description of the error, the same text the matching exception message starts with.
+	 * 
+	 * @see #getDescription()
+	 */
+	private final String description;
+
+	/**
+	 * Constructor for the errors.
+	 * 
+	 * @param descriptionIn
+	 *            A description of the error
+	 */
+	private ValidationError(String descriptionIn) {
+		description = descriptionIn;
+	}
+
+	/**
+	 * Returns a description of the error, the same text the matching exception message starts with.
+	 * 
+	 * @return Returns a description of the error
+	 */
+	public String getDescription() {
+		return description;
+	}
+
+	/**
+	 * Returns the bit representing this error in a ValidationResult.
+	 * 
+	 * @return Returns the bit representing this error
+	 */
+	int bit() {
+		return 1 << ordinal();
+	}
+}
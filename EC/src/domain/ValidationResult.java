@@ -0,0 +1,142 @@
+package domain;
+
+import java.util.EnumSet;
+
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+/**
+ * The result of validating Employee, Sales Employee or Timecard values without throwing. All the errors found are kept as a single bit set, so a
+ * result is one small object and a valid result is a shared constant.<br>
+ * Usage example:
+ * 
+ * <pre>
+ * ValidationResult myResult = Employee.validate("Christopher", "Hield", 5000, 50.0, new int[] { 5, 6, 7, 8, 9 });
+ * if (myResult.hasError(ValidationError.BAD_EMPLOYEE_ID)) { ... }
+ * </pre>
+ * 
+ * @author Christopher Hield
+ * @see domain.ValidationError
+ * @since Version 1.8
+ *
+ */
+public final class ValidationResult {
+
+	/**
+	 * The result with no errors.
+	 * 
+	 * @see #isValid()
+	 */
+	public static final ValidationResult VALID = new ValidationResult(0);
+
+	/**
+	 * The errors found, one ValidationError bit each.
+	 */
+	private final int errors;
+
+	/**
+	 * Private constructor for a result holding the provided errors.
+	 * 
+	 * @param errorsIn
+	 *            The errors found, one ValidationError bit each
+	 * @see #of(int)
+	 */
+	private ValidationResult(int errorsIn) {
+		errors = errorsIn;
+	}
+
+	/**
+	 * Returns the result holding the provided errors, VALID if there are none.
+	 * 
+	 * @param errors
+	 *            The errors found, one ValidationError bit each
+	 * @return Returns the result holding the provided errors
+	 */
+	static ValidationResult of(int errors) {
+		return errors == 0 ? VALID : new ValidationResult(errors);
+	}
+
+	/**
+	 * Returns whether no error was found.
+	 * 
+	 * @return Returns True if no error was found, False if not
+	 */
+	public boolean isValid() {
+		return errors == 0;
+	}
+
+	/**
+	 * Returns whether the provided error was found.
+	 * 
+	 * @param error
+	 *            The error to be checked
+	 * @return Returns True if the error was found, False if not
+	 */
+	public boolean hasError(ValidationError error) {
+		return (errors & error.bit()) != 0;
+	}
+
+	/**
+	 * Returns the number of errors found.
+	 * 
+	 * @return Returns the number of errors found
+	 */
+	public int getErrorCount() {
+		return Integer.bitCount(errors);
+	}
+
+	/**
+	 * Returns all the errors found.
+	 * 
+	 * @return Returns a new set with all the errors found
+	 */
+	public EnumSet<ValidationError> getErrors() {
+		EnumSet<ValidationError> set = EnumSet.noneOf(ValidationError.class);
+		for (ValidationError error : ValidationError.values()) {
+			if (hasError(error)) {
+				set.add(error);
+			}
+		}
+		return set;
+	}
+
+	/**
+	 * Throws an exception describing every error found, if any. The first error found, in field order, decides the type, as it would for the
+	 * constructor: a NullParameterException for a null value, a BadParameterException otherwise. The stack trace is not filled in, so callers
+	 * that turn many rejected rows into exceptions do not pay for it.
+	 * 
+	 * @throws NullParameterException
+	 *             If the first error found is a null value
+	 * @throws BadParameterException
+	 *             If the first error found is a bad value
+	 */
+	public void check() throws NullParameterException, BadParameterException {
+		if (errors == 0) {
+			return;
+		}
+		ValidationError first = ValidationError.values()[Integer.numberOfTrailingZeros(errors)];
+		if (first == ValidationError.NULL_FIRST_NAME || first == ValidationError.NULL_LAST_NAME || first == ValidationError.NULL_HOURS) {
+			throw new NullParameterException(toString(), false);
+		}
+		throw new BadParameterException(toString(), false);
+	}
+
+	/**
+	 * Returns the descriptions of all the errors found, separated by "; ", or an empty String if the result is valid.
+	 * 
+	 * @return Returns the descriptions of all the errors found
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (ValidationError error : ValidationError.values()) {
+			if (hasError(error)) {
+				if (sb.length() > 0) {
+					sb.append("; ");
+				}
+				sb.append(error.getDescription());
+			}
+		}
+		return sb.toString();
+	}
+}
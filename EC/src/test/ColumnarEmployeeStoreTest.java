@@ -0,0 +1,130 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import domain.ColumnarEmployeeStore;
+import domain.Department;
+import domain.Employee;
+import domain.EmployeeView;
+import domain.SalesEmployee;
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+public class ColumnarEmployeeStoreTest {
+
+	private Department testDepartment;
+	private ColumnarEmployeeStore testStore;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {}
+
+	@Before
+	public void setUp() {
+		try {
+			testDepartment = new Department("testDepartment");
+			testDepartment.addEmployee(new Employee("Alan", "Conte", 6642, 35.75, new int[] { 7, 6, 7, 8, 8 }));
+			testDepartment.addEmployee(new Employee("Gina", "Thomas", 1547, 37.87, new int[] { 8, 8, 8, 8, 7 }));
+			testDepartment.addEmployee(
+					new SalesEmployee("Raj", "Pandy", 5489, 36.90, new int[] { 6, 9, 7, 8, 8 }, 10000, 12250));
+			testDepartment.addEmployee(
+					new SalesEmployee("Angel", "Ramirez", 7845, 37.50, new int[] { 6, 9, 7, 8, 8 }, 12000, 9950));
+			testStore = new ColumnarEmployeeStore(testDepartment);
+		} catch (NullParameterException | BadParameterException e) {
+			fail("Creation of test store object in @Before failed: " + e.getMessage());
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {}
+
+	@Test
+	public void testColumnarEmployeeStoreDepartment() {
+		assertEquals(testDepartment.getNumInDepartment(), testStore.size());
+		assertEquals(0, testStore.getRow(1547));
+		assertEquals(3, testStore.getRow(7845));
+		assertEquals(-1, testStore.getRow(1234));
+		assertEquals(-1, testStore.getRow(-1));
+	}
+
+	@Test
+	public void testGetView() throws BadParameterException {
+		for (int id : new int[] { 6642, 1547, 5489, 7845 }) {
+			Employee e = testDepartment.getEmployee(id);
+			EmployeeView view = testStore.getView(testStore.getRow(id));
+			assertEquals(e.getEmployeeId(), view.getEmployeeId());
+			assertEquals(e.getFirstName(), view.getFirstName());
+			assertEquals(e.getLastName(), view.getLastName());
+			assertTrue(e.getHourlyRate() == view.getHourlyRate());
+			assertTrue(e.getWeeklyPay() == view.getWeeklyPay());
+		}
+
+		try {
+			testStore.getView(testStore.size());
+			fail("BadParameterException NOT thrown from getView(int) with row = size");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Bad row value passed to ColumnarEmployeeStore"));
+		}
+	}
+
+	@Test
+	public void testGetHoursByDay() throws BadParameterException {
+		int row = testStore.getRow(6642);
+		assertEquals(7, testStore.getHoursByDay(row, 0));
+		assertEquals(8, testStore.getHoursByDay(row, 4));
+
+		try {
+			testStore.getHoursByDay(row, 5);
+			fail("BadParameterException NOT thrown from getHoursByDay(int, int) with day = NUM_DAYS");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Bad day value passed to getHoursByDay"));
+		}
+	}
+
+	@Test
+	public void testAdd() throws NullParameterException, BadParameterException {
+		testStore = new ColumnarEmployeeStore(0);
+		for (int id = 1000; id < 1100; id++) {
+			testStore.add(new Employee("Miguel", "Ledezma", id, 10.5, new int[] { 5, 6, 7, 8, 9 }));
+		}
+		assertEquals(100, testStore.size());
+		assertEquals(1050, testStore.getView(50).getEmployeeId());
+
+		try {
+			testStore.add(null);
+			fail("NullParameterException NOT thrown from add(Employee) with a Null Parameter");
+		} catch (NullParameterException e) {
+			assertEquals("Null Employee sent to add!", e.getMessage());
+		}
+
+		try {
+			testStore.add(new Employee("Miguel", "Ledezma", 1000, 10.5, new int[] { 5, 6, 7, 8, 9 }));
+			fail("BadParameterException NOT thrown from add(Employee) with an ID already in the store");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Employee ID already in store"));
+			assertEquals(100, testStore.size());
+		}
+	}
+
+	@Test
+	public void testGetTotalWeeklyPay() {
+		long expected = 0;
+		for (int id : new int[] { 1547, 5489, 6642, 7845 }) {
+			expected += testDepartment.getEmployee(id).getWeeklyPayCents();
+		}
+		assertEquals(expected, testStore.getTotalWeeklyPayCents());
+		assertTrue(expected / 100.0 == testStore.getTotalWeeklyPay());
+		assertTrue(testDepartment.getTotalWeeklyPay() == testStore.getTotalWeeklyPay());
+	}
+
+}
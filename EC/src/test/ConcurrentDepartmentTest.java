@@ -0,0 +1,138 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import domain.ConcurrentDepartment;
+import domain.Department;
+import domain.Employee;
+import domain.SalesEmployee;
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+public class ConcurrentDepartmentTest {
+
+	private String testName;
+	private ConcurrentDepartment testDepartment;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {}
+
+	@Before
+	public void setUp() {
+		try {
+			testName = "testDepartment";
+			testDepartment = new ConcurrentDepartment(testName);
+		} catch (NullParameterException | BadParameterException e) {
+			fail("Creation of test department object in @Before failed: " + e.getMessage());
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {}
+
+	@Test
+	public void testConcurrentDepartment() {
+		assertEquals(testName, testDepartment.getDepartmentName());
+		assertEquals(Department.MAX_EMP, testDepartment.getMaxEmployees());
+
+		try {
+			testDepartment = new ConcurrentDepartment(null);
+			fail("NullParameterException NOT thrown from ConcurrentDepartment(name) with a Null Parameter");
+		} catch (NullParameterException e) {
+			assertEquals("Null value passed in for departmentName", e.getMessage());
+		} catch (BadParameterException e) {
+			fail("Wrong Exception (BadParameterException) thrown from ConcurrentDepartment(name) with a Null Parameter");
+		}
+	}
+
+	@Test
+	public void testAddRemoveEmployee() throws NullParameterException, BadParameterException {
+		testDepartment.addEmployee(new Employee("Alan", "Conte", 6642, 35.75, new int[] { 7, 6, 7, 8, 8 }));
+		testDepartment.addEmployee(
+				new SalesEmployee("Raj", "Pandy", 5489, 36.90, new int[] { 6, 9, 7, 8, 8 }, 10000, 12250));
+		assertTrue(testDepartment.isInDepartment(6642));
+		assertTrue(testDepartment.getEmployee(5489) instanceof SalesEmployee);
+		assertEquals(2, testDepartment.getNumInDepartment());
+
+		try {
+			testDepartment.addEmployee(new Employee("Alan", "Conte", 6642, 35.75, new int[] { 7, 6, 7, 8, 8 }));
+			fail("BadParameterException NOT thrown from addEmployee(Employee) with an ID already in the department");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Employee ID already in Department"));
+			assertEquals(2, testDepartment.getNumInDepartment());
+		}
+
+		assertEquals(6642, testDepartment.removeEmployee(6642).getEmployeeId());
+		assertFalse(testDepartment.isInDepartment(6642));
+		assertTrue(testDepartment.removeEmployee(6642) == null);
+		assertTrue(testDepartment.removeEmployee(-1) == null);
+		assertEquals(1, testDepartment.getNumInDepartment());
+	}
+
+	@Test
+	public void testToString() throws NullParameterException, BadParameterException {
+		Department department = new Department(testName);
+		for (int id : new int[] { 9000, 1000, 5000, 1001, 4999 }) {
+			Employee e = new Employee("Alan", "Conte", id, 35.75, new int[] { 7, 6, 7, 8, 8 });
+			department.addEmployee(e);
+			testDepartment.addEmployee(e);
+		}
+		assertEquals(department.toString(), testDepartment.toString());
+	}
+
+	@Test
+	public void testConcurrentAdds() throws Exception {
+		final int maxEmp = 500;
+		final ConcurrentDepartment department = new ConcurrentDepartment(testName, maxEmp);
+		final AtomicInteger accepted = new AtomicInteger();
+		ArrayList<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			final int first = Employee.MIN_ID + t;
+			threads.add(new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int id = first; id <= Employee.MAX_ID; id += 8) {
+						try {
+							department.addEmployee(new Employee("Alan", "Conte", id, 10, new int[] { 1, 1, 1, 1, 1 }));
+							accepted.incrementAndGet();
+						} catch (NullParameterException | BadParameterException e) {
+							// Expected once the department is full
+						}
+					}
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(maxEmp, accepted.get());
+		assertEquals(maxEmp, department.getNumInDepartment());
+
+		int found = 0;
+		for (int id = Employee.MIN_ID; id <= Employee.MAX_ID; id++) {
+			if (department.isInDepartment(id)) {
+				found++;
+			}
+		}
+		assertEquals(maxEmp, found);
+	}
+
+}
@@ -0,0 +1,303 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import domain.Department;
+import domain.DepartmentJournal;
+import domain.Employee;
+import domain.SalesEmployee;
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+public class DepartmentJournalTest {
+
+	private Path testDirectory;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {}
+
+	@Before
+	public void setUp() {
+		try {
+			testDirectory = Files.createTempDirectory("journal");
+		} catch (IOException e) {
+			fail("Creation of test directory in @Before failed: " + e.getMessage());
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		try (Stream<Path> files = Files.list(testDirectory)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(testDirectory);
+	}
+
+	private static Employee employee(int id) throws NullParameterException, BadParameterException {
+		return new Employee("Alan", "Conte", id, 35.75, new int[] { 7, 6, 7, 8, id % 25 });
+	}
+
+	@Test
+	public void testOpen() throws IOException, NullParameterException, BadParameterException {
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", 5)) {
+			Department d = journal.getDepartment();
+			assertEquals("Payroll", d.getDepartmentName());
+			assertEquals(0, d.getNumInDepartment());
+			d.addEmployee(employee(1000));
+			d.addEmployee(new SalesEmployee("Raj", "Pandy", 5489, 36.90, new int[] { 6, 9, 7, 8, 8 }, 10000, 12250));
+			d.addAll(Arrays.asList(employee(3000), employee(2000)));
+			d.removeEmployee(2000);
+			d.removeEmployee(4000);
+		}
+		String expected;
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Ignored", 1)) {
+			Department d = journal.getDepartment();
+			assertEquals("Payroll", d.getDepartmentName());
+			assertEquals(5, d.getMaxEmployees());
+			assertEquals(3, d.getNumInDepartment());
+			assertTrue(d.getEmployee(5489) instanceof SalesEmployee);
+			assertFalse(d.isInDepartment(2000));
+			expected = d.toString();
+		}
+
+		try {
+			DepartmentJournal.open(testDirectory, "Payroll", 5, 0, 1);
+			fail("BadParameterException NOT thrown from open(...) with a zero group commit size");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Invalid group commit size"));
+		}
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", 5)) {
+			assertEquals(expected, journal.getDepartment().toString());
+		}
+	}
+
+	@Test
+	public void testGroupCommit() throws IOException, NullParameterException, BadParameterException {
+		Path journalFile = testDirectory.resolve(DepartmentJournal.JOURNAL_FILE);
+		DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", Department.UNLIMITED_EMP, 3,
+				DepartmentJournal.DEFAULT_COMPACTION_THRESHOLD);
+		Department d = journal.getDepartment();
+		long empty = Files.size(journalFile);
+		d.addEmployee(employee(1000));
+		d.addEmployee(employee(1001));
+		assertEquals(empty, Files.size(journalFile));
+		d.addEmployee(employee(1002));
+		long committed = Files.size(journalFile);
+		assertTrue(committed > empty);
+		d.addEmployee(employee(1003)); // Never committed, lost with the simulated crash
+		assertEquals(committed, Files.size(journalFile));
+
+		// Simulates a crash: the journal file is put back as it was before the pending record was committed on close
+		Files.copy(journalFile, testDirectory.resolve("crashed"));
+		journal.close();
+		Files.move(testDirectory.resolve("crashed"), journalFile, StandardCopyOption.REPLACE_EXISTING);
+		try (DepartmentJournal recovered = DepartmentJournal.open(testDirectory, "Payroll", 10)) {
+			assertEquals(3, recovered.getDepartment().getNumInDepartment());
+			assertFalse(recovered.getDepartment().isInDepartment(1003));
+		}
+	}
+
+	@Test
+	public void testTornTail() throws IOException, NullParameterException, BadParameterException {
+		Path journalFile = testDirectory.resolve(DepartmentJournal.JOURNAL_FILE);
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", 10)) {
+			for (int id = 1000; id < 1005; id++) {
+				journal.getDepartment().addEmployee(employee(id));
+			}
+		}
+		long size = Files.size(journalFile);
+		try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+			channel.truncate(size - 3); // The last record is torn
+		}
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", 10)) {
+			assertEquals(4, journal.getDepartment().getNumInDepartment());
+			assertFalse(journal.getDepartment().isInDepartment(1004));
+			journal.getDepartment().addEmployee(employee(1005));
+		}
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", 10)) {
+			assertEquals(5, journal.getDepartment().getNumInDepartment());
+			assertTrue(journal.getDepartment().isInDepartment(1005));
+		}
+
+		try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] { 0x55 }), Files.size(journalFile) - 1); // The last record is damaged
+		}
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", 10)) {
+			assertEquals(4, journal.getDepartment().getNumInDepartment());
+		}
+	}
+
+	@Test
+	public void testCompact() throws IOException, NullParameterException, BadParameterException {
+		Path journalFile = testDirectory.resolve(DepartmentJournal.JOURNAL_FILE);
+		String expected;
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", 2)) {
+			Department d = journal.getDepartment();
+			d.addEmployee(employee(1000));
+			d.removeEmployee(1000);
+			d.addEmployee(employee(2000));
+			d.addEmployee(employee(3000));
+			journal.commit();
+			Files.copy(journalFile, testDirectory.resolve("old"));
+
+			journal.compact();
+			assertTrue(Files.exists(testDirectory.resolve(DepartmentJournal.SNAPSHOT_FILE)));
+			assertTrue(Files.size(journalFile) < Files.size(testDirectory.resolve("old")));
+			expected = d.toString();
+		}
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", 2)) {
+			assertEquals(expected, journal.getDepartment().toString());
+		}
+
+		// A crash between the snapshot and the emptied journal replays records the snapshot already holds
+		Files.move(testDirectory.resolve("old"), journalFile, StandardCopyOption.REPLACE_EXISTING);
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", 2)) {
+			assertEquals(expected, journal.getDepartment().toString());
+		}
+	}
+
+	@Test
+	public void testAutomaticCompaction() throws IOException, NullParameterException, BadParameterException {
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", Department.UNLIMITED_EMP, 10,
+				1000)) {
+			for (int id = 1000; id < 1100; id++) {
+				journal.getDepartment().addEmployee(employee(id));
+			}
+			assertTrue(Files.exists(testDirectory.resolve(DepartmentJournal.SNAPSHOT_FILE)));
+			assertTrue(Files.size(testDirectory.resolve(DepartmentJournal.JOURNAL_FILE)) < 1000);
+		}
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", Department.UNLIMITED_EMP)) {
+			assertEquals(100, journal.getDepartment().getNumInDepartment());
+		}
+	}
+
+	@Test
+	public void testCompactionDuringBatch() throws IOException, NullParameterException, BadParameterException {
+		Path journalFile = testDirectory.resolve(DepartmentJournal.JOURNAL_FILE);
+		DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", Department.UNLIMITED_EMP, 1, 100);
+		ArrayList<Employee> batch = new ArrayList<>();
+		for (int id = 1000; id < 1005; id++) {
+			batch.add(employee(id));
+		}
+		journal.getDepartment().addAll(batch); // Every record of the batch is committed before any of them is applied
+		journal.commit();
+
+		// Simulates a crash right after the commit
+		Files.copy(journalFile, testDirectory.resolve("crashed"));
+		Files.copy(testDirectory.resolve(DepartmentJournal.SNAPSHOT_FILE), testDirectory.resolve("crashed.snapshot"));
+		journal.close();
+		Files.move(testDirectory.resolve("crashed"), journalFile, StandardCopyOption.REPLACE_EXISTING);
+		Files.move(testDirectory.resolve("crashed.snapshot"), testDirectory.resolve(DepartmentJournal.SNAPSHOT_FILE),
+				StandardCopyOption.REPLACE_EXISTING);
+		try (DepartmentJournal recovered = DepartmentJournal.open(testDirectory, "Payroll", Department.UNLIMITED_EMP)) {
+			assertEquals(5, recovered.getDepartment().getNumInDepartment());
+			for (int id = 1000; id < 1005; id++) {
+				assertTrue(recovered.getDepartment().isInDepartment(id));
+			}
+		}
+	}
+
+	@Test
+	public void testTornBatch() throws IOException, NullParameterException, BadParameterException {
+		Path journalFile = testDirectory.resolve(DepartmentJournal.JOURNAL_FILE);
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", Department.UNLIMITED_EMP, 2,
+				DepartmentJournal.DEFAULT_COMPACTION_THRESHOLD)) {
+			journal.getDepartment().addEmployee(employee(1000));
+			ArrayList<Employee> batch = new ArrayList<>();
+			for (int id = 1001; id < 1006; id++) {
+				batch.add(employee(id));
+			}
+			journal.getDepartment().addAll(batch);
+		}
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", Department.UNLIMITED_EMP)) {
+			assertEquals(6, journal.getDepartment().getNumInDepartment());
+		}
+
+		// Simulates a crash after the group commits in the middle of the batch: only its COMMIT record is missing
+		try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+			channel.truncate(Files.size(journalFile) - (4 + 4 + 1 + 4));
+		}
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", Department.UNLIMITED_EMP)) {
+			assertEquals(1, journal.getDepartment().getNumInDepartment());
+			assertTrue(journal.getDepartment().isInDepartment(1000));
+			journal.getDepartment().addEmployee(employee(2000));
+		}
+		try (DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", Department.UNLIMITED_EMP)) {
+			assertEquals(2, journal.getDepartment().getNumInDepartment());
+			assertFalse(journal.getDepartment().isInDepartment(1001));
+		}
+	}
+
+	@Test
+	public void testFailedBatch() throws IOException, NullParameterException, BadParameterException {
+		DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", Department.UNLIMITED_EMP, 3,
+				DepartmentJournal.DEFAULT_COMPACTION_THRESHOLD);
+		Department d = journal.getDepartment();
+		d.addEmployee(employee(1000));
+		journal.commit();
+		ArrayList<Employee> batch = new ArrayList<>();
+		for (int id = 1001; id < 1006; id++) {
+			batch.add(employee(id));
+		}
+		Thread.currentThread().interrupt(); // Fails the group commit in the middle of the batch, and closes the journal file
+		try {
+			d.addAll(batch);
+			fail("UncheckedIOException NOT thrown from addAll(...) with a failing journal");
+		} catch (UncheckedIOException e) {
+			assertTrue(e.getCause() instanceof ClosedByInterruptException);
+		} finally {
+			Thread.interrupted();
+		}
+		assertEquals(1, d.getNumInDepartment());
+		journal.close();
+
+		try (DepartmentJournal reopened = DepartmentJournal.open(testDirectory, "Payroll", Department.UNLIMITED_EMP)) {
+			assertEquals(1, reopened.getDepartment().getNumInDepartment());
+			assertTrue(reopened.getDepartment().isInDepartment(1000));
+			reopened.getDepartment().addAll(batch);
+		}
+		try (DepartmentJournal reopened = DepartmentJournal.open(testDirectory, "Payroll", Department.UNLIMITED_EMP)) {
+			assertEquals(6, reopened.getDepartment().getNumInDepartment());
+		}
+	}
+
+	@Test
+	public void testClosedJournal() throws IOException, NullParameterException, BadParameterException {
+		DepartmentJournal journal = DepartmentJournal.open(testDirectory, "Payroll", 10, 1,
+				DepartmentJournal.DEFAULT_COMPACTION_THRESHOLD);
+		Department d = journal.getDepartment();
+		journal.close();
+		journal.close();
+		d.addEmployee(employee(1000)); // No longer journaled
+		try (DepartmentJournal reopened = DepartmentJournal.open(testDirectory, "Payroll", 10)) {
+			assertEquals(0, reopened.getDepartment().getNumInDepartment());
+		}
+	}
+}
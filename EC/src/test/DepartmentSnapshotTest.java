@@ -0,0 +1,120 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import domain.ConcurrentDepartment;
+import domain.Department;
+import domain.DepartmentSnapshot;
+import domain.Employee;
+import domain.SalesEmployee;
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+public class DepartmentSnapshotTest {
+
+	private Department testDepartment;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {}
+
+	@Before
+	public void setUp() {
+		try {
+			testDepartment = new Department("testDepartment");
+			testDepartment.addEmployee(new Employee("Alan", "Conte", 6642, 35.75, new int[] { 7, 6, 7, 8, 8 }));
+			testDepartment.addEmployee(
+					new SalesEmployee("Raj", "Pandy", 5489, 36.90, new int[] { 6, 9, 7, 8, 8 }, 10000, 12250));
+			testDepartment.addEmployee(new Employee("Mary", "Jones", 2154, 27.50, new int[] { 8, 8, 8, 8, 8 }));
+		} catch (NullParameterException | BadParameterException e) {
+			fail("Creation of test department object in @Before failed: " + e.getMessage());
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {}
+
+	@Test
+	public void testSnapshot() {
+		DepartmentSnapshot snapshot = testDepartment.snapshot();
+		assertEquals("testDepartment", snapshot.getDepartmentName());
+		assertEquals(3, snapshot.size());
+		assertEquals(2154, snapshot.get(0).getEmployeeId());
+		assertEquals(5489, snapshot.get(1).getEmployeeId());
+		assertEquals(6642, snapshot.get(2).getEmployeeId());
+		assertSame(testDepartment.getEmployee(5489), snapshot.getEmployee(5489));
+		assertTrue(snapshot.isInDepartment(6642));
+		assertNull(snapshot.getEmployee(1234));
+		assertEquals(testDepartment.toString(), snapshot.toString());
+		assertEquals(testDepartment.getTotalWeeklyPay(), snapshot.getTotalWeeklyPay(), 0.0);
+
+		try {
+			snapshot.get(3);
+			fail("IndexOutOfBoundsException NOT thrown from get(int) past the end of the snapshot");
+		} catch (IndexOutOfBoundsException e) {
+			assertTrue(e.getMessage().startsWith("Bad index passed to get"));
+		}
+	}
+
+	@Test
+	public void testSnapshotIsImmutable() throws NullParameterException, BadParameterException {
+		DepartmentSnapshot snapshot = testDepartment.snapshot();
+		String report = snapshot.toString();
+
+		testDepartment.removeEmployee(5489);
+		testDepartment.addEmployee(new Employee("Ann", "Baker", 1001, 20.00, new int[] { 8, 8, 8, 8, 8 }));
+		ArrayList<Employee> more = new ArrayList<>();
+		more.add(new Employee("Bob", "Smith", 9999, 21.00, new int[] { 8, 8, 8, 8, 8 }));
+		testDepartment.addAll(more);
+
+		assertEquals(3, snapshot.size());
+		assertTrue(snapshot.isInDepartment(5489));
+		assertFalse(snapshot.isInDepartment(1001));
+		assertEquals(report, snapshot.toString());
+
+		DepartmentSnapshot later = testDepartment.snapshot();
+		assertEquals(4, later.size());
+		assertEquals(1001, later.get(0).getEmployeeId());
+		assertEquals(9999, later.get(3).getEmployeeId());
+		assertFalse(later.isInDepartment(5489));
+
+		try {
+			snapshot.add(new Employee("Bob", "Smith", 9998, 21.00, new int[] { 8, 8, 8, 8, 8 }));
+			fail("UnsupportedOperationException NOT thrown from add(Employee) on a snapshot");
+		} catch (UnsupportedOperationException e) {
+			assertEquals(3, snapshot.size());
+		}
+	}
+
+	@Test
+	public void testConcurrentDepartmentSnapshot() throws NullParameterException, BadParameterException {
+		ConcurrentDepartment department = new ConcurrentDepartment("testDepartment", Department.UNLIMITED_EMP);
+		for (int id = 9999; id >= Employee.MIN_ID; id -= 7) {
+			department.addEmployee(new Employee("Alan", "Conte", id, 35.75, new int[] { 7, 6, 7, 8, 8 }));
+		}
+		DepartmentSnapshot snapshot = department.snapshot();
+		assertEquals(department.getNumInDepartment(), snapshot.size());
+		for (int i = 1; i < snapshot.size(); i++) {
+			assertTrue(snapshot.get(i - 1).getEmployeeId() < snapshot.get(i).getEmployeeId());
+		}
+
+		department.removeEmployee(9999);
+		assertTrue(snapshot.isInDepartment(9999));
+		assertEquals(department.getNumInDepartment() + 1, snapshot.size());
+	}
+}
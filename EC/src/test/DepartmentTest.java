@@ -3,9 +3,25 @@ package test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -14,6 +30,8 @@ import org.junit.Test;
 
 import domain.Department;
 import domain.Employee;
+import domain.PayrollStatistics;
+import domain.PayrollSummary;
 import domain.SalesEmployee;
 import utils.BadParameterException;
 import utils.NullParameterException;
@@ -77,6 +95,43 @@ public class DepartmentTest {
 		}
 	}
 
+	@Test
+	public void testDepartmentMaxEmployees() throws NullParameterException, BadParameterException {
+		assertEquals(Department.MAX_EMP, testDepartment.getMaxEmployees());
+
+		testDepartment = new Department(testName, 2);
+		assertEquals(2, testDepartment.getMaxEmployees());
+		testDepartment.addEmployee(new Employee("Miguel", "Ledezma", 1234, 99.99, new int[] { 5, 6, 7, 8, 9 }));
+		testDepartment.addEmployee(new Employee("Miguel", "Ledezma", 1235, 99.99, new int[] { 5, 6, 7, 8, 9 }));
+		try {
+			testDepartment.addEmployee(new Employee("Miguel", "Ledezma", 1236, 99.99, new int[] { 5, 6, 7, 8, 9 }));
+			fail("BadParamenterException NOT thrown from AddEmployee(Employee) with department already at max");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("This Department is already at the max"));
+			assertEquals(2, testDepartment.getNumInDepartment());
+		}
+
+		testDepartment = new Department(testName, Department.UNLIMITED_EMP, 500);
+		for (int id = 1000; id < 1500; id++) {
+			testDepartment.addEmployee(new Employee("Miguel", "Ledezma", id, 99.99, new int[] { 5, 6, 7, 8, 9 }));
+		}
+		assertEquals(500, testDepartment.getNumInDepartment());
+
+		try {
+			testDepartment = new Department(testName, 0);
+			fail("BadParamenterException NOT thrown from Department(name, maxEmp) with maxEmp = 0");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Invalid max. number of employees"));
+		}
+
+		try {
+			testDepartment = new Department(testName, 10, -1);
+			fail("BadParamenterException NOT thrown from Department(name, maxEmp, expectedSize) with expectedSize < 0");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Invalid expected number of employees"));
+		}
+	}
+
 	@Test
 	public void testGetDepartmentName() {
 		String name = testDepartment.getDepartmentName();
@@ -180,6 +235,96 @@ public class DepartmentTest {
 		}
 	}
 
+	@Test
+	public void testAdoptEmployee() throws NullParameterException, BadParameterException {
+		Employee mutable = new Employee("Miguel", "Ledezma", 3000, 99.99, new int[] { 5, 6, 7, 8, 9 });
+		testDepartment.addEmployee(mutable);
+		assertNotSame(mutable, testDepartment.getEmployee(3000));
+		assertFalse(mutable.isFrozen());
+		assertTrue(testDepartment.getEmployee(3000).isFrozen());
+
+		Employee frozen = new Employee("Gina", "Thomas", 1000, 37.87, new int[] { 8, 8, 8, 8, 7 });
+		frozen.freeze();
+		testDepartment.addEmployee(frozen);
+		assertSame(frozen, testDepartment.getEmployee(1000));
+
+		SalesEmployee adopted = new SalesEmployee("Raj", "Pandy", 5000, 36.90, new int[] { 6, 9, 7, 8, 8 }, 10000, 12250);
+		testDepartment.adoptEmployee(adopted);
+		assertSame(adopted, testDepartment.getEmployee(5000));
+		assertTrue(adopted.isFrozen());
+		assertEquals(3, testDepartment.getNumInDepartment());
+
+		try {
+			testDepartment.getEmployee(5000).setHourlyRate(10.0);
+			fail("BadParameterException NOT thrown from setHourlyRate(double) on an Employee in a Department");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Frozen Employee cannot be changed"));
+		}
+
+		try {
+			testDepartment.adoptEmployee(null);
+			fail("NullParameterException NOT thrown from adoptEmployee(Employee) with a Null Parameter");
+		} catch (NullParameterException e) {
+			assertEquals("Null Employee sent to adoptEmployee!", e.getMessage());
+		}
+
+		Employee duplicate = new Employee("John", "DePaul", 3000, 99.99, new int[] { 5, 6, 7, 8, 9 });
+		try {
+			testDepartment.adoptEmployee(duplicate);
+			fail("BadParameterException NOT thrown from adoptEmployee(Employee) with an ID already in the department");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Employee ID already in Department"));
+			assertFalse(duplicate.isFrozen());
+		}
+	}
+
+	@Test
+	public void testAddAll() throws NullParameterException, BadParameterException {
+		testDepartment.addEmployee(new Employee("Miguel", "Ledezma", 3000, 99.99, new int[] { 5, 6, 7, 8, 9 }));
+		testDepartment.addAll(Arrays.asList(
+				new SalesEmployee("Raj", "Pandy", 5000, 36.90, new int[] { 6, 9, 7, 8, 8 }, 10000, 12250),
+				new Employee("Gina", "Thomas", 1000, 37.87, new int[] { 8, 8, 8, 8, 7 }),
+				new Employee("Alan", "Conte", 4000, 35.75, new int[] { 7, 6, 7, 8, 8 })));
+		assertEquals(4, testDepartment.getNumInDepartment());
+		assertTrue(testDepartment.getEmployee(5000) instanceof SalesEmployee);
+		String report = testDepartment.toString();
+		assertTrue(report.indexOf("1000") < report.indexOf("3000"));
+		assertTrue(report.indexOf("3000") < report.indexOf("4000"));
+		assertTrue(report.indexOf("4000") < report.indexOf("5000"));
+
+		ArrayList<Employee> invalid = new ArrayList<>();
+		invalid.add(new Employee("John", "DePaul", 6000, 99.99, new int[] { 5, 6, 7, 8, 9 }));
+		invalid.add(null);
+		try {
+			testDepartment.addAll(invalid);
+			fail("NullParameterException NOT thrown from addAll(Collection) with a null Employee");
+		} catch (NullParameterException e) {
+			assertEquals("Null Employee sent to addAll!", e.getMessage());
+			assertFalse(testDepartment.isInDepartment(6000));
+		}
+
+		invalid.set(1, new Employee("John", "DePaul", 3000, 99.99, new int[] { 5, 6, 7, 8, 9 }));
+		try {
+			testDepartment.addAll(invalid);
+			fail("BadParameterException NOT thrown from addAll(Collection) with an ID already in the department");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Employee ID already in Department"));
+			assertFalse(testDepartment.isInDepartment(6000));
+		}
+
+		invalid.clear();
+		for (int id = 7000; id < 7000 + Department.MAX_EMP; id++) {
+			invalid.add(new Employee("John", "DePaul", id, 99.99, new int[] { 5, 6, 7, 8, 9 }));
+		}
+		try {
+			testDepartment.addAll(invalid);
+			fail("BadParameterException NOT thrown from addAll(Collection) with more Employees than room");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("This Department has no room"));
+			assertEquals(4, testDepartment.getNumInDepartment());
+		}
+	}
+
 	@Test
 	public void testRemoveEmployee() throws NullParameterException, BadParameterException {
 		int employeeId = 1234;
@@ -191,6 +336,52 @@ public class DepartmentTest {
 		assertTrue(testDepartment.removeEmployee(employeeId) == null);
 	}
 
+	@Test
+	public void testAddEmployeeDuplicateId() throws NullParameterException, BadParameterException {
+		testDepartment.addEmployee(new Employee("Miguel", "Ledezma", 1234, 99.99, new int[] { 5, 6, 7, 8, 9 }));
+		try {
+			testDepartment.addEmployee(new SalesEmployee("John", "DePaul", 1234, 50.0, new int[] { 5, 6, 7, 8, 9 },
+					10000, 12000));
+			fail("BadParameterException NOT thrown from AddEmployee(SalesEmployee) with an ID already in the department");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Employee ID already in Department"));
+			assertEquals(1, testDepartment.getNumInDepartment());
+			assertEquals("Miguel", testDepartment.getEmployee(1234).getFirstName());
+		}
+	}
+
+	@Test
+	public void testAddEmployeeKeepsIdOrder() throws NullParameterException, BadParameterException {
+		int[] ids = { 5000, 1500, 9000, 3000, 1000 };
+		for (int id : ids) {
+			testDepartment.addEmployee(new Employee("Miguel", "Ledezma", id, 99.99, new int[] { 5, 6, 7, 8, 9 }));
+		}
+		String report = testDepartment.toString();
+		assertTrue(report.indexOf("1000") < report.indexOf("1500"));
+		assertTrue(report.indexOf("1500") < report.indexOf("3000"));
+		assertTrue(report.indexOf("3000") < report.indexOf("5000"));
+		assertTrue(report.indexOf("5000") < report.indexOf("9000"));
+	}
+
+	@Test
+	public void testGetEmployee() throws NullParameterException, BadParameterException {
+		for (int id = 1234; id < 1240; id++) {
+			testDepartment.addEmployee(new Employee("Miguel", "Ledezma", id, 99.99, new int[] { 5, 6, 7, 8, 9 }));
+		}
+		assertEquals(1236, testDepartment.getEmployee(1236).getEmployeeId());
+		assertTrue(testDepartment.getEmployee(1240) == null);
+		assertTrue(testDepartment.getEmployee(-1) == null);
+		assertTrue(testDepartment.getEmployee(Employee.MAX_ID + 1) == null);
+
+		testDepartment.removeEmployee(1236);
+		assertTrue(testDepartment.getEmployee(1236) == null);
+		assertFalse(testDepartment.isInDepartment(1236));
+		assertEquals(5, testDepartment.getNumInDepartment());
+		assertEquals(1239, testDepartment.removeEmployee(1239).getEmployeeId());
+		assertEquals(1234, testDepartment.removeEmployee(1234).getEmployeeId());
+		assertEquals(3, testDepartment.getNumInDepartment());
+	}
+
 	@Test
 	public void testIsInDepartment() throws NullParameterException, BadParameterException {
 		int employeeId = 1234;
@@ -215,9 +406,341 @@ public class DepartmentTest {
 		}
 	}
 
+	@Test
+	public void testGetTotalWeeklyPay() throws NullParameterException, BadParameterException {
+		assertTrue(testDepartment.getTotalWeeklyPay() == 0.0);
+		testDepartment.addEmployee(new Employee("Alan", "Conte", 6642, 10, new int[] { 7, 6, 7, 8, 8 }));
+		testDepartment.addEmployee(new SalesEmployee("Raj", "Pandy", 5489, 20, new int[] { 6, 9, 7, 8, 8 }, 10000, 12000));
+		assertTrue(testDepartment.getTotalWeeklyPay() == 36 * 10 + 12000 * SalesEmployee.BONUS_MULTIPLIER);
+	}
+
+	@Test
+	public void testTotalWeeklyPayOverflow() throws NullParameterException, BadParameterException {
+		testDepartment = new Department(testName, Department.UNLIMITED_EMP);
+		try {
+			testDepartment.addEmployee(new Employee("Alan", "Conte", 6642, 1e300, new int[] { 8, 8, 8, 8, 8 }));
+			fail("BadParameterException NOT thrown from addEmployee(Employee) with a weekly pay too large for cents");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Invalid weekly pay"));
+		}
+
+		testDepartment.addEmployee(new Employee("Alan", "Conte", 1000, 1e15, new int[] { 8, 8, 8, 8, 8 }));
+		testDepartment.addEmployee(new Employee("Alan", "Conte", 1001, 1e15, new int[] { 8, 8, 8, 8, 8 }));
+		long payCents = testDepartment.getTotalWeeklyPayCents();
+		try {
+			testDepartment.addEmployee(new Employee("Alan", "Conte", 1002, 1e15, new int[] { 8, 8, 8, 8, 8 }));
+			fail("BadParameterException NOT thrown from addEmployee(Employee) overflowing the total weekly pay");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Total weekly pay would overflow"));
+		}
+		try {
+			testDepartment.addAll(Arrays.asList(new Employee("Gina", "Thomas", 1003, 10, new int[] { 8, 8, 8, 8, 8 }),
+					new Employee("Alan", "Conte", 1004, 1e15, new int[] { 8, 8, 8, 8, 8 })));
+			fail("BadParameterException NOT thrown from addAll(Collection) overflowing the total weekly pay");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Total weekly pay would overflow"));
+		}
+		assertEquals(2, testDepartment.getNumInDepartment());
+		assertEquals(payCents, testDepartment.getTotalWeeklyPayCents());
+	}
+
+	@Test
+	public void testRunningTotals() throws NullParameterException, BadParameterException {
+		testDepartment = new Department(testName, Department.UNLIMITED_EMP);
+		ArrayList<Employee> batch = new ArrayList<>();
+		for (int round = 0; round < 20; round++) {
+			for (int id = 1000 + round; id < 9000; id += 37) {
+				if (testDepartment.removeEmployee(id) == null) {
+					if (id % 3 == 0) {
+						testDepartment.addEmployee(new SalesEmployee("Raj", "Pandy", id, 20.01, new int[] { 8, 8, 8, 8, id % 9 },
+								1000.10, id % 2 == 0 ? 2000.33 : 500.07));
+					} else if (id % 3 == 1) {
+						testDepartment.addEmployee(new Employee("Alan", "Conte", id, 10.333, new int[] { 1, 2, 3, 4, id % 7 }));
+					} else {
+						batch.add(new Employee("Mary", "Jones", id, 0.07, new int[] { 8, 8, 8, 8, 8 }));
+					}
+				}
+			}
+			testDepartment.addAll(batch);
+			batch.clear();
+		}
+
+		long payCents = 0;
+		int sales = 0;
+		int qualified = 0;
+		for (Employee e : testDepartment.snapshot()) {
+			payCents += e.getWeeklyPayCents();
+			if (e instanceof SalesEmployee) {
+				sales++;
+				qualified += ((SalesEmployee) e).isCommissionQualified() ? 1 : 0;
+			}
+		}
+		PayrollSummary summary = testDepartment.getPayrollSummary();
+		assertEquals(payCents, testDepartment.getTotalWeeklyPayCents());
+		assertTrue(testDepartment.getTotalWeeklyPay() == payCents / 100.0);
+		assertEquals(summary.getTotalStatistics().getTotalHours(), testDepartment.getTotalWeeklyHours());
+		assertEquals(summary.getSalesEmployeeStatistics().getCount(), testDepartment.getNumSalesEmployees());
+		assertEquals(sales, testDepartment.getNumSalesEmployees());
+		assertEquals(qualified, testDepartment.getNumCommissionQualified());
+		assertEquals(payCents, testDepartment.snapshot().getTotalWeeklyPayCents());
+
+		for (Employee e : testDepartment.snapshot()) {
+			testDepartment.removeEmployee(e.getEmployeeId());
+		}
+		assertEquals(0, testDepartment.getTotalWeeklyPayCents());
+		assertEquals(0, testDepartment.getTotalWeeklyHours());
+		assertEquals(0, testDepartment.getNumSalesEmployees());
+		assertEquals(0, testDepartment.getNumCommissionQualified());
+	}
+
+	@Test
+	public void testRangeQueries() throws NullParameterException, BadParameterException {
+		testDepartment = new Department(testName, Department.UNLIMITED_EMP);
+		ArrayList<Integer> ids = new ArrayList<>();
+		for (int id = 1003; id < 9000; id += 7) {
+			testDepartment.addEmployee(new Employee("Alan", "Conte", id, 10.00, new int[] { 8, 8, 8, 8, 8 }));
+			ids.add(id);
+		}
+
+		assertEquals(1003, testDepartment.ceilingEmployee(Employee.MIN_ID).getEmployeeId());
+		assertEquals(1010, testDepartment.ceilingEmployee(1004).getEmployeeId());
+		assertEquals(1010, testDepartment.ceilingEmployee(1010).getEmployeeId());
+		assertNull(testDepartment.ceilingEmployee(9000));
+		assertEquals(1003, testDepartment.floorEmployee(1009).getEmployeeId());
+		assertEquals(1010, testDepartment.floorEmployee(1010).getEmployeeId());
+		assertNull(testDepartment.floorEmployee(1002));
+		assertEquals(ids.get(ids.size() - 1).intValue(), testDepartment.floorEmployee(Employee.MAX_ID).getEmployeeId());
+
+		assertEquals(3, testDepartment.employeesInIdRange(1003, 1017).size());
+		assertEquals(2, testDepartment.employeesInIdRange(1004, 1017).size());
+		assertEquals(0, testDepartment.employeesInIdRange(1017, 1003).size());
+		assertEquals(ids.size(), testDepartment.headList(5000).size() + testDepartment.tailList(5000).size());
+		assertTrue(testDepartment.headList(5000).get(testDepartment.headList(5000).size() - 1).getEmployeeId() < 5000);
+		assertTrue(testDepartment.tailList(5000).get(0).getEmployeeId() >= 5000);
+		List<Employee> head = testDepartment.headList(1020);
+		testDepartment.removeEmployee(1003);
+		assertEquals(3, head.size()); // A copy, not changed by later changes to the Department
+		assertEquals(2, testDepartment.headList(1020).size());
+		testDepartment.addEmployee(head.get(0));
+
+		int afterId = Employee.MIN_ID - 1;
+		int count = 0;
+		for (List<Employee> page = testDepartment.page(afterId, 100); !page.isEmpty(); page = testDepartment.page(afterId, 100)) {
+			assertTrue(page.size() <= 100);
+			for (Employee e : page) {
+				assertEquals(ids.get(count++).intValue(), e.getEmployeeId());
+			}
+			afterId = page.get(page.size() - 1).getEmployeeId();
+			testDepartment.removeEmployee(afterId); // Changes between pages do not disturb paging
+		}
+		assertEquals(ids.size(), count);
+
+		try {
+			testDepartment.page(afterId, 0);
+			fail("BadParameterException NOT thrown from page(int, int) with a page size of zero");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Invalid page size"));
+		}
+		try {
+			testDepartment.snapshot().page(afterId, -1);
+			fail("BadParameterException NOT thrown from DepartmentSnapshot.page(int, int) with a negative page size");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Invalid page size"));
+		}
+	}
+
+	@Test
+	public void testGetPayrollSummary() throws NullParameterException, BadParameterException {
+		testDepartment = new Department(testName, Department.UNLIMITED_EMP);
+		for (int id = 1000; id < 1300; id++) {
+			if (id % 3 == 0) {
+				testDepartment.addEmployee(new SalesEmployee("Raj", "Pandy", id, 20, new int[] { 8, 8, 8, 8, 8 }, 1000,
+						id % 2 == 0 ? 2000 : 500));
+			} else {
+				testDepartment.addEmployee(new Employee("Alan", "Conte", id, id % 7 + 1, new int[] { 1, 2, 3, 4, 5 }));
+			}
+		}
+		PayrollSummary sequential = testDepartment.getPayrollSummary();
+		testDepartment.setParallelThreshold(16);
+		PayrollSummary parallel = testDepartment.getPayrollSummary();
+
+		PayrollStatistics employees = parallel.getEmployeeStatistics();
+		assertEquals(200, employees.getCount());
+		assertTrue(employees.getMinPay() == 15 * 1);
+		assertTrue(employees.getMaxPay() == 15 * 7);
+		assertEquals(200 * 15, employees.getTotalHours());
+		assertTrue(employees.getTotalPay() == sequential.getEmployeeStatistics().getTotalPay());
+
+		PayrollStatistics sales = parallel.getSalesEmployeeStatistics();
+		assertEquals(100, sales.getCount());
+		assertTrue(sales.getMinPay() == 2000 * SalesEmployee.BONUS_MULTIPLIER);
+		assertTrue(sales.getMaxPay() == 40 * 20);
+		assertTrue(sales.getMeanPay() == (50 * 500 + 50 * 800) / 100);
+
+		PayrollStatistics total = parallel.getTotalStatistics();
+		assertEquals(300, total.getCount());
+		assertEquals(200 * 15 + 100 * 40, total.getTotalHours());
+		assertTrue(Math.abs(total.getTotalPay() - testDepartment.getTotalWeeklyPay()) < 1e-9);
+
+		try {
+			testDepartment.setParallelThreshold(0);
+			fail("BadParameterException NOT thrown from setParallelThreshold(int) with threshold = 0");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Invalid parallel threshold"));
+			assertEquals(16, testDepartment.getParallelThreshold());
+		}
+	}
+
+	@Test
+	public void testWriteReport() throws NullParameterException, BadParameterException, IOException {
+		testDepartment.addEmployee(new Employee("Alan", "Conte", 6642, 35.75, new int[] { 7, 6, 7, 8, 8 }));
+		testDepartment.addEmployee(
+				new SalesEmployee("Raj", "Pandy", 5489, 36.90, new int[] { 6, 9, 7, 8, 8 }, 10000, 12250));
+
+		StringBuilder expected = new StringBuilder();
+		expected.append(String.format("Department: %s\n", testName));
+		for (int i = 0; i < ("Department: " + testName).length(); i++) {
+			expected.append("-");
+		}
+		expected.append("\nEmployees:\n");
+		expected.append(String.format("%-20s %s %s%n", "Name:", "Raj", "Pandy"));
+		expected.append(String.format("%-20s %d%n", "Id:", 5489));
+		expected.append(String.format("%-20s $%.2f%n", "Hourly Rate:", 36.90));
+		expected.append(String.format("%-20s %d%n", "Weekly Hours:", 38));
+		int[] days = { 6, 9, 7, 8, 8 };
+		for (int i = 0; i < days.length; i++) {
+			expected.append(String.format("%7s %d: %11d%n", "Day", (i + 1), days[i]));
+		}
+		expected.append(String.format("%-20s $%.2f%n", "Weekly Pay:", 12250 * SalesEmployee.BONUS_MULTIPLIER));
+		expected.append(String.format("%-20s $%.2f%n", "Sales Amount Needed:", 10000.0));
+		expected.append(String.format("%-20s $%.2f%n", "Weekly Sales Total:", 12250.0));
+		expected.append("\n");
+		expected.append(String.format("%-20s %s %s%n", "Name:", "Alan", "Conte"));
+		expected.append(String.format("%-20s %d%n", "Id:", 6642));
+		expected.append(String.format("%-20s $%.2f%n", "Hourly Rate:", 35.75));
+		expected.append(String.format("%-20s %d%n", "Weekly Hours:", 36));
+		days = new int[] { 7, 6, 7, 8, 8 };
+		for (int i = 0; i < days.length; i++) {
+			expected.append(String.format("%7s %d: %11d%n", "Day", (i + 1), days[i]));
+		}
+		expected.append(String.format("%-20s $%.2f%n", "Weekly Pay:", 36 * 35.75));
+		expected.append("\n");
+
+		StringWriter writer = new StringWriter();
+		testDepartment.writeReport(writer);
+		assertEquals(expected.toString(), writer.toString());
+
+		StringBuilder sb = new StringBuilder();
+		testDepartment.writeReport(sb);
+		assertEquals(expected.toString(), sb.toString());
+		assertEquals(expected.toString(), testDepartment.toString());
+	}
+
 	@Test
 	public void testToString() {
 		assertTrue(testDepartment.toString().startsWith("Department: "));
 	}
 
+
+	@Test
+	public void testWriteToReadFrom() throws NullParameterException, BadParameterException, IOException {
+		testDepartment.addEmployee(new Employee("Alan", "Conte", 6642, 35.75, new int[] { 7, 6, 7, 8, 8 }));
+		testDepartment.addEmployee(new Employee("Jos\u00e9", "\u0141ukasz", 1000, 20.00, new int[] { 0, 0, 24, 0, 0 }));
+		testDepartment.addEmployee(
+				new SalesEmployee("Raj", "Pandy", 5489, 36.90, new int[] { 6, 9, 7, 8, 8 }, 10000, 12250));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		testDepartment.writeTo(out);
+		byte[] saved = out.toByteArray();
+		Department loaded = Department.readFrom(new ByteArrayInputStream(saved));
+		assertEquals(testDepartment.toString(), loaded.toString());
+		assertEquals(testDepartment.getMaxEmployees(), loaded.getMaxEmployees());
+		assertTrue(loaded.getEmployee(5489) instanceof SalesEmployee);
+		assertTrue(loaded.getEmployee(1000).isFrozen());
+
+		saved[saved.length - 10] ^= 1;
+		try {
+			Department.readFrom(new ByteArrayInputStream(saved));
+			fail("IOException NOT thrown from readFrom(InputStream) with a damaged Department");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().startsWith("Saved Department is damaged"));
+		}
+
+		try {
+			Department.readFrom(new ByteArrayInputStream(Arrays.copyOf(saved, saved.length - 1)));
+			fail("EOFException NOT thrown from readFrom(InputStream) with a truncated Department");
+		} catch (EOFException e) {
+			assertTrue(e.getMessage().startsWith("Saved Department is truncated"));
+		}
+
+		try {
+			Department.readFrom(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 }));
+			fail("IOException NOT thrown from readFrom(InputStream) with bytes that are not a saved Department");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().startsWith("Not a saved Department"));
+		}
+	}
+
+	@Test
+	public void testWriteToReadFromFileChannel() throws NullParameterException, BadParameterException, IOException {
+		Department large = new Department("Payroll", Department.UNLIMITED_EMP);
+		ArrayList<Employee> employees = new ArrayList<>();
+		for (int id = Employee.MIN_ID; id <= Employee.MAX_ID; id++) {
+			if (id % 3 == 0) {
+				employees.add(new SalesEmployee("Raj", "Pandy" + (id % 50), id, 36.90, new int[] { 6, 9, 7, 8, 8 }, 10000,
+						id));
+			} else {
+				employees.add(new Employee("Alan", "Conte", id, id / 100.0, new int[] { 7, 6, 7, 8, id % 25 }));
+			}
+		}
+		large.addAll(employees);
+
+		File file = File.createTempFile("department", ".bin");
+		try {
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+				large.writeTo(channel);
+			}
+			Department loaded;
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				loaded = Department.readFrom(channel);
+			}
+			assertEquals(large.getNumInDepartment(), loaded.getNumInDepartment());
+			assertEquals(large.getTotalWeeklyPay(), loaded.getTotalWeeklyPay(), 0.0);
+			assertEquals(large.toString(), loaded.toString());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testReadFromConcatenated() throws NullParameterException, BadParameterException, IOException {
+		testDepartment.addEmployee(new Employee("Alan", "Conte", 6642, 35.75, new int[] { 7, 6, 7, 8, 8 }));
+		Department second = new Department("Sales");
+		second.addEmployee(new SalesEmployee("Raj", "Pandy", 5489, 36.90, new int[] { 6, 9, 7, 8, 8 }, 10000, 12250));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		testDepartment.writeTo(out);
+		second.writeTo(out);
+		out.write(new byte[] { 42, 43 });
+		byte[] saved = out.toByteArray();
+
+		ByteArrayInputStream in = new ByteArrayInputStream(saved);
+		assertEquals(testDepartment.toString(), Department.readFrom(in).toString());
+		assertEquals(second.toString(), Department.readFrom(in).toString());
+		assertEquals(42, in.read());
+		assertEquals(43, in.read());
+		assertEquals(-1, in.read());
+
+		File file = File.createTempFile("department", ".bin");
+		try {
+			Files.write(file.toPath(), saved);
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				assertEquals(testDepartment.toString(), Department.readFrom(channel).toString());
+				assertEquals(second.toString(), Department.readFrom(channel).toString());
+				assertEquals(saved.length - 2, channel.position());
+			}
+		} finally {
+			file.delete();
+		}
+	}
 }
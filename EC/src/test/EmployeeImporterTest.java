@@ -0,0 +1,199 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import domain.Department;
+import domain.EmployeeImporter;
+import domain.SalesEmployee;
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+public class EmployeeImporterTest {
+
+	private Department testDepartment;
+
+	private Path testFile;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {}
+
+	@Before
+	public void setUp() throws IOException {
+		try {
+			testDepartment = new Department("testDepartment", 9000);
+		} catch (NullParameterException | BadParameterException e) {
+			fail("Creation of test department object in @Before failed: " + e.getMessage());
+		}
+		testFile = Files.createTempFile("import", ".csv");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		Files.deleteIfExists(testFile);
+	}
+
+	private EmployeeImporter.Result importText(EmployeeImporter importer, String text) throws NullParameterException, IOException {
+		return importer.importFrom(Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))), testDepartment);
+	}
+
+	@Test
+	public void testImport() throws NullParameterException, BadParameterException, IOException {
+		String text = "type,first,last,id,rate,d0,d1,d2,d3,d4,needed,total\r\n" //
+				+ "E,Alan,Conte,6642,35.75,7,6,7,8,8\r\n" //
+				+ "\r\n" //
+				+ "S, \"Raj\" ,Pandy,5489,36.9,6,9,7,8,8,10000,12250.0\n" //
+				+ "S,Jos\u00e9,Ramirez,7845,3.75e1,6,9,7,8,8,12000,9950";
+		EmployeeImporter.Result result = importText(new EmployeeImporter(EmployeeImporter.CSV, true), text);
+
+		assertEquals(3, result.getImportedCount());
+		assertEquals(0, result.getRejectedCount());
+		assertEquals(3, testDepartment.getNumInDepartment());
+		assertEquals(35.75, testDepartment.getEmployee(6642).getHourlyRate(), 0.0);
+		assertTrue(testDepartment.getEmployee(5489) instanceof SalesEmployee);
+		assertEquals("Raj", testDepartment.getEmployee(5489).getFirstName());
+		assertEquals(36.9, testDepartment.getEmployee(5489).getHourlyRate(), 0.0);
+		assertEquals("Jos\u00e9", testDepartment.getEmployee(7845).getFirstName());
+		assertEquals(37.5, testDepartment.getEmployee(7845).getHourlyRate(), 0.0);
+
+		result = importText(new EmployeeImporter(EmployeeImporter.TSV, false), "E\tAlan\tSmith\t1001\t20\t8\t8\t8\t8\t8\n");
+		assertEquals(1, result.getImportedCount());
+		assertSame(testDepartment.getEmployee(6642).getFirstName(), testDepartment.getEmployee(1001).getFirstName());
+	}
+
+	@Test
+	public void testRejections() throws NullParameterException, BadParameterException, IOException {
+		String text = "E,Alan,Conte,6642,35.75,7,6,7,8,8\n" //
+				+ "X,Gina,Thomas,1547,37.87,8,8,8,8,7\n" //
+				+ "E,Gina,Thomas,1547,37.87,8,8,8,8\n" //
+				+ "E,Gina,Thomas,15x7,37.87,8,8,8,8,7\n" //
+				+ "E,Gina,Thomas,1547,-37.87,8,8,8,8,25\n" //
+				+ "E,Gina,Conte,6642,37.87,8,8,8,8,7\n" //
+				+ "S,Raj,Pandy,5489,36.90,6,9,7,8,8,0,12250\n" //
+				+ "E,Gina,Thomas,1547,37.87,8,8,8,8,7,1,2,3\n" //
+				+ "E,Gina,Thomas,1547,37.87,8,8,8,8,7";
+		EmployeeImporter.Result result = importText(new EmployeeImporter(EmployeeImporter.CSV, false), text);
+
+		assertEquals(2, result.getImportedCount());
+		assertEquals(7, result.getRejectedCount());
+		List<EmployeeImporter.Rejection> rejections = result.getRejections();
+		assertEquals(7, rejections.size());
+		assertEquals(2, rejections.get(0).getLineNumber());
+		assertTrue(rejections.get(0).getReason().startsWith("Bad employee type"));
+		assertTrue(rejections.get(1).getReason().startsWith("Wrong number of fields"));
+		assertEquals("Line 4: Bad number in field 4", rejections.get(2).toString());
+		assertEquals("Bad value passed in for hourlyRate; Bad hours value passed to setHoursByDay", rejections.get(3).getReason());
+		assertEquals("Employee ID repeated in file: 6642", rejections.get(4).getReason());
+		assertEquals("Invalid sales amount needed", rejections.get(5).getReason());
+		assertEquals(8, rejections.get(6).getLineNumber());
+		assertTrue(rejections.get(6).getReason().startsWith("Too many fields"));
+		assertEquals("Conte", testDepartment.getEmployee(6642).getLastName());
+		assertTrue(testDepartment.isInDepartment(1547));
+
+		result = importText(new EmployeeImporter(EmployeeImporter.CSV, false), "E,Gina,Conte,6642,37.87,8,8,8,8,7\n");
+		assertEquals(1, result.getRejectedCount());
+		assertEquals("Line 1: Employee ID already in Department: 6642", result.getRejections().get(0).toString());
+	}
+
+	@Test
+	public void testChunkedRejections() throws NullParameterException, BadParameterException, IOException {
+		StringBuilder sb = new StringBuilder();
+		sb.append("E,Alan,Conte,6642,35.75,7,6,7,8,8\n");
+		sb.append("E,Gina,Thomas,1547,37.87,8,8,8,8,7\n"); // Over the maximum of one Employee
+		for (int i = 0; i < 1500; i++) {
+			sb.append("X,Bad,Row\n");
+		}
+		while (sb.length() < 2 * 1024 * 1024 + 600 * 1024) {
+			sb.append("E,Gina,Thomas,1547,37.87,8,8,8,8,7\n");
+		}
+		Files.write(testFile, sb.toString().getBytes(StandardCharsets.US_ASCII));
+
+		EmployeeImporter importer = new EmployeeImporter(EmployeeImporter.CSV, false);
+		testDepartment = new Department("testDepartment", 1);
+		EmployeeImporter.Result expected = importer.importFile(testFile, testDepartment);
+		testDepartment = new Department("testDepartment", 1);
+		EmployeeImporter.Result actual = importer.importFile(testFile, testDepartment, 2);
+
+		assertTrue(expected.getRejections().get(0).toString().startsWith("Line 2: This Department is already at the max. number of employees"));
+		assertTrue(expected.getRejections().get(1).getReason().startsWith("Bad employee type"));
+		assertEquals(expected.getRejectedCount(), actual.getRejectedCount());
+		assertEquals(EmployeeImporter.MAX_REPORTED_REJECTIONS, actual.getRejections().size());
+		assertEquals(expected.getRejections().toString(), actual.getRejections().toString());
+	}
+
+	@Test
+	public void testChunkedImport() throws NullParameterException, BadParameterException, IOException {
+		StringBuilder sb = new StringBuilder("header\n");
+		for (int i = 0; i < 60000; i++) {
+			int id = 1000 + (i * 7) % 12000; // Some IDs are out of range, and all repeat
+			if (i % 1000 == 999) {
+				sb.append("E,Bad,Row\n");
+			} else if (i % 2 == 0) {
+				sb.append("E,First").append(i % 100).append(",Last").append(i % 97).append(',').append(id).append(",25.50,8,8,8,8,")
+						.append(i % 9).append('\n');
+			} else {
+				sb.append("S,First").append(i % 100).append(",Last").append(i % 97).append(',').append(id)
+						.append(",30.25,8,8,8,8,8,1000.5,").append(i % 2000).append('\n');
+			}
+		}
+		Files.write(testFile, sb.toString().getBytes(StandardCharsets.US_ASCII));
+		assertTrue(Files.size(testFile) > 2 * 1024 * 1024);
+
+		EmployeeImporter importer = new EmployeeImporter(EmployeeImporter.CSV, true);
+		EmployeeImporter.Result expected = importer.importFile(testFile, testDepartment);
+		Department sequential = testDepartment;
+		testDepartment = new Department("testDepartment", 9000);
+		EmployeeImporter.Result actual = importer.importFile(testFile, testDepartment, 4);
+
+		assertEquals(expected.getImportedCount(), actual.getImportedCount());
+		assertEquals(expected.getRejectedCount(), actual.getRejectedCount());
+		assertEquals(60000, actual.getImportedCount() + actual.getRejectedCount());
+		assertEquals(EmployeeImporter.MAX_REPORTED_REJECTIONS, actual.getRejections().size());
+		assertEquals(expected.getRejections().toString(), actual.getRejections().toString());
+		assertEquals(sequential.toString(), testDepartment.toString());
+
+		try {
+			importer.importFile(testFile, testDepartment, 0);
+			fail("BadParameterException NOT thrown from importFile(Path, Department, int) with zero chunks");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Invalid number of chunks"));
+		}
+	}
+
+	@Test
+	public void testBadParameters() throws IOException {
+		try {
+			new EmployeeImporter('"', false);
+			fail("BadParameterException NOT thrown from EmployeeImporter(char, boolean) with a double quote");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Invalid delimiter passed to EmployeeImporter"));
+		}
+		try {
+			new EmployeeImporter(EmployeeImporter.CSV, false).importFile(testFile, null);
+			fail("NullParameterException NOT thrown from importFile(Path, Department) with a null Department");
+		} catch (NullParameterException e) {
+			assertTrue(e.getMessage().startsWith("Null Department sent to importFrom"));
+		} catch (BadParameterException e) {
+			fail("BadParameterException thrown from EmployeeImporter(char, boolean) with a comma");
+		}
+	}
+}
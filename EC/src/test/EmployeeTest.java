@@ -1,6 +1,7 @@
 package test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -12,6 +13,8 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import domain.Employee;
+import domain.ValidationError;
+import domain.ValidationResult;
 import utils.BadParameterException;
 import utils.NullParameterException;
 
@@ -69,6 +72,41 @@ public class EmployeeTest {
 		}
 	}
 
+	@Test
+	public void testValidate() throws NullParameterException, BadParameterException {
+		assertTrue(Employee.validate(fName, lName, id, hRate, days).isValid());
+
+		ValidationResult result = Employee.validate(null, "Miguel Angel Ledezma Sarmiento", 999, 0, new int[] { 1, 2, 3 });
+		assertEquals(5, result.getErrorCount());
+		assertTrue(result.hasError(ValidationError.NULL_FIRST_NAME));
+		assertTrue(result.hasError(ValidationError.BAD_LAST_NAME));
+		assertTrue(result.hasError(ValidationError.BAD_EMPLOYEE_ID));
+		assertTrue(result.hasError(ValidationError.BAD_HOURLY_RATE));
+		assertTrue(result.hasError(ValidationError.BAD_HOURS_LENGTH));
+
+		result = Employee.validate("", lName, 10000, hRate, days);
+		assertEquals(2, result.getErrorCount());
+		assertTrue(result.hasError(ValidationError.BAD_FIRST_NAME));
+		assertTrue(result.hasError(ValidationError.BAD_EMPLOYEE_ID));
+		assertTrue(result.toString().startsWith("Bad value passed in for firstName"));
+
+		try {
+			result.check();
+			fail("BadParameterException NOT thrown from ValidationResult.check() with a bad first name");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Bad value passed in for firstName"));
+			assertEquals(0, e.getStackTrace().length);
+		}
+		try {
+			Employee.validate(null, lName, 10000, hRate, days).check();
+			fail("NullParameterException NOT thrown from ValidationResult.check() with a null first name");
+		} catch (NullParameterException e) {
+			assertTrue(e.getMessage().startsWith("Null value passed in for firstName"));
+			assertEquals(0, e.getStackTrace().length);
+		}
+		Employee.validate(fName, lName, id, hRate, days).check();
+	}
+
 	@Test
 	public void testCompareTo() throws NullParameterException, BadParameterException {
 		Employee testEmployee2 = new Employee("John", "DePaul", 1235, 100, new int[] { 1, 2, 3, 4, 5 });
@@ -82,8 +120,12 @@ public class EmployeeTest {
 	}
 
 	@Test
-	public void testGetWeeklyPay() {
+	public void testGetWeeklyPay() throws BadParameterException {
+		assertTrue(testEmployee.getWeeklyPay() == 15 * 100);
 		assertTrue(testEmployee.getWeeklyPay() == 15 * 100);
+
+		testEmployee.setHourlyRate(50);
+		assertTrue(testEmployee.getWeeklyPay() == 15 * 50);
 	}
 
 	@Test
@@ -231,6 +273,44 @@ public class EmployeeTest {
 		} catch (BadParameterException e) {
 			assertTrue(e.getMessage().startsWith("Bad value passed in for hourlyRate"));
 		}
+
+		for (double rate : new double[] { Double.NaN, Double.POSITIVE_INFINITY }) {
+			try {
+				testEmployee.setHourlyRate(rate);
+				fail("BadParameterException NOT thrown from setHourlyRate(double) with " + rate);
+			} catch (BadParameterException e) {
+				assertTrue(e.getMessage().startsWith("Bad value passed in for hourlyRate"));
+			}
+		}
+	}
+
+	@Test
+	public void testFreeze() throws NullParameterException, BadParameterException {
+		assertFalse(testEmployee.isFrozen());
+		double weeklyPay = testEmployee.getWeeklyPay();
+		testEmployee.freeze();
+		testEmployee.freeze();
+		assertTrue(testEmployee.isFrozen());
+		assertEquals(weeklyPay, testEmployee.getWeeklyPay(), 0.0);
+
+		try {
+			testEmployee.setHourlyRate(10.0);
+			fail("BadParameterException NOT thrown from setHourlyRate(double) on a frozen Employee");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Frozen Employee cannot be changed"));
+		}
+		try {
+			testEmployee.setFirstName("Alan");
+			fail("BadParameterException NOT thrown from setFirstName(String) on a frozen Employee");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Frozen Employee cannot be changed"));
+		}
+
+		Employee copy = new Employee(testEmployee);
+		assertFalse(copy.isFrozen());
+		copy.setHourlyRate(testEmployee.getHourlyRate() * 2);
+		assertEquals(weeklyPay * 2, copy.getWeeklyPay(), 0.001);
+		assertEquals(weeklyPay, testEmployee.getWeeklyPay(), 0.0);
 	}
 
 	@Test
@@ -0,0 +1,197 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import domain.Department;
+import domain.Employee;
+import domain.MappedDepartment;
+import domain.PayrollStatistics;
+import domain.PayrollSummary;
+import domain.SalesEmployee;
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+public class MappedDepartmentTest {
+
+	private Department testDepartment;
+
+	private Path testFile;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {}
+
+	@Before
+	public void setUp() throws IOException {
+		try {
+			testDepartment = new Department("testDepartment", 50);
+			testDepartment.addEmployee(new Employee("Alan", "Conte", 6642, 35.75, new int[] { 7, 6, 7, 8, 8 }));
+			testDepartment.addEmployee(
+					new SalesEmployee("Raj", "Pandy", 5489, 36.90, new int[] { 6, 9, 7, 8, 8 }, 10000, 12250));
+			testDepartment.addEmployee(
+					new SalesEmployee("Jos\u00e9", "\u0141uk", 3000, 20.00, new int[] { 8, 8, 8, 8, 8 }, 10000, 500));
+			testDepartment.addEmployee(new Employee("Mary", "Jones", 2154, 27.50, new int[] { 8, 8, 8, 8, 0 }));
+		} catch (NullParameterException | BadParameterException e) {
+			fail("Creation of test department object in @Before failed: " + e.getMessage());
+		}
+		testFile = Files.createTempFile("mapped", ".department");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		Files.deleteIfExists(testFile);
+	}
+
+	@Test
+	public void testTotalWeeklyPay() throws NullParameterException, BadParameterException, IOException {
+		for (int id = 1000; id < 1040; id++) {
+			testDepartment.addEmployee(new Employee("Gina", "Thomas", id, 10.333 + id / 1000.0, new int[] { 1, 2, 3, 4, id % 9 }));
+		}
+		MappedDepartment.write(testDepartment, testFile);
+		MappedDepartment mapped = MappedDepartment.open(testFile);
+		assertEquals(testDepartment.getTotalWeeklyPayCents(), mapped.getTotalWeeklyPayCents());
+		assertTrue(testDepartment.getTotalWeeklyPay() == mapped.getTotalWeeklyPay());
+	}
+
+	@Test
+	public void testWriteOpen() throws IOException, BadParameterException {
+		MappedDepartment.write(testDepartment, testFile);
+		MappedDepartment mapped = MappedDepartment.open(testFile);
+
+		assertEquals("testDepartment", mapped.getDepartmentName());
+		assertEquals(50, mapped.getMaxEmployees());
+		assertEquals(4, mapped.getNumInDepartment());
+		assertEquals(testDepartment.getTotalWeeklyPayCents(), mapped.getTotalWeeklyPayCents());
+		assertEquals(testDepartment.getTotalWeeklyPay(), mapped.getTotalWeeklyPay(), 0.0);
+
+		MappedDepartment.Cursor cursor = mapped.cursor();
+		int row = 0;
+		while (cursor.next()) {
+			Employee e = testDepartment.snapshot().get(row++);
+			assertEquals(e.getEmployeeId(), cursor.getEmployeeId());
+			assertEquals(e.getFirstName(), cursor.getFirstName());
+			assertEquals(e.getLastName(), cursor.getLastName());
+			assertEquals(e.getHourlyRate(), cursor.getHourlyRate(), 0.0);
+			assertEquals(e.getWeeklyHours(), cursor.getWeeklyHours());
+			assertEquals(e.getWeeklyPay(), cursor.getWeeklyPay(), 0.0);
+			assertEquals(e instanceof SalesEmployee, cursor.isSalesEmployee());
+			assertEquals(e.toString(), cursor.toEmployee().toString());
+			assertTrue(cursor.toEmployee().isFrozen());
+		}
+		assertEquals(4, row);
+		assertEquals(4, cursor.getRow());
+	}
+
+	@Test
+	public void testSeek() throws IOException, BadParameterException {
+		MappedDepartment.write(testDepartment, testFile);
+		MappedDepartment mapped = MappedDepartment.open(testFile);
+		MappedDepartment.Cursor cursor = mapped.cursor();
+
+		assertTrue(mapped.isInDepartment(5489));
+		assertFalse(mapped.isInDepartment(1234));
+		assertEquals(0, mapped.getRow(2154));
+		assertEquals(-1, mapped.getRow(9999));
+
+		assertTrue(cursor.seek(5489));
+		assertEquals("Raj", cursor.getFirstName());
+		assertSame(cursor.getFirstName(), cursor.getFirstName());
+		assertEquals(12250 * SalesEmployee.BONUS_MULTIPLIER, cursor.getWeeklyPay(), 0.0);
+		assertEquals(9, cursor.getHoursByDay(1));
+		assertFalse(cursor.seek(1234));
+		assertEquals(5489, cursor.getEmployeeId());
+
+		cursor.moveTo(0);
+		assertEquals("Mary", cursor.getFirstName());
+		assertEquals(0, cursor.getHoursByDay(4));
+
+		try {
+			cursor.moveTo(4);
+			fail("BadParameterException NOT thrown from moveTo(int) past the last row");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Bad row value passed to moveTo"));
+		}
+		try {
+			cursor.getHoursByDay(5);
+			fail("BadParameterException NOT thrown from getHoursByDay(int) with a bad day");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Bad day value passed to getHoursByDay"));
+		}
+		try {
+			mapped.cursor().getEmployeeId();
+			fail("IllegalStateException NOT thrown from a Cursor before the first row");
+		} catch (IllegalStateException e) {
+			assertTrue(e.getMessage().startsWith("Cursor is not on a row"));
+		}
+	}
+
+	@Test
+	public void testPayrollSummary() throws IOException {
+		MappedDepartment.write(testDepartment, testFile);
+		PayrollSummary expected = testDepartment.getPayrollSummary();
+		PayrollSummary actual = MappedDepartment.open(testFile).getPayrollSummary();
+
+		PayrollStatistics[][] statistics = { { expected.getEmployeeStatistics(), actual.getEmployeeStatistics() },
+				{ expected.getSalesEmployeeStatistics(), actual.getSalesEmployeeStatistics() },
+				{ expected.getTotalStatistics(), actual.getTotalStatistics() } };
+		for (PayrollStatistics[] s : statistics) {
+			assertEquals(s[0].getCount(), s[1].getCount());
+			assertEquals(s[0].getTotalPay(), s[1].getTotalPay(), 0.0);
+			assertEquals(s[0].getMinPay(), s[1].getMinPay(), 0.0);
+			assertEquals(s[0].getMaxPay(), s[1].getMaxPay(), 0.0);
+			assertEquals(s[0].getTotalHours(), s[1].getTotalHours());
+		}
+	}
+
+	@Test
+	public void testBadFile() throws IOException {
+		Files.write(testFile, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+		try {
+			MappedDepartment.open(testFile);
+			fail("IOException NOT thrown from open(Path) with a file that is not a mapped Department");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().startsWith("Not a mapped Department file"));
+		}
+
+		MappedDepartment.write(testDepartment, testFile);
+		try (FileChannel channel = FileChannel.open(testFile, StandardOpenOption.WRITE)) {
+			channel.truncate(Files.size(testFile) - 1);
+		}
+		try {
+			MappedDepartment.open(testFile);
+			fail("IOException NOT thrown from open(Path) with a truncated file");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().startsWith("Mapped Department file is damaged"));
+		}
+
+		MappedDepartment.write(testDepartment, testFile);
+		try (FileChannel channel = FileChannel.open(testFile, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] { 0, 2 }), 4);
+		}
+		try {
+			MappedDepartment.open(testFile);
+			fail("IOException NOT thrown from open(Path) with an unknown version");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().startsWith("Unsupported mapped Department file version"));
+		}
+	}
+}
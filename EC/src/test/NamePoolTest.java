@@ -0,0 +1,112 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import domain.Employee;
+import utils.BadParameterException;
+import utils.NameArena;
+import utils.NamePool;
+import utils.NullParameterException;
+
+public class NamePoolTest {
+
+	private NamePool testPool;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {}
+
+	@Before
+	public void setUp() {
+		try {
+			testPool = new NamePool(100);
+		} catch (BadParameterException e) {
+			fail("Creation of test name pool object in @Before failed: " + e.getMessage());
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {}
+
+	@Test
+	public void testNamePool() {
+		assertEquals(128, testPool.getCapacity());
+		try {
+			testPool = new NamePool(0);
+			fail("BadParameterException NOT thrown from NamePool(int) with a zero capacity");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Invalid name pool capacity"));
+		}
+	}
+
+	@Test
+	public void testIntern() {
+		String name = new String("Miguel");
+		assertSame(name, testPool.intern(name));
+		assertSame(name, testPool.intern(new String("Miguel")));
+		assertNull(testPool.intern(null));
+
+		byte[] bytes = "xxMiguelxx".getBytes(StandardCharsets.ISO_8859_1);
+		assertSame(name, testPool.intern(bytes, 2, 6));
+		String decoded = testPool.intern(bytes, 0, 3);
+		assertEquals("xxM", decoded);
+		assertSame(decoded, testPool.intern("xxM"));
+
+		for (int i = 0; i < 10000; i++) { // The pool never grows, colliding names push each other out
+			assertEquals("Name" + i, testPool.intern("Name" + i));
+		}
+		assertEquals(128, testPool.getCapacity());
+	}
+
+	@Test
+	public void testEmployeeNamesAreShared() throws NullParameterException, BadParameterException {
+		Employee first = new Employee(new String("Miguel"), new String("Ledezma"), 3000, 99.99, new int[] { 5, 6, 7, 8, 9 });
+		Employee second = new Employee(new String("Miguel"), new String("Ledezma"), 3001, 99.99, new int[] { 5, 6, 7, 8, 9 });
+		assertSame(first.getFirstName(), second.getFirstName());
+		assertSame(first.getLastName(), second.getLastName());
+	}
+
+	@Test
+	public void testNameArena() throws BadParameterException, NullParameterException {
+		NameArena arena = new NameArena(Employee.MAX_NAME_LENGTH, 1, testPool);
+		String[] names = { "Miguel", "Ledezma", "Jos\u00e9", "Zo\u00eb", "\u0141ukasz", "Aleksandrovich-Ivanova", "Miguel" };
+		for (int i = 0; i < names.length; i++) {
+			assertEquals(i, arena.add(names[i]));
+		}
+		assertEquals(names.length, arena.size());
+		for (int i = 0; i < names.length; i++) {
+			assertEquals(names[i], arena.get(i));
+			assertTrue(arena.matches(i, names[i]));
+		}
+		assertSame(arena.get(0), arena.get(6));
+		assertFalse(arena.matches(0, "Miguel "));
+
+		try {
+			arena.get(names.length);
+			fail("IndexOutOfBoundsException NOT thrown from get(int) with a slot not in use");
+		} catch (IndexOutOfBoundsException e) {
+			assertTrue(e.getMessage().startsWith("Bad slot value passed to NameArena"));
+		}
+		try {
+			arena = new NameArena(0, 1);
+			fail("BadParameterException NOT thrown from NameArena(int, int) with a zero max. length");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Invalid max. name length"));
+		}
+	}
+}
@@ -0,0 +1,193 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import domain.Department;
+import domain.Employee;
+import domain.EmployeeImporter;
+import domain.Organization;
+import domain.SalesEmployee;
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+public class OrganizationTest {
+
+	private Organization testOrganization;
+
+	private Department marketing;
+
+	private Department sales;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {}
+
+	@Before
+	public void setUp() {
+		try {
+			testOrganization = new Organization();
+			marketing = new Department("Marketing", 3);
+			marketing.addEmployee(new Employee("Alan", "Conte", 6642, 35.75, new int[] { 7, 6, 7, 8, 8 }));
+			marketing.addEmployee(new Employee("Gina", "Thomas", 1547, 37.87, new int[] { 8, 8, 8, 8, 7 }));
+			sales = new Department("Sales", 2);
+			sales.addEmployee(new SalesEmployee("Raj", "Pandy", 5489, 36.90, new int[] { 6, 9, 7, 8, 8 }, 10000, 12250));
+			testOrganization.addDepartment(marketing);
+			testOrganization.addDepartment(sales);
+		} catch (NullParameterException | BadParameterException e) {
+			fail("Creation of test organization object in @Before failed: " + e.getMessage());
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {}
+
+	@Test
+	public void testAddDepartment() throws NullParameterException, BadParameterException {
+		assertEquals(3, testOrganization.getNumEmployees());
+		assertEquals(Arrays.asList(marketing, sales), testOrganization.getDepartments());
+		assertSame(sales, testOrganization.getDepartment("Sales"));
+		assertSame(testOrganization, marketing.getOrganization());
+		assertSame(marketing, testOrganization.getDepartmentOf(1547));
+		assertSame(sales.getEmployee(5489), testOrganization.getEmployee(5489));
+		assertNull(testOrganization.getDepartmentOf(1234));
+		assertNull(testOrganization.getDepartmentOf(99));
+		assertEquals(marketing.getTotalWeeklyPayCents() + sales.getTotalWeeklyPayCents(), testOrganization.getTotalWeeklyPayCents());
+
+		Department other = new Department("Other");
+		other.addEmployee(new Employee("Mary", "Jones", 6642, 27.50, new int[] { 8, 8, 8, 8, 8 }));
+		try {
+			testOrganization.addDepartment(other);
+			fail("BadParameterException NOT thrown from addDepartment(Department) with an Employee ID already in the Organization");
+		} catch (BadParameterException e) {
+			assertEquals("Employee ID already in Organization: 6642", e.getMessage());
+			assertNull(other.getOrganization());
+			assertSame(marketing, testOrganization.getDepartmentOf(6642));
+		}
+		try {
+			testOrganization.addDepartment(new Department("Sales"));
+			fail("BadParameterException NOT thrown from addDepartment(Department) with a name already in the Organization");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Department name already in Organization"));
+		}
+		try {
+			new Organization().addDepartment(sales);
+			fail("BadParameterException NOT thrown from addDepartment(Department) with a Department in another Organization");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Department already in an Organization"));
+		}
+
+		assertTrue(testOrganization.removeDepartment(marketing));
+		assertFalse(testOrganization.removeDepartment(marketing));
+		assertNull(marketing.getOrganization());
+		assertFalse(testOrganization.isInOrganization(6642));
+		assertEquals(1, testOrganization.getNumEmployees());
+		assertEquals(2, marketing.getNumInDepartment());
+	}
+
+	@Test
+	public void testUniqueIds() throws NullParameterException, BadParameterException {
+		try {
+			sales.addEmployee(new Employee("Mary", "Jones", 6642, 27.50, new int[] { 8, 8, 8, 8, 8 }));
+			fail("BadParameterException NOT thrown from addEmployee(Employee) with an Employee ID in another Department");
+		} catch (BadParameterException e) {
+			assertEquals("Employee ID already in Organization: 6642", e.getMessage());
+		}
+		try {
+			sales.addAll(Arrays.asList(new Employee("Mary", "Jones", 1547, 27.50, new int[] { 8, 8, 8, 8, 8 })));
+			fail("BadParameterException NOT thrown from addAll(Collection) with an Employee ID in another Department");
+		} catch (BadParameterException e) {
+			assertEquals("Employee ID already in Organization: 1547", e.getMessage());
+		}
+
+		sales.addAll(Arrays.asList(new Employee("Mary", "Jones", 2154, 27.50, new int[] { 8, 8, 8, 8, 8 })));
+		assertSame(sales, testOrganization.getDepartmentOf(2154));
+		marketing.removeEmployee(6642);
+		assertFalse(testOrganization.isInOrganization(6642));
+		marketing.adoptEmployee(new Employee("Mary", "Jones", 6642, 27.50, new int[] { 8, 8, 8, 8, 8 }));
+		assertSame(marketing, testOrganization.getDepartmentOf(6642));
+		assertEquals(4, testOrganization.getNumEmployees());
+	}
+
+	@Test
+	public void testImportIntoDepartment() throws NullParameterException, BadParameterException, IOException {
+		String text = "E,Alan,Smith,6642,20,8,8,8,8,8\n" //
+				+ "E,Alan,Smith,1111,20,8,8,8,8,8\n";
+		EmployeeImporter.Result result = new EmployeeImporter(EmployeeImporter.CSV, false)
+				.importFrom(Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII))), sales);
+
+		assertEquals(1, result.getImportedCount());
+		assertEquals(1, result.getRejectedCount());
+		assertEquals("Line 1: Employee ID already in Organization: 6642", result.getRejections().get(0).toString());
+		assertTrue(sales.isInDepartment(1111));
+		assertSame(sales, testOrganization.getDepartmentOf(1111));
+		assertSame(marketing, testOrganization.getDepartmentOf(6642));
+	}
+
+	@Test
+	public void testMoveEmployee() throws NullParameterException, BadParameterException {
+		Employee alan = marketing.getEmployee(6642);
+		testOrganization.moveEmployee(6642, sales);
+		assertSame(sales, testOrganization.getDepartmentOf(6642));
+		assertSame(alan, sales.getEmployee(6642));
+		assertFalse(marketing.isInDepartment(6642));
+		assertEquals(3, testOrganization.getNumEmployees());
+
+		try {
+			testOrganization.moveEmployee(1547, sales);
+			fail("BadParameterException NOT thrown from moveEmployee(int, Department) with a full Department");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("This Department is already at the max"));
+			assertSame(marketing, testOrganization.getDepartmentOf(1547));
+		}
+		try {
+			testOrganization.moveEmployee(1234, marketing);
+			fail("BadParameterException NOT thrown from moveEmployee(int, Department) with an Employee ID not in the Organization");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Employee ID not in Organization"));
+		}
+		try {
+			testOrganization.moveEmployee(1547, new Department("Other"));
+			fail("BadParameterException NOT thrown from moveEmployee(int, Department) with a Department not in the Organization");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Department not in Organization"));
+		}
+	}
+
+	@Test
+	public void testIterator() throws NullParameterException, BadParameterException {
+		ArrayList<Integer> ids = new ArrayList<>();
+		for (Employee e : testOrganization) {
+			ids.add(e.getEmployeeId());
+			if (e.getEmployeeId() == 1547) {
+				marketing.removeEmployee(6642); // The Department is read from a snapshot
+			}
+		}
+		assertEquals(Arrays.asList(1547, 6642, 5489), ids);
+
+		ids.clear();
+		for (Employee e : new Organization()) {
+			ids.add(e.getEmployeeId());
+		}
+		assertTrue(ids.isEmpty());
+	}
+}
@@ -0,0 +1,123 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import domain.Department;
+import domain.Employee;
+import domain.SalesEmployee;
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+public class PayRankingTest {
+
+	private Department testDepartment;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {}
+
+	@Before
+	public void setUp() {
+		try {
+			testDepartment = new Department("testDepartment", Department.UNLIMITED_EMP);
+		} catch (NullParameterException | BadParameterException e) {
+			fail("Creation of test department object in @Before failed: " + e.getMessage());
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {}
+
+	private static List<Employee> sortedByPay(Iterable<Employee> employees) {
+		ArrayList<Employee> sorted = new ArrayList<>();
+		for (Employee e : employees) {
+			sorted.add(e);
+		}
+		Collections.sort(sorted, new Comparator<Employee>() {
+
+			@Override
+			public int compare(Employee a, Employee b) {
+				int c = Long.compare(b.getWeeklyPayCents(), a.getWeeklyPayCents());
+				return c != 0 ? c : Integer.compare(a.getEmployeeId(), b.getEmployeeId());
+			}
+		});
+		return sorted;
+	}
+
+	@Test
+	public void testRankingMatchesSort() throws NullParameterException, BadParameterException {
+		ArrayList<Employee> batch = new ArrayList<>();
+		for (int round = 0; round < 8; round++) {
+			for (int id = 1000 + round; id < 9000; id += 29) {
+				if (testDepartment.removeEmployee(id) == null) {
+					if (id % 3 == 0) {
+						testDepartment.addEmployee(new SalesEmployee("Raj", "Pandy", id, 20.00, new int[] { 8, 8, 8, 8, 8 }, 1000.00,
+								id % 2 == 0 ? 500.00 + id % 13 : 2000.00 + id % 11));
+					} else if (id % 3 == 1) {
+						testDepartment.addEmployee(new Employee("Alan", "Conte", id, 10.00 + id % 17, new int[] { 8, 8, 8, 8, id % 9 }));
+					} else {
+						batch.add(new Employee("Mary", "Jones", id, 27.50, new int[] { 8, 8, 8, 8, 8 }));
+					}
+				}
+			}
+			testDepartment.addAll(batch);
+			batch.clear();
+		}
+
+		List<Employee> sorted = sortedByPay(testDepartment.snapshot());
+		for (int n : new int[] { 0, 1, 10, 100, sorted.size(), sorted.size() + 5 }) {
+			List<Employee> top = testDepartment.topByPay(n);
+			assertEquals(Math.min(n, sorted.size()), top.size());
+			for (int i = 0; i < top.size(); i++) {
+				assertEquals(sorted.get(i).getEmployeeId(), top.get(i).getEmployeeId());
+			}
+		}
+		for (int rank = 1; rank <= sorted.size(); rank++) {
+			assertEquals(rank, testDepartment.rankOf(sorted.get(rank - 1).getEmployeeId()));
+		}
+		assertEquals(-1, testDepartment.rankOf(9500));
+		assertEquals(-1.0, testDepartment.percentileOf(9500), 0.0);
+	}
+
+	@Test
+	public void testPercentile() throws NullParameterException, BadParameterException {
+		testDepartment.addEmployee(new Employee("Alan", "Conte", 1001, 10.00, new int[] { 8, 8, 8, 8, 8 }));
+		assertEquals(50.0, testDepartment.percentileOf(1001), 0.0);
+		testDepartment.addEmployee(new Employee("Mary", "Jones", 1002, 20.00, new int[] { 8, 8, 8, 8, 8 }));
+		testDepartment.addEmployee(new Employee("Mary", "Smith", 1003, 20.00, new int[] { 8, 8, 8, 8, 8 }));
+		testDepartment.addEmployee(new Employee("Raj", "Pandy", 1004, 30.00, new int[] { 8, 8, 8, 8, 8 }));
+
+		assertEquals(12.5, testDepartment.percentileOf(1001), 0.0);
+		assertEquals(50.0, testDepartment.percentileOf(1002), 0.0);
+		assertEquals(50.0, testDepartment.percentileOf(1003), 0.0);
+		assertEquals(87.5, testDepartment.percentileOf(1004), 0.0);
+		assertEquals(2, testDepartment.rankOf(1002));
+		assertEquals(3, testDepartment.rankOf(1003));
+
+		testDepartment.removeEmployee(1004);
+		assertEquals(1, testDepartment.rankOf(1002));
+		assertEquals(1002, testDepartment.topByPay(1).get(0).getEmployeeId());
+
+		try {
+			testDepartment.topByPay(-1);
+			fail("BadParameterException NOT thrown from topByPay(int) with a negative number");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Invalid number of Employees passed to topByPay"));
+		}
+	}
+}
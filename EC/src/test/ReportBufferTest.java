@@ -0,0 +1,89 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import utils.ReportBuffer;
+
+public class ReportBufferTest {
+
+	private StringBuilder testOut;
+	private ReportBuffer testBuffer;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {}
+
+	@Before
+	public void setUp() {
+		testOut = new StringBuilder();
+		testBuffer = ReportBuffer.acquire(testOut);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		testBuffer.release();
+	}
+
+	@Test
+	public void testLabel() throws IOException {
+		testBuffer.append(ReportBuffer.label("Name:", 20)).append("Miguel").newLine();
+		testBuffer.append(ReportBuffer.label("A label longer than twenty", 20)).append("x");
+		testBuffer.flush();
+		assertEquals(String.format("%-20s %s%n%-20s %s", "Name:", "Miguel", "A label longer than twenty", "x"),
+				testOut.toString());
+	}
+
+	@Test
+	public void testAppendInt() throws IOException {
+		long[] values = { 0, 7, -7, 1234, 99999999999L, Integer.MIN_VALUE, Long.MIN_VALUE };
+		StringBuilder expected = new StringBuilder();
+		for (long value : values) {
+			testBuffer.appendInt(value, 0).append('|').appendInt(value, 11).append('|');
+			expected.append(String.format("%d|%11d|", value, value));
+		}
+		testBuffer.flush();
+		assertEquals(expected.toString(), testOut.toString());
+	}
+
+	@Test
+	public void testAppendAmount() throws IOException {
+		double[] values = { 0.0, -0.0, 0.125, 1.005, 2.675, 0.995, 37.87 * 39, 35.75, -12.345, 1e12, Double.NaN,
+				Double.POSITIVE_INFINITY };
+		StringBuilder expected = new StringBuilder();
+		for (double value : values) {
+			testBuffer.appendAmount(value).append('|');
+			expected.append(String.format("%.2f|", value));
+		}
+		Random random = new Random(450);
+		for (int i = 0; i < 10000; i++) {
+			double value = random.nextInt(121) * (random.nextInt(100000) / 100.0);
+			testBuffer.appendAmount(value).append('|');
+			expected.append(String.format("%.2f|", value));
+		}
+		testBuffer.flush();
+		assertEquals(expected.toString(), testOut.toString());
+	}
+
+	@Test
+	public void testFlush() throws IOException {
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			testBuffer.append("Line ").appendInt(i, 0).newLine();
+			expected.append(String.format("Line %d%n", i));
+		}
+		testBuffer.flush();
+		assertEquals(expected.toString(), testOut.toString());
+	}
+
+}
@@ -13,6 +13,8 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import domain.SalesEmployee;
+import domain.ValidationError;
+import domain.ValidationResult;
 import utils.BadParameterException;
 import utils.NullParameterException;
 
@@ -98,6 +100,25 @@ public class SalesEmployeeTest {
 			assertTrue(e.getMessage().startsWith("Invalid weekly sales total"));
 			assertFalse(testSalesEmployee.getWeeklySalesTotal() == weeklyTotal);
 		}
+
+		weeklyTotal = Double.POSITIVE_INFINITY;
+		try {
+			testSalesEmployee = new SalesEmployee(fName, lName, id, hRate, days, salesNeeded, weeklyTotal);
+			fail("BadParamenterException NOT thrown from SalesEmployee c'tor with an infinite Weekly Sales Total");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Invalid weekly sales total"));
+		}
+	}
+
+	@Test
+	public void testValidate() {
+		assertTrue(SalesEmployee.validate(fName, lName, id, hRate, days, salesNeeded, weeklyTotal).isValid());
+
+		ValidationResult result = SalesEmployee.validate(fName, null, id, hRate, days, 0, -1);
+		assertEquals(3, result.getErrorCount());
+		assertTrue(result.hasError(ValidationError.NULL_LAST_NAME));
+		assertTrue(result.hasError(ValidationError.BAD_SALES_AMOUNT_NEEDED));
+		assertTrue(result.hasError(ValidationError.BAD_WEEKLY_SALES_TOTAL));
 	}
 
 	@Test
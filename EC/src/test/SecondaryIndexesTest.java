@@ -0,0 +1,144 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import domain.Department;
+import domain.Employee;
+import domain.SalesEmployee;
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+public class SecondaryIndexesTest {
+
+	private static final String[] LAST_NAMES = { "Conte", "Pandy", "Jones", "Rao", "Ramirez", "Raj", "R", "Smith" };
+
+	private static final String[] FIRST_NAMES = { "Alan", "Raj", "Mary", "Al", "Alice", "Bob" };
+
+	private Department testDepartment;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {}
+
+	@Before
+	public void setUp() {
+		try {
+			testDepartment = new Department("testDepartment", Department.UNLIMITED_EMP);
+		} catch (NullParameterException | BadParameterException e) {
+			fail("Creation of test department object in @Before failed: " + e.getMessage());
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {}
+
+	/**
+	 * Adds, removes and re-adds Employees, one at a time and in batches, so the indexes go through every kind of update.
+	 */
+	private void churn(Department d) throws NullParameterException, BadParameterException {
+		ArrayList<Employee> batch = new ArrayList<>();
+		for (int round = 0; round < 6; round++) {
+			for (int id = 1000 + round; id < 9000; id += 23) {
+				if (d.removeEmployee(id) == null) {
+					String last = LAST_NAMES[id % LAST_NAMES.length];
+					String first = FIRST_NAMES[id % FIRST_NAMES.length];
+					double rate = 10.00 + (id % 41) * 0.75;
+					if (id % 4 == 0) {
+						batch.add(new SalesEmployee(first, last, id, rate, new int[] { 8, 8, 8, 8, 8 }, 1000, 2000));
+					} else {
+						d.addEmployee(new Employee(first, last, id, rate, new int[] { 8, 8, 8, 8, id % 9 }));
+					}
+				}
+			}
+			d.addAll(batch);
+			batch.clear();
+		}
+	}
+
+	private static List<Integer> ids(List<Employee> employees) {
+		ArrayList<Integer> ids = new ArrayList<>();
+		for (Employee e : employees) {
+			ids.add(e.getEmployeeId());
+		}
+		return ids;
+	}
+
+	@Test
+	public void testIndexedMatchesScan() throws NullParameterException, BadParameterException {
+		Department scanned = new Department("scanned", Department.UNLIMITED_EMP);
+		assertFalse(testDepartment.isIndexed());
+		testDepartment.setIndexed(true);
+		assertTrue(testDepartment.isIndexed());
+		churn(testDepartment);
+		churn(scanned);
+		assertFalse(scanned.isIndexed());
+
+		for (double lo = 5.0; lo < 45.0; lo += 3.25) {
+			for (double hi = lo - 1.0; hi < 45.0; hi += 4.5) {
+				assertEquals(ids(scanned.employeesByHourlyRate(lo, hi)), ids(testDepartment.employeesByHourlyRate(lo, hi)));
+			}
+		}
+		for (String prefix : new String[] { "", "R", "Ra", "Raj", "Rao", "Rb", "Z", "Conte", "Contes", "a" }) {
+			assertEquals(ids(scanned.employeesByLastName(prefix)), ids(testDepartment.employeesByLastName(prefix)));
+			assertEquals(ids(scanned.employeesByFirstName(prefix)), ids(testDepartment.employeesByFirstName(prefix)));
+		}
+		assertEquals(testDepartment.getNumInDepartment(), testDepartment.employeesByLastName("").size());
+	}
+
+	@Test
+	public void testQueries() throws NullParameterException, BadParameterException {
+		testDepartment.addEmployee(new Employee("Alan", "Conte", 6642, 35.75, new int[] { 7, 6, 7, 8, 8 }));
+		testDepartment.addEmployee(new SalesEmployee("Raj", "Pandy", 5489, 36.90, new int[] { 6, 9, 7, 8, 8 }, 10000, 12250));
+		testDepartment.setIndexed(true);
+		testDepartment.addEmployee(new Employee("Mary", "Rao", 2154, 27.50, new int[] { 8, 8, 8, 8, 8 }));
+		testDepartment.addEmployee(new Employee("Al", "Ramirez", 3001, 40.00, new int[] { 8, 8, 8, 8, 8 }));
+
+		List<Employee> found = testDepartment.employeesByHourlyRate(30.00, 40.00);
+		assertEquals(3, found.size());
+		assertEquals(6642, found.get(0).getEmployeeId());
+		assertEquals(5489, found.get(1).getEmployeeId());
+		assertEquals(3001, found.get(2).getEmployeeId());
+		assertEquals(0, testDepartment.employeesByHourlyRate(40.00, 30.00).size());
+
+		found = testDepartment.employeesByLastName("Ra");
+		assertEquals(2, found.size());
+		assertEquals("Ramirez", found.get(0).getLastName());
+		assertEquals("Rao", found.get(1).getLastName());
+		assertEquals(0, testDepartment.employeesByLastName("ra").size());
+		assertEquals(2, testDepartment.employeesByFirstName("Al").size());
+
+		testDepartment.removeEmployee(3001);
+		assertEquals(1, testDepartment.employeesByLastName("Ra").size());
+		assertEquals(2, testDepartment.employeesByHourlyRate(30.00, 40.00).size());
+		testDepartment.setIndexed(false);
+		assertFalse(testDepartment.isIndexed());
+		assertEquals(1, testDepartment.employeesByFirstName("Al").size());
+
+		try {
+			testDepartment.employeesByHourlyRate(Double.NaN, 40.00);
+			fail("BadParameterException NOT thrown from employeesByHourlyRate(double, double) with a NaN rate");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Bad Hourly Rate range passed to employeesByHourlyRate"));
+		}
+		try {
+			testDepartment.employeesByLastName(null);
+			fail("NullParameterException NOT thrown from employeesByLastName(String) with a null prefix");
+		} catch (NullParameterException e) {
+			assertTrue(e.getMessage().startsWith("Null prefix sent to employeesByLastName"));
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import domain.Department;
+import domain.Employee;
+import domain.PayrollHistory;
+import domain.SalesEmployee;
+import domain.Timecard;
+import domain.TimecardHistory;
+import utils.BadParameterException;
+import utils.NullParameterException;
+
+public class TimecardHistoryTest {
+
+	private TimecardHistory testHistory;
+
+	private Timecard fullWeek;
+
+	private Timecard shortWeek;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {}
+
+	@Before
+	public void setUp() {
+		try {
+			testHistory = new TimecardHistory();
+			fullWeek = new Timecard(new int[] { 8, 8, 8, 8, 8 });
+			shortWeek = new Timecard(new int[] { 4, 4, 4, 4, 0 });
+		} catch (NullParameterException | BadParameterException e) {
+			fail("Creation of test history objects in @Before failed: " + e.getMessage());
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {}
+
+	@Test
+	public void testRecord() throws NullParameterException, BadParameterException {
+		assertEquals(-1, testHistory.getLastWeek());
+		for (int week = 0; week < 10; week++) {
+			testHistory.record(week, fullWeek, 1100.00);
+		}
+		assertEquals(1, testHistory.getNumRuns());
+		testHistory.record(10, shortWeek, 440.10);
+		testHistory.record(11, fullWeek, 1100.00);
+		testHistory.record(20, fullWeek, 1100.00); // Weeks 12 to 19 are skipped
+		testHistory.record(21, fullWeek, 1100.00);
+
+		assertEquals(14, testHistory.getNumWeeks());
+		assertEquals(4, testHistory.getNumRuns());
+		assertEquals(0, testHistory.getFirstWeek());
+		assertEquals(21, testHistory.getLastWeek());
+		assertTrue(testHistory.hasWeek(5));
+		assertFalse(testHistory.hasWeek(15));
+		assertNull(testHistory.getTimecard(15));
+		assertEquals(shortWeek.getPackedHours(), testHistory.getTimecard(10).getPackedHours());
+		assertEquals(440.10, testHistory.getWeeklyPay(10), 0.0);
+		assertEquals(0.0, testHistory.getWeeklyPay(22), 0.0);
+
+		try {
+			testHistory.record(21, fullWeek, 1100.00);
+			fail("BadParameterException NOT thrown from record(int, Timecard, double) with a week already recorded");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Bad week value passed to record"));
+		}
+		try {
+			testHistory.record(30, fullWeek, -1);
+			fail("BadParameterException NOT thrown from record(int, Timecard, double) with a negative Weekly Pay");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Bad Weekly Pay value passed to record"));
+		}
+		for (double weeklyPay : new double[] { Double.NaN, Double.POSITIVE_INFINITY, 1e300 }) {
+			try {
+				testHistory.record(30, fullWeek, weeklyPay);
+				fail("BadParameterException NOT thrown from record(int, Timecard, double) with a Weekly Pay of " + weeklyPay);
+			} catch (BadParameterException e) {
+				assertTrue(e.getMessage().startsWith("Bad Weekly Pay value passed to record"));
+			}
+		}
+		try {
+			testHistory.record(30, (Timecard) null, 0);
+			fail("NullParameterException NOT thrown from record(int, Timecard, double) with a null Timecard");
+		} catch (NullParameterException e) {
+			assertTrue(e.getMessage().startsWith("Null Timecard sent to record"));
+		}
+	}
+
+	@Test
+	public void testTotals() throws NullParameterException, BadParameterException {
+		int[] hours = new int[200];
+		long[] payCents = new long[200];
+		for (int week = 0; week < hours.length; week++) {
+			if (week % 17 == 3) {
+				continue; // A skipped week
+			}
+			Timecard t = week % 5 < 3 ? fullWeek : shortWeek;
+			double pay = t.getWeeklyHours() * (20.15 + week / 50);
+			testHistory.record(week, t, pay);
+			hours[week] = t.getWeeklyHours();
+			payCents[week] = Math.round(pay * 100);
+		}
+
+		for (int from = 0; from < hours.length; from += 7) {
+			for (int to = from; to <= hours.length + 5; to += 11) {
+				long expectedHours = 0;
+				long expectedPayCents = 0;
+				for (int week = from; week < Math.min(to, hours.length); week++) {
+					expectedHours += hours[week];
+					expectedPayCents += payCents[week];
+				}
+				assertEquals(expectedHours, testHistory.getTotalHours(from, to));
+				assertEquals(expectedPayCents, testHistory.getTotalPayCents(from, to));
+				assertEquals(expectedPayCents / 100.0, testHistory.getTotalPay(from, to), 0.0);
+			}
+		}
+
+		try {
+			testHistory.getTotalHours(10, 5);
+			fail("BadParameterException NOT thrown from getTotalHours(int, int) with a reversed range");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Bad week range passed to getTotalHours"));
+		}
+	}
+
+	@Test
+	public void testPayrollHistory() throws NullParameterException, BadParameterException {
+		Department d = new Department("testDepartment");
+		d.addEmployee(new Employee("Alan", "Conte", 6642, 35.75, new int[] { 7, 6, 7, 8, 8 }));
+		d.addEmployee(new SalesEmployee("Raj", "Pandy", 5489, 36.90, new int[] { 6, 9, 7, 8, 8 }, 10000, 12250));
+		d.addEmployee(new Employee("Mary", "Jones", 2154, 27.50, new int[] { 8, 8, 8, 8, 8 }));
+
+		PayrollHistory history = new PayrollHistory();
+		for (int week = 0; week < 52; week++) {
+			if (week == 26) {
+				d.removeEmployee(2154);
+			}
+			history.record(week, d);
+		}
+
+		assertEquals(52, history.getNumWeeks());
+		assertEquals(51, history.getLastWeek());
+		assertEquals(3, history.getNumEmployees());
+		assertEquals(1, history.getHistory(6642).getNumRuns());
+		assertEquals(25, history.getHistory(2154).getLastWeek());
+		assertNull(history.getHistory(1234));
+
+		for (int from = 0; from <= 52; from += 13) {
+			for (int to = from; to <= 60; to += 8) {
+				long hours = 0;
+				long payCents = 0;
+				for (int id : new int[] { 6642, 5489, 2154 }) {
+					hours += history.getHistory(id).getTotalHours(from, to);
+					payCents += history.getHistory(id).getTotalPayCents(from, to);
+				}
+				assertEquals(hours, history.getTotalHours(from, to));
+				assertEquals(payCents, history.getTotalPayCents(from, to));
+			}
+		}
+		assertEquals(Math.round(d.getTotalWeeklyPay() * 100) * 52 + 27.50 * 40 * 26 * 100, history.getTotalPayCents(0, 52), 0.5);
+
+		assertTrue(history.getHistory(6642).isReadOnly());
+		assertFalse(testHistory.isReadOnly());
+		try {
+			history.getHistory(6642).record(52, fullWeek, 1100.00);
+			fail("BadParameterException NOT thrown from record(int, Timecard, double) on a history kept by a PayrollHistory");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Read-only TimecardHistory cannot be changed"));
+		}
+		history.record(52, d);
+		assertEquals(53, history.getHistory(6642).getNumWeeks());
+
+		try {
+			history.record(51, d);
+			fail("BadParameterException NOT thrown from record(int, Department) with a week already recorded");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Bad week value passed to record"));
+		}
+	}
+}
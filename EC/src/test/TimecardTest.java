@@ -11,6 +11,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import domain.Timecard;
+import domain.ValidationError;
 import utils.BadParameterException;
 import utils.NullParameterException;
 
@@ -100,6 +101,15 @@ public class TimecardTest {
 		}
 	}
 
+	@Test
+	public void testValidate() {
+		assertTrue(Timecard.validate(testDaysIn).isValid());
+		assertTrue(Timecard.validate(null).hasError(ValidationError.NULL_HOURS));
+		assertTrue(Timecard.validate(new int[] { 5, 6, 7, 8 }).hasError(ValidationError.BAD_HOURS_LENGTH));
+		assertTrue(Timecard.validate(new int[] { 5, 6, 7, 8, 25 }).hasError(ValidationError.BAD_HOURS));
+		assertEquals(1, Timecard.validate(new int[] { -1, 6, 7, 8, 25 }).getErrorCount());
+	}
+
 	@Test
 	public void testTimecardTimecard() {
 		try {
@@ -110,6 +120,38 @@ public class TimecardTest {
 		}
 	}
 
+	@Test
+	public void testFromPackedHours() throws BadParameterException {
+		Timecard testTimecard2 = Timecard.fromPackedHours(testTimecard.getPackedHours());
+		for (int i = 0; i < Timecard.NUM_DAYS; i++) {
+			assertEquals(testDaysIn[i], testTimecard2.getHoursByDay(i));
+		}
+		assertEquals(testTimecard.getWeeklyHours(), testTimecard2.getWeeklyHours());
+
+		try {
+			Timecard.fromPackedHours(25);
+			fail("BadParameterException NOT thrown from fromPackedHours(int) with higher than 24 hours value");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Bad hours value passed to fromPackedHours"));
+		}
+
+		try {
+			Timecard.fromPackedHours(-1);
+			fail("BadParameterException NOT thrown from fromPackedHours(int) with bits above the last day");
+		} catch (BadParameterException e) {
+			assertTrue(e.getMessage().startsWith("Bad packed hours value passed to fromPackedHours"));
+		}
+	}
+
+	@Test
+	public void testGetPackedHours() throws NullParameterException, BadParameterException {
+		testTimecard = new Timecard(new int[] { 24, 0, 24, 0, 24 });
+		assertEquals(new Timecard(testTimecard).getPackedHours(), testTimecard.getPackedHours());
+		assertEquals(24, testTimecard.getHoursByDay(4));
+		assertEquals(0, testTimecard.getHoursByDay(3));
+		assertEquals(72, testTimecard.getWeeklyHours());
+	}
+
 	@Test
 	public void testGetWeeklyHours() throws NullParameterException, BadParameterException {
 		testDaysIn = new int[] { 5, 5, 5, 5, 5 };
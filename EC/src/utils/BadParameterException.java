@@ -10,4 +10,9 @@ public class BadParameterException extends Exception {
         super(msg);
     }
 
+    public BadParameterException(String msg, boolean writableStackTrace)
+    {
+        super(msg, null, false, writableStackTrace);
+    }
+
 }
@@ -0,0 +1,234 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A compact store of short names as Latin-1 byte slices in one shared byte array. Each name takes one fixed-width slot of a length byte followed
+ * by up to maxLength bytes, so a name costs maxLength + 1 bytes instead of a String and its char array. Names with a char outside Latin-1 are
+ * kept as Strings on the side, so every name can be stored.<br>
+ * Names are read back through a NamePool, so reading a name that is already pooled builds no String.<br>
+ * Usage example:
+ * 
+ * <pre>
+ * NameArena myArena = new NameArena(Employee.MAX_NAME_LENGTH, 1000);
+ * int slot = myArena.add("Christopher");
+ * String name = myArena.get(slot);
+ * </pre>
+ * 
+ * @author Christopher Hield
+ * @see utils.NamePool
+ * @since Version 1.8
+ *
+ */
+public final class NameArena {
+
+	/**
+	 * The length byte of a slot whose name is kept on the side as a String.
+	 */
+	private static final int OVERFLOW = 0xFF;
+
+	/**
+	 * The most bytes a name can take in a slot.
+	 */
+	private final int maxLength;
+
+	/**
+	 * The width of a slot: the length byte and maxLength bytes.
+	 */
+	private final int slotWidth;
+
+	/**
+	 * The slots, one after the other.
+	 */
+	private byte[] bytes;
+
+	/**
+	 * The number of slots in use.
+	 * 
+	 * @see #size()
+	 */
+	private int size;
+
+	/**
+	 * The names that do not fit in a slot, by slot number. Created on first use.
+	 */
+	private HashMap<Integer, String> overflow;
+
+	/**
+	 * The pool the names are read back through.
+	 */
+	private final NamePool pool;
+
+	/**
+	 * Constructor for an empty arena reading names back through the shared NamePool.
+	 * 
+	 * @param maxLengthIn
+	 *            The most chars of a name stored in a slot, between 1 and 254
+	 * @param expectedSize
+	 *            The number of names the arena is expected to hold
+	 * @throws BadParameterException
+	 *             If the maximum length is not between 1 and 254, or the expected number of names is less than zero
+	 */
+	public NameArena(int maxLengthIn, int expectedSize) throws BadParameterException {
+		checkSizes(maxLengthIn, expectedSize);
+		maxLength = maxLengthIn;
+		slotWidth = maxLengthIn + 1;
+		bytes = new byte[Math.max(expectedSize, 1) * slotWidth];
+		pool = NamePool.shared();
+	}
+
+	/**
+	 * Constructor for an empty arena reading names back through the provided NamePool.
+	 * 
+	 * @param maxLengthIn
+	 *            The most chars of a name stored in a slot, between 1 and 254
+	 * @param expectedSize
+	 *            The number of names the arena is expected to hold
+	 * @param poolIn
+	 *            The pool the names are read back through
+	 * @throws BadParameterException
+	 *             If the maximum length is not between 1 and 254, or the expected number of names is less than zero
+	 * @throws NullParameterException
+	 *             If the pool is null
+	 */
+	public NameArena(int maxLengthIn, int expectedSize, NamePool poolIn)
+			throws BadParameterException, NullParameterException {
+		if (poolIn == null) {
+			throw new NullParameterException("Null NamePool sent to NameArena!");
+		}
+		checkSizes(maxLengthIn, expectedSize);
+		maxLength = maxLengthIn;
+		slotWidth = maxLengthIn + 1;
+		bytes = new byte[Math.max(expectedSize, 1) * slotWidth];
+		pool = poolIn;
+	}
+
+	/**
+	 * Checks the maximum name length and expected number of names passed to the constructors.
+	 * 
+	 * @param maxLengthIn
+	 *            The most chars of a name stored in a slot
+	 * @param expectedSize
+	 *            The number of names the arena is expected to hold
+	 * @throws BadParameterException
+	 *             If the maximum length is not between 1 and 254, or the expected number of names is less than zero
+	 */
+	private static void checkSizes(int maxLengthIn, int expectedSize) throws BadParameterException {
+		if (maxLengthIn < 1 || maxLengthIn >= OVERFLOW) {
+			throw new BadParameterException("Invalid max. name length: " + maxLengthIn);
+		}
+		if (expectedSize < 0) {
+			throw new BadParameterException("Invalid expected number of names: " + expectedSize);
+		}
+	}
+
+	/**
+	 * Returns the number of names in the arena.
+	 * 
+	 * @return Returns the number of names in the arena
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Adds the provided name in a new slot.
+	 * 
+	 * @param name
+	 *            The name to be added
+	 * @return Returns the slot of the name
+	 * @throws NullPointerException
+	 *             If the name is null
+	 */
+	public int add(String name) {
+		if ((size + 1) * slotWidth > bytes.length) {
+			bytes = Arrays.copyOf(bytes, bytes.length * 2);
+		}
+		int slot = size++;
+		int base = slot * slotWidth;
+		if (name.length() > maxLength || !isLatin1(name)) {
+			if (overflow == null) {
+				overflow = new HashMap<>();
+			}
+			overflow.put(slot, name);
+			bytes[base] = (byte) OVERFLOW;
+			return slot;
+		}
+		bytes[base] = (byte) name.length();
+		for (int i = 0; i < name.length(); i++) {
+			bytes[base + 1 + i] = (byte) name.charAt(i);
+		}
+		return slot;
+	}
+
+	/**
+	 * Returns the name in the provided slot.
+	 * 
+	 * @param slot
+	 *            The slot of the name
+	 * @return Returns the name in the slot
+	 * @throws IndexOutOfBoundsException
+	 *             If the slot is not in use
+	 */
+	public String get(int slot) {
+		int base = base(slot);
+		int length = bytes[base] & 0xFF;
+		if (length == OVERFLOW) {
+			return overflow.get(slot);
+		}
+		return pool.intern(bytes, base + 1, length);
+	}
+
+	/**
+	 * Checks whether the name in the provided slot is equal to the provided name, without building a String.
+	 * 
+	 * @param slot
+	 *            The slot of the name
+	 * @param name
+	 *            The name to be compared
+	 * @return Returns True if the names are equal, False if not
+	 * @throws IndexOutOfBoundsException
+	 *             If the slot is not in use
+	 */
+	public boolean matches(int slot, String name) {
+		int base = base(slot);
+		int length = bytes[base] & 0xFF;
+		if (length == OVERFLOW) {
+			return overflow.get(slot).equals(name);
+		}
+		return NamePool.matches(name, bytes, base + 1, length);
+	}
+
+	/**
+	 * Returns the position of the length byte of the provided slot.
+	 * 
+	 * @param slot
+	 *            The slot
+	 * @return Returns the position of the slot in the byte array
+	 * @throws IndexOutOfBoundsException
+	 *             If the slot is not in use
+	 */
+	private int base(int slot) {
+		if (slot < 0 || slot >= size) {
+			throw new IndexOutOfBoundsException("Bad slot value passed to NameArena: " + slot);
+		}
+		return slot * slotWidth;
+	}
+
+	/**
+	 * Checks whether every char of the provided name is a Latin-1 char.
+	 * 
+	 * @param name
+	 *            The name to be checked
+	 * @return Returns True if every char is below 256, False if not
+	 */
+	private static boolean isLatin1(String name) {
+		for (int i = 0; i < name.length(); i++) {
+			if (name.charAt(i) > 0xFF) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
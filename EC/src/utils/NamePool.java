@@ -0,0 +1,216 @@
+package utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free pool of name Strings, so that equal names read from many records share one String instead of each keeping its own copy.
+ * <br>
+ * The pool is a fixed-size hash table that never grows: each name hashes to two neighbouring slots, and when neither holds it the name replaces
+ * whatever was in the first one. Interning is therefore best effort; a name pushed out by a colliding name is simply stored again the next time
+ * it is seen. The memory of the pool is bounded by its capacity whatever the number of distinct names, and it can be used from any number of
+ * threads without locking.<br>
+ * Usage example:
+ * 
+ * <pre>
+ * String first = NamePool.shared().intern(firstName);
+ * String last = NamePool.shared().intern(bytes, offset, length); // Latin-1 bytes, no String built when the name is pooled
+ * </pre>
+ * 
+ * @author Christopher Hield
+ * @see utils.NameArena
+ * @since Version 1.8
+ *
+ */
+public final class NamePool {
+
+	/**
+	 * The number of slots of the shared pool ({@value})
+	 */
+	public static final int DEFAULT_CAPACITY = 1 << 16;
+
+	/**
+	 * The largest number of slots of a pool ({@value})
+	 */
+	public static final int MAX_CAPACITY = 1 << 30;
+
+	/**
+	 * The pool shared by every Employee.
+	 * 
+	 * @see #shared()
+	 */
+	private static final NamePool SHARED = new NamePool(newSlots(DEFAULT_CAPACITY));
+
+	/**
+	 * The pooled names, null where a slot is empty.
+	 */
+	private final AtomicReferenceArray<String> slots;
+
+	/**
+	 * The number of slots minus one, to map a hash to a slot.
+	 */
+	private final int mask;
+
+	/**
+	 * Constructor for an empty pool with at least the provided number of slots, rounded up to a power of two.
+	 * 
+	 * @param capacity
+	 *            The minimum number of slots of the pool
+	 * @throws BadParameterException
+	 *             If the capacity is less or equal to zero, or more than MAX_CAPACITY
+	 */
+	public NamePool(int capacity) throws BadParameterException {
+		this(newSlots(checkCapacity(capacity)));
+	}
+
+	/**
+	 * Private constructor for a pool using the provided empty slots.
+	 * 
+	 * @param slotsIn
+	 *            The empty slots of the pool, a power of two of them
+	 */
+	private NamePool(AtomicReferenceArray<String> slotsIn) {
+		slots = slotsIn;
+		mask = slots.length() - 1;
+	}
+
+	/**
+	 * Creates the empty slots of a pool with at least the provided number of slots, rounded up to a power of two.
+	 * 
+	 * @param capacity
+	 *            The minimum number of slots, already checked
+	 * @return Returns the empty slots
+	 */
+	private static AtomicReferenceArray<String> newSlots(int capacity) {
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		return new AtomicReferenceArray<>(Math.max(size, 2));
+	}
+
+	/**
+	 * Checks the capacity passed to the public constructor.
+	 * 
+	 * @param capacity
+	 *            The capacity to be checked
+	 * @return Returns the capacity
+	 * @throws BadParameterException
+	 *             If the capacity is less or equal to zero, or more than MAX_CAPACITY
+	 */
+	private static int checkCapacity(int capacity) throws BadParameterException {
+		if (capacity <= 0 || capacity > MAX_CAPACITY) {
+			throw new BadParameterException("Invalid name pool capacity: " + capacity);
+		}
+		return capacity;
+	}
+
+	/**
+	 * Returns the pool shared by every Employee, with DEFAULT_CAPACITY slots.
+	 * 
+	 * @return Returns the shared pool
+	 */
+	public static NamePool shared() {
+		return SHARED;
+	}
+
+	/**
+	 * Returns the number of slots of the pool, the most names it can hold at once.
+	 * 
+	 * @return Returns the number of slots of the pool
+	 */
+	public int getCapacity() {
+		return slots.length();
+	}
+
+	/**
+	 * Returns the pooled String equal to the provided name, pooling the name if no equal String is pooled.
+	 * 
+	 * @param name
+	 *            The name to be interned
+	 * @return Returns a String equal to the provided name, null if the name is null
+	 */
+	public String intern(String name) {
+		if (name == null) {
+			return null;
+		}
+		int slot = spread(name.hashCode()) & mask;
+		String pooled = slots.get(slot);
+		if (name.equals(pooled)) {
+			return pooled;
+		}
+		String neighbour = slots.get(slot ^ 1);
+		if (name.equals(neighbour)) {
+			return neighbour;
+		}
+		slots.set(pooled == null || neighbour != null ? slot : slot ^ 1, name);
+		return name;
+	}
+
+	/**
+	 * Returns the pooled String equal to the provided Latin-1 bytes, decoding and pooling them if no equal String is pooled. No String is built
+	 * when the name is already pooled. ASCII is a subset of Latin-1, so runs of ASCII bytes taken from UTF-8 text can be passed as they are.
+	 * 
+	 * @param bytes
+	 *            The array holding the name, one Latin-1 char per byte
+	 * @param offset
+	 *            The position of the first byte of the name
+	 * @param length
+	 *            The number of bytes of the name
+	 * @return Returns a String equal to the decoded name
+	 */
+	public String intern(byte[] bytes, int offset, int length) {
+		int hash = 0;
+		for (int i = offset; i < offset + length; i++) {
+			hash = 31 * hash + (bytes[i] & 0xFF); // The same hash as String.hashCode() of the decoded name
+		}
+		int slot = spread(hash) & mask;
+		String pooled = slots.get(slot);
+		if (matches(pooled, bytes, offset, length)) {
+			return pooled;
+		}
+		String neighbour = slots.get(slot ^ 1);
+		if (matches(neighbour, bytes, offset, length)) {
+			return neighbour;
+		}
+		String name = new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+		slots.set(pooled == null || neighbour != null ? slot : slot ^ 1, name);
+		return name;
+	}
+
+	/**
+	 * Checks whether the provided String is equal to the provided Latin-1 bytes.
+	 * 
+	 * @param s
+	 *            The String to be checked, or null
+	 * @param bytes
+	 *            The array holding the bytes
+	 * @param offset
+	 *            The position of the first byte
+	 * @param length
+	 *            The number of bytes
+	 * @return Returns True if the String has the same chars as the bytes, False if not or if the String is null
+	 */
+	static boolean matches(String s, byte[] bytes, int offset, int length) {
+		if (s == null || s.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (s.charAt(i) != (bytes[offset + i] & 0xFF)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Spreads the high bits of a String hash into the low bits used to pick a slot.
+	 * 
+	 * @param hash
+	 *            The String hash
+	 * @return Returns the spread hash
+	 */
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
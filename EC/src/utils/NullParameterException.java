@@ -10,4 +10,9 @@ public class NullParameterException extends Exception {
         super(msg);
     }
 
+    public NullParameterException(String msg, boolean writableStackTrace)
+    {
+        super(msg, null, false, writableStackTrace);
+    }
+
 }
@@ -0,0 +1,339 @@
+package utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A reusable char buffer for writing formatted reports without java.util.Formatter. It writes left-padded labels, right-aligned integers and
+ * two-decimal amounts straight into its buffer, which is written to the target Appendable whenever it fills up and when the report ends. The output
+ * is the same as String.format with the "%-Ns", "%Nd" and "%.2f" conversions in the default format Locale.<br>
+ * Each thread reuses one buffer, so rendering a report allocates almost nothing.<br>
+ * Usage example:
+ * 
+ * <pre>
+ * private static final char[] NAME_LABEL = ReportBuffer.label("Name:", 20);
+ * 
+ * ReportBuffer buf = ReportBuffer.acquire(out);
+ * try {
+ * 	buf.append(NAME_LABEL).append(name).newLine();
+ * 	buf.flush();
+ * } finally {
+ * 	buf.release();
+ * }
+ * </pre>
+ * 
+ * @author Christopher Hield
+ * @since Version 1.8
+ *
+ */
+public final class ReportBuffer {
+
+	/**
+	 * The number of chars buffered before they are written to the target ({@value})
+	 */
+	private static final int CAPACITY = 8192;
+
+	/**
+	 * The largest magnitude written by appendAmount without falling back to String.format ({@value})
+	 */
+	private static final double MAX_FAST_AMOUNT = 1e11;
+
+	/**
+	 * The line separator written by newLine(), the same one "%n" writes.
+	 */
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/**
+	 * The buffer of each thread.
+	 * 
+	 * @see #acquire(Appendable)
+	 */
+	private static final ThreadLocal<ReportBuffer> BUFFERS = new ThreadLocal<ReportBuffer>() {
+		@Override
+		protected ReportBuffer initialValue() {
+			return new ReportBuffer();
+		}
+	};
+
+	/**
+	 * The buffered chars.
+	 */
+	private char[] chars = new char[CAPACITY];
+
+	/**
+	 * A CharSequence view of the buffered chars, used for targets that are neither a Writer nor a StringBuilder.
+	 */
+	private CharBuffer charView = CharBuffer.wrap(chars);
+
+	/**
+	 * The number of buffered chars.
+	 */
+	private int length;
+
+	/**
+	 * The Appendable the report is written to, or null while the buffer is not in use.
+	 */
+	private Appendable out;
+
+	/**
+	 * The Locale the digits and decimal separator were taken from.
+	 */
+	private Locale locale;
+
+	/**
+	 * The zero digit of the Locale.
+	 */
+	private char zeroDigit;
+
+	/**
+	 * The decimal separator of the Locale.
+	 */
+	private char decimalSeparator;
+
+	/**
+	 * Private constructor, buffers are obtained with acquire(Appendable).
+	 */
+	private ReportBuffer() {}
+
+	/**
+	 * Returns a label padded with spaces to the provided width and followed by one space, the same text String.format("%-Ns ", text) writes for
+	 * width N. Labels are meant to be built once and kept in constants.
+	 * 
+	 * @param text
+	 *            The text of the label
+	 * @param width
+	 *            The minimum width of the text
+	 * @return Returns the padded label
+	 */
+	public static char[] label(String text, int width) {
+		char[] label = new char[Math.max(text.length(), width) + 1];
+		Arrays.fill(label, ' ');
+		text.getChars(0, text.length(), label, 0);
+		return label;
+	}
+
+	/**
+	 * Returns the calling thread's buffer, set up to write to the provided Appendable. If the thread's buffer is already in use, a new buffer is
+	 * returned. The buffer must be released when the report ends.
+	 * 
+	 * @param target
+	 *            The Appendable the report is written to
+	 * @return Returns a buffer writing to the Appendable
+	 * @see #release()
+	 */
+	public static ReportBuffer acquire(Appendable target) {
+		ReportBuffer buf = BUFFERS.get();
+		if (buf.out != null) {
+			buf = new ReportBuffer();
+		}
+		buf.out = target;
+		Locale current = Locale.getDefault(Locale.Category.FORMAT);
+		if (!current.equals(buf.locale)) {
+			DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance(current);
+			buf.locale = current;
+			buf.zeroDigit = dfs.getZeroDigit();
+			buf.decimalSeparator = dfs.getDecimalSeparator();
+		}
+		return buf;
+	}
+
+	/**
+	 * Releases the buffer so the thread can reuse it. Chars not flushed yet are discarded.
+	 * 
+	 * @see #acquire(Appendable)
+	 */
+	public void release() {
+		length = 0;
+		out = null;
+	}
+
+	/**
+	 * Writes the buffered chars to the target Appendable and empties the buffer.
+	 * 
+	 * @throws IOException
+	 *             If writing to the target fails
+	 */
+	public void flush() throws IOException {
+		if (length == 0) {
+			return;
+		}
+		if (out instanceof StringBuilder) {
+			((StringBuilder) out).append(chars, 0, length);
+		} else if (out instanceof Writer) {
+			((Writer) out).write(chars, 0, length);
+		} else {
+			out.append(charView, 0, length);
+		}
+		length = 0;
+	}
+
+	/**
+	 * Makes room in the buffer for the provided number of chars, flushing it or growing it as needed.
+	 * 
+	 * @param n
+	 *            The number of chars about to be buffered
+	 * @throws IOException
+	 *             If writing to the target fails
+	 */
+	private void ensureRoom(int n) throws IOException {
+		if (length + n > chars.length) {
+			flush();
+			if (n > chars.length) {
+				chars = new char[n];
+				charView = CharBuffer.wrap(chars);
+			}
+		}
+	}
+
+	/**
+	 * Appends the provided char.
+	 * 
+	 * @param c
+	 *            The char to be appended
+	 * @return Returns this buffer
+	 * @throws IOException
+	 *             If writing to the target fails
+	 */
+	public ReportBuffer append(char c) throws IOException {
+		ensureRoom(1);
+		chars[length++] = c;
+		return this;
+	}
+
+	/**
+	 * Appends the provided chars, usually a label built with label(String, int).
+	 * 
+	 * @param text
+	 *            The chars to be appended
+	 * @return Returns this buffer
+	 * @throws IOException
+	 *             If writing to the target fails
+	 */
+	public ReportBuffer append(char[] text) throws IOException {
+		ensureRoom(text.length);
+		System.arraycopy(text, 0, chars, length, text.length);
+		length += text.length;
+		return this;
+	}
+
+	/**
+	 * Appends the provided String, the same text "%s" writes.
+	 * 
+	 * @param text
+	 *            The String to be appended
+	 * @return Returns this buffer
+	 * @throws IOException
+	 *             If writing to the target fails
+	 */
+	public ReportBuffer append(String text) throws IOException {
+		ensureRoom(text.length());
+		text.getChars(0, text.length(), chars, length);
+		length += text.length();
+		return this;
+	}
+
+	/**
+	 * Appends the provided char the provided number of times.
+	 * 
+	 * @param c
+	 *            The char to be appended
+	 * @param count
+	 *            The number of times the char is appended
+	 * @return Returns this buffer
+	 * @throws IOException
+	 *             If writing to the target fails
+	 */
+	public ReportBuffer repeat(char c, int count) throws IOException {
+		ensureRoom(count);
+		for (int i = 0; i < count; i++) {
+			chars[length++] = c;
+		}
+		return this;
+	}
+
+	/**
+	 * Appends the line separator, the same text "%n" writes.
+	 * 
+	 * @return Returns this buffer
+	 * @throws IOException
+	 *             If writing to the target fails
+	 */
+	public ReportBuffer newLine() throws IOException {
+		return append(LINE_SEPARATOR);
+	}
+
+	/**
+	 * Appends the provided number right-aligned to the provided width, the same text "%Nd" writes for width N ("%d" for width 0).
+	 * 
+	 * @param value
+	 *            The number to be appended
+	 * @param width
+	 *            The minimum width of the number
+	 * @return Returns this buffer
+	 * @throws IOException
+	 *             If writing to the target fails
+	 */
+	public ReportBuffer appendInt(long value, int width) throws IOException {
+		boolean negative = value < 0;
+		int digits = 1;
+		for (long rest = value / 10; rest != 0; rest /= 10) {
+			digits++;
+		}
+		int size = digits + (negative ? 1 : 0);
+		ensureRoom(Math.max(size, width));
+		for (int i = size; i < width; i++) {
+			chars[length++] = ' ';
+		}
+		if (negative) {
+			chars[length++] = '-';
+		}
+		long rest = value;
+		for (int i = length + digits - 1; i >= length; i--) {
+			chars[i] = (char) (zeroDigit + Math.abs(rest % 10));
+			rest /= 10;
+		}
+		length += digits;
+		return this;
+	}
+
+	/**
+	 * Appends the provided amount with two decimals, the same text "%.2f" writes. The amount is rounded half up from the decimal digits of the
+	 * double, as java.util.Formatter does. The rare amounts too close to a rounding tie, or too large to scale exactly, are written with
+	 * String.format.
+	 * 
+	 * @param value
+	 *            The amount to be appended
+	 * @return Returns this buffer
+	 * @throws IOException
+	 *             If writing to the target fails
+	 */
+	public ReportBuffer appendAmount(double value) throws IOException {
+		double magnitude = Math.abs(value);
+		if (!(magnitude < MAX_FAST_AMOUNT) || Double.doubleToRawLongBits(value) == Long.MIN_VALUE) {
+			return append(String.format("%.2f", value)); // NaN, infinities, -0.0 and huge amounts
+		}
+		double scaled = magnitude * 100;
+		long cents = (long) scaled;
+		double fraction = scaled - cents;
+		if (Math.abs(fraction - 0.5) <= 8 * Math.ulp(scaled)) {
+			return append(String.format("%.2f", value)); // Too close to a tie to round from the binary value
+		}
+		if (fraction > 0.5) {
+			cents++;
+		}
+
+		if (value < 0) {
+			append('-');
+		}
+		appendInt(cents / 100, 0);
+		ensureRoom(3);
+		chars[length++] = decimalSeparator;
+		chars[length++] = (char) (zeroDigit + (cents % 100) / 10);
+		chars[length++] = (char) (zeroDigit + cents % 10);
+		return this;
+	}
+}